@@ -0,0 +1,50 @@
+package com.example.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/** Tuning knobs for payroll run processing (prefix "payroll" in application.yml). */
+@Component
+@ConfigurationProperties(prefix = "payroll")
+public class PayrollProperties {
+
+    /** Items persisted per JDBC batch / flush while processing a run. */
+    private int batchSize = 100;
+
+    /** Threads processing chunks of a run concurrently (1 = sequential). */
+    private int workers = 4;
+
+    /** Employee ids covered by one chunk; each chunk commits in its own transaction. */
+    private int chunkSize = 5000;
+
+    /** Report results kept in memory (see ReportCache). */
+    private int reportCacheMaxEntries = 256;
+
+    /** How long a cached report result is served before it is recomputed. */
+    private Duration reportCacheTtl = Duration.ofMinutes(10);
+
+    /** Root directory of the payslip document store (see PayslipStore). */
+    private String payslipDir = "data/payslips";
+
+    public PayrollProperties() {}
+
+    public int getBatchSize() { return batchSize; }
+    public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+
+    public int getWorkers() { return workers; }
+    public void setWorkers(int workers) { this.workers = workers; }
+
+    public int getChunkSize() { return chunkSize; }
+    public void setChunkSize(int chunkSize) { this.chunkSize = chunkSize; }
+
+    public int getReportCacheMaxEntries() { return reportCacheMaxEntries; }
+    public void setReportCacheMaxEntries(int reportCacheMaxEntries) { this.reportCacheMaxEntries = reportCacheMaxEntries; }
+
+    public Duration getReportCacheTtl() { return reportCacheTtl; }
+    public void setReportCacheTtl(Duration reportCacheTtl) { this.reportCacheTtl = reportCacheTtl; }
+
+    public String getPayslipDir() { return payslipDir; }
+    public void setPayslipDir(String payslipDir) { this.payslipDir = payslipDir; }
+}
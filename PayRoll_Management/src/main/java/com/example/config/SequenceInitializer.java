@@ -0,0 +1,47 @@
+package com.example.config;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.example.entity.PayrollItem;
+import com.example.entity.PayrollPayslip;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Keeps the pooled id sequences (table-backed on MySQL, one {@code next_val} row each) ahead of
+ * the ids already in their tables. A sequence introduced for a table that had IDENTITY ids starts
+ * at 1 and would hand out duplicate keys; on startup {@code next_val} is raised to at least
+ * {@code max(id) + allocationSize}. It is never lowered, so this is safe on every start and with
+ * other nodes running.
+ */
+@Component
+public class SequenceInitializer {
+
+    /** A pooled sequence and the table whose ids it generates. */
+    record PooledSequence(String sequence, String table, int allocationSize) { }
+
+    static final List<PooledSequence> SEQUENCES = List.of(
+            new PooledSequence("payroll_item_seq", "payroll_items", PayrollItem.ID_ALLOCATION_SIZE),
+            new PooledSequence("payroll_payslip_seq", "payroll_payslips", PayrollPayslip.ID_ALLOCATION_SIZE));
+
+    private final JdbcTemplate jdbc;
+
+    // the EntityManagerFactory is only injected so that the schema (and the sequence tables) exist first
+    @Autowired
+    public SequenceInitializer(JdbcTemplate jdbc, EntityManagerFactory emf) {
+        this.jdbc = jdbc;
+    }
+
+    @PostConstruct
+    public void align() {
+        for (PooledSequence s : SEQUENCES) {
+            jdbc.update("update " + s.sequence() + " set next_val = greatest(next_val,"
+                    + " (select coalesce(max(id), 0) from " + s.table() + ") + ?)", s.allocationSize());
+        }
+    }
+}
@@ -4,7 +4,7 @@ import com.example.dto.AuthRequest;
 import com.example.dto.AuthResponse;
 import com.example.dto.RegisterRequest;
 import com.example.security.JwtService;
-import com.example.security.TokenBlacklistService;
+import com.example.security.TokenRevocationService;
 import com.example.service.AuthService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,15 +21,15 @@ public class AuthController {
 
     private final AuthService authService;
     private final JwtService jwtService;
-    private final TokenBlacklistService blacklist;
+    private final TokenRevocationService revocations;
 
     @Autowired
     public AuthController(AuthService authService,
                           JwtService jwtService,
-                          TokenBlacklistService blacklist) {
+                          TokenRevocationService revocations) {
         this.authService = authService;
         this.jwtService = jwtService;
-        this.blacklist = blacklist;
+        this.revocations = revocations;
     }
 
     @PostMapping("/login")
@@ -49,7 +49,7 @@ public class AuthController {
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String token = authHeader.substring(7);
             Instant exp = jwtService.getExpiration(token);  // <-- instance method, not static
-            blacklist.blacklist(token, exp);
+            revocations.revoke(token, exp);           // this node now, the others at their next poll
         }
         return ResponseEntity.ok(Map.of("message", "Logged out"));
     }
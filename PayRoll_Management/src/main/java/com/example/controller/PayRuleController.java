@@ -0,0 +1,45 @@
+package com.example.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import com.example.entity.PayRule;
+import com.example.service.PayRuleService;
+
+@RestController
+@RequestMapping("/api/v1/payroll/rules")
+@PreAuthorize("hasRole('ADMIN')")
+public class PayRuleController {
+
+    private final PayRuleService ruleService;
+
+    @Autowired
+    public PayRuleController(PayRuleService ruleService) {
+        this.ruleService = ruleService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<PayRule>> list() {
+        return ResponseEntity.ok(ruleService.listAll());
+    }
+
+    @PostMapping
+    public ResponseEntity<PayRule> create(@RequestBody PayRule rule) {
+        return ResponseEntity.ok(ruleService.create(rule));
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<PayRule> update(@PathVariable Long id, @RequestBody PayRule rule) {
+        return ResponseEntity.ok(ruleService.update(id, rule));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> delete(@PathVariable Long id) {
+        ruleService.delete(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,8 +1,14 @@
 package com.example.controller;
 
+import java.io.IOException;
+import java.net.URI;
+import java.nio.channels.Channels;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -11,19 +17,24 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.example.dto.PayrollItemDTO;
+import com.example.dto.PayrollJobStatus;
 import com.example.dto.PayrollRunRequest;
+import com.example.dto.PayrollSimulationRequest;
+import com.example.dto.PayrollSimulationResponse;
 import com.example.entity.PayrollItem;
 import com.example.entity.PayrollRun;
-import com.example.entity.PayrollRunStatus;
-import com.example.exception.ConflictException;
-import com.example.exception.ResourceNotFoundException;
-import com.example.repo.PayrollItemRepository;
 import com.example.repo.PayrollRunRepository;
+import com.example.service.BankPaymentService;
+import com.example.service.PayrollExportService;
+import com.example.service.PayrollJobService;
 import com.example.service.PayrollService;
+import com.example.service.PayrollSimulationService;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
 @RestController
@@ -32,16 +43,25 @@ import jakarta.validation.Valid;
 public class PayrollController {
 
     private final PayrollService payrollService;
+    private final PayrollJobService jobService;
+    private final PayrollSimulationService simulationService;
+    private final PayrollExportService exportService;
+    private final BankPaymentService bankPaymentService;
     private final PayrollRunRepository runRepo;
-    private final PayrollItemRepository itemRepo;
 
     @Autowired
     public PayrollController(PayrollService payrollService,
-                             PayrollRunRepository runRepo,
-                             PayrollItemRepository itemRepo) {
+                             PayrollJobService jobService,
+                             PayrollSimulationService simulationService,
+                             PayrollExportService exportService,
+                             BankPaymentService bankPaymentService,
+                             PayrollRunRepository runRepo) {
         this.payrollService = payrollService;
+        this.jobService = jobService;
+        this.simulationService = simulationService;
+        this.exportService = exportService;
+        this.bankPaymentService = bankPaymentService;
         this.runRepo = runRepo;
-        this.itemRepo = itemRepo;
     }
 
     @PostMapping("/runs")
@@ -49,14 +69,42 @@ public class PayrollController {
         return ResponseEntity.ok(payrollService.createRun(req.getYear(), req.getMonth()));
     }
 
+    // Dry run with optional salary adjustments: totals only, nothing is written
+    @PostMapping("/simulate")
+    public ResponseEntity<PayrollSimulationResponse> simulate(@Valid @RequestBody PayrollSimulationRequest req) {
+        return ResponseEntity.ok(simulationService.simulate(req));
+    }
+
+    // Processing runs in the background: 202 + job, poll /jobs/{jobId} for progress
     @PostMapping("/runs/{id}/process")
-    public ResponseEntity<PayrollRun> process(@PathVariable Long id) {
-        return ResponseEntity.ok(payrollService.processRun(id));
+    public ResponseEntity<PayrollJobStatus> process(@PathVariable Long id) {
+        PayrollJobStatus job = jobService.submit(id);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/payroll/jobs/" + job.getJobId()))
+                .body(job);
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<PayrollJobStatus> job(@PathVariable String jobId) {
+        return ResponseEntity.ok(jobService.status(jobId));
+    }
+
+    // Stops after the chunks in flight; the run stays resumable (process it again)
+    @PostMapping("/jobs/{jobId}/cancel")
+    public ResponseEntity<PayrollJobStatus> cancelJob(@PathVariable String jobId) {
+        return ResponseEntity.accepted().body(jobService.cancel(jobId));
+    }
+
+    // Recompute only items whose employee changed since they were computed (PROCESSED runs)
+    @PostMapping("/runs/{id}/reprocess-changed")
+    public ResponseEntity<Map<String, Object>> reprocessChanged(@PathVariable Long id) {
+        int recomputed = jobService.reprocessChanged(id);
+        return ResponseEntity.ok(Map.of("runId", id, "recomputed", recomputed));
     }
 
     @PostMapping("/runs/{id}/lock")
     public ResponseEntity<PayrollRun> lock(@PathVariable Long id) {
-        return ResponseEntity.ok(payrollService.lockRun(id));
+        return ResponseEntity.ok(jobService.lock(id));
     }
 
     // ✅ Return DTOs to avoid lazy-loading issues
@@ -65,6 +113,32 @@ public class PayrollController {
         return ResponseEntity.ok(payrollService.itemsDto(id));
     }
 
+    // Whole run as CSV, streamed from a cursor (gzip=true for a .csv.gz download)
+    @GetMapping("/runs/{id}/export")
+    public void export(@PathVariable Long id,
+                       @RequestParam(defaultValue = "false") boolean gzip,
+                       HttpServletResponse response) throws IOException {
+        PayrollRun run = exportService.findRun(id);
+        String filename = String.format("payroll-%d-%02d.csv%s", run.getYear(), run.getMonth(), gzip ? ".gz" : "");
+
+        response.setContentType(gzip ? "application/gzip" : "text/csv;charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(filename).build().toString());
+        exportService.writeCsv(id, response.getOutputStream(), gzip);
+    }
+
+    // Bulk payment file of a LOCKED run for the bank portal (control totals and SHA-256 in the trailer record)
+    @GetMapping("/runs/{id}/bank-file")
+    public void bankFile(@PathVariable Long id, HttpServletResponse response) throws IOException {
+        PayrollRun run = bankPaymentService.findLockedRun(id);
+        String filename = String.format("payroll-%d-%02d-bank.csv", run.getYear(), run.getMonth());
+
+        response.setContentType("text/csv;charset=US-ASCII");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(filename).build().toString());
+        bankPaymentService.write(run, Channels.newChannel(response.getOutputStream()));
+    }
+
     // List all runs
     @GetMapping("/runs")
     public ResponseEntity<List<PayrollRun>> listRuns() {
@@ -74,15 +148,7 @@ public class PayrollController {
     // Delete a DRAFT run (also deletes its items)
     @DeleteMapping("/runs/{id}")
     public ResponseEntity<Void> deleteRun(@PathVariable Long id) {
-        PayrollRun run = runRepo.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Run not found: " + id));
-
-        if (run.getStatus() != PayrollRunStatus.DRAFT) {
-            throw new ConflictException("Only DRAFT runs can be deleted.");
-        }
-
-        itemRepo.deleteByRun(run);
-        runRepo.delete(run);
+        jobService.deleteRun(id);
         return ResponseEntity.noContent().build();
     }
 }
@@ -1,19 +1,33 @@
 package com.example.controller;
 
+import java.math.BigDecimal;
+import java.time.YearMonth;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.example.dto.DepartmentCostRow;
+import com.example.dto.PayrollAggregateCheck;
 import com.example.dto.PayrollSummaryResponse;
+import com.example.dto.PayrollTrendResponse;
+import com.example.dto.PayrollVarianceResponse;
+import com.example.dto.PivotRequest;
+import com.example.dto.PivotResponse;
+import com.example.dto.SalaryDistributionResponse;
+import com.example.service.PayrollCube;
+import com.example.service.PayrollVarianceService;
 import com.example.service.ReportService;
 
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 
@@ -23,9 +37,15 @@ import jakarta.validation.constraints.Min;
 public class ReportsController {
 
     private final ReportService reportService;
+    private final PayrollCube cube;
+    private final PayrollVarianceService varianceService;
 
     @Autowired
-    public ReportsController(ReportService reportService) { this.reportService = reportService; }
+    public ReportsController(ReportService reportService, PayrollCube cube, PayrollVarianceService varianceService) {
+        this.reportService = reportService;
+        this.cube = cube;
+        this.varianceService = varianceService;
+    }
 
     // NEW 6: Payroll summary for a month
     @GetMapping("/payroll-summary")
@@ -42,4 +62,62 @@ public class ReportsController {
             @RequestParam @Min(1) @Max(12) int month) {
         return ResponseEntity.ok(reportService.departmentCost(year, month));
     }
+
+    // Month-by-month totals with running YTD, e.g. ?from=2025-01&to=2025-12 (at most 36 months)
+    @GetMapping("/trend")
+    public ResponseEntity<PayrollTrendResponse> trend(
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth to) {
+        return ResponseEntity.ok(reportService.trend(from, to));
+    }
+
+    // January..month of a year with running YTD totals
+    @GetMapping("/ytd")
+    public ResponseEntity<PayrollTrendResponse> yearToDate(
+            @RequestParam @Min(2000) @Max(3000) int year,
+            @RequestParam @Min(1) @Max(12) int month) {
+        return ResponseEntity.ok(reportService.yearToDate(year, month));
+    }
+
+    // Net salary median/p90/p99 and histogram per department and designation
+    @GetMapping("/salary-distribution")
+    public ResponseEntity<SalaryDistributionResponse> salaryDistribution(
+            @RequestParam @Min(2000) @Max(3000) int year,
+            @RequestParam @Min(1) @Max(12) int month,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(50) int bins) {
+        return ResponseEntity.ok(reportService.salaryDistribution(year, month, bins));
+    }
+
+    // Joiners, leavers and net pay moves above thresholdPercent against the base month (default: previous month)
+    @GetMapping("/variance")
+    public ResponseEntity<PayrollVarianceResponse> variance(
+            @RequestParam @Min(2000) @Max(3000) int year,
+            @RequestParam @Min(1) @Max(12) int month,
+            @RequestParam(required = false) @Min(2000) @Max(3000) Integer baseYear,
+            @RequestParam(required = false) @Min(1) @Max(12) Integer baseMonth,
+            @RequestParam(defaultValue = "5") BigDecimal thresholdPercent) {
+        return ResponseEntity.ok(varianceService.variance(year, month, baseYear, baseMonth, thresholdPercent));
+    }
+
+    // Ad-hoc group-by/filter/aggregate over all LOCKED runs (in-memory columnar cube)
+    @PostMapping("/pivot")
+    public ResponseEntity<PivotResponse> pivot(@Valid @RequestBody PivotRequest req) {
+        return ResponseEntity.ok(cube.pivot(req));
+    }
+
+    // Consistency check of the materialised report aggregates (read-only)
+    @GetMapping("/consistency")
+    public ResponseEntity<PayrollAggregateCheck> consistency(
+            @RequestParam @Min(2000) @Max(3000) int year,
+            @RequestParam @Min(1) @Max(12) int month) {
+        return ResponseEntity.ok(reportService.checkAggregates(year, month, false));
+    }
+
+    // Same check, rebuilding the aggregates if they drifted
+    @PostMapping("/consistency/repair")
+    public ResponseEntity<PayrollAggregateCheck> repairConsistency(
+            @RequestParam @Min(2000) @Max(3000) int year,
+            @RequestParam @Min(1) @Max(12) int month) {
+        return ResponseEntity.ok(reportService.checkAggregates(year, month, true));
+    }
 }
@@ -1,9 +1,13 @@
 package com.example.controller;
 
+import java.io.IOException;
+import java.nio.file.Files;
 import java.time.LocalDate;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -25,7 +29,11 @@ import com.example.repo.EmployeeRepository;
 import com.example.repo.UserRepository;
 import com.example.service.LeaveService;
 import com.example.service.PayrollService;
+import com.example.service.PayslipService;
+import com.example.service.PayslipService.PayslipFile;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 
@@ -33,20 +41,29 @@ import jakarta.validation.constraints.Min;
 @RequestMapping("/api/v1")
 public class SelfController {
 
+    // Tomcat hands the file to the kernel (sendfile) after the servlet returns when these are set
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
     private final UserRepository userRepo;
     private final EmployeeRepository employeeRepo;
     private final PayrollService payrollService;
     private final LeaveService leaveService;
+    private final PayslipService payslipService;
 
     @Autowired
     public SelfController(UserRepository userRepo,
                           EmployeeRepository employeeRepo,
                           PayrollService payrollService,
-                          LeaveService leaveService) {
+                          LeaveService leaveService,
+                          PayslipService payslipService) {
         this.userRepo = userRepo;
         this.employeeRepo = employeeRepo;
         this.payrollService = payrollService;
         this.leaveService = leaveService;
+        this.payslipService = payslipService;
     }
 
     private Employee me(Authentication auth) {
@@ -83,6 +100,36 @@ public class SelfController {
         return ResponseEntity.ok(payrollService.mySlipDto(year, month, me(auth)));
     }
 
+    // Payslip document of a LOCKED run, sent from the file store; 304 when If-None-Match matches
+    @GetMapping("/payroll/my/{year}/{month}/payslip")
+    public void myPayslipDocument(
+            Authentication auth,
+            @PathVariable @Min(2000) @Max(3000) int year,
+            @PathVariable @Min(1) @Max(12) int month,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+
+        PayslipFile slip = payslipService.find(year, month, me(auth).getId());
+        response.setHeader(HttpHeaders.ETAG, slip.etag());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        if (slip.matches(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        response.setContentType("text/html;charset=UTF-8");
+        response.setContentLengthLong(slip.size());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(slip.filename()).build().toString());
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, slip.path().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, slip.size());
+        } else {
+            Files.copy(slip.path(), response.getOutputStream());
+        }
+    }
+
     @GetMapping("/leave/my")
     public ResponseEntity<List<LeaveRequest>> myLeaves(Authentication auth) {
         return ResponseEntity.ok(leaveService.myLeaves(me(auth)));
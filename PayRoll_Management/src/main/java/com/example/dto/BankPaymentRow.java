@@ -0,0 +1,8 @@
+package com.example.dto;
+
+import java.math.BigDecimal;
+
+/** One payroll item with the payee's bank details, for the bank payment file (read-only projection). */
+public record BankPaymentRow(Long employeeId, String firstName, String lastName,
+                             String bankAccountNumber, String bankIfsc, BigDecimal netSalary) {
+}
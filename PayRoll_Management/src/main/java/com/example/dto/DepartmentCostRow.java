@@ -4,6 +4,7 @@ import java.math.BigDecimal;
 
 public class DepartmentCostRow {
 	 private String department;
+	    private int employeeCount;
 	    private BigDecimal totalBasic;
 	    private BigDecimal totalDeductions;
 	    private BigDecimal totalBonus;
@@ -11,8 +12,26 @@ public class DepartmentCostRow {
 
 	    public DepartmentCostRow() {}
 
+	    // Used by the grouped aggregate queries (JPQL count is a Long)
+	    public DepartmentCostRow(String department, Long employeeCount, BigDecimal totalBasic,
+	                             BigDecimal totalDeductions, BigDecimal totalBonus, BigDecimal totalNet) {
+	        this(department, Math.toIntExact(employeeCount), totalBasic, totalDeductions, totalBonus, totalNet);
+	    }
+
+	    public DepartmentCostRow(String department, int employeeCount, BigDecimal totalBasic,
+	                             BigDecimal totalDeductions, BigDecimal totalBonus, BigDecimal totalNet) {
+	        this.department = department;
+	        this.employeeCount = employeeCount;
+	        this.totalBasic = totalBasic;
+	        this.totalDeductions = totalDeductions;
+	        this.totalBonus = totalBonus;
+	        this.totalNet = totalNet;
+	    }
+
 	    public String getDepartment() { return department; }
 	    public void setDepartment(String department) { this.department = department; }
+	    public int getEmployeeCount() { return employeeCount; }
+	    public void setEmployeeCount(int employeeCount) { this.employeeCount = employeeCount; }
 	    public BigDecimal getTotalBasic() { return totalBasic; }
 	    public void setTotalBasic(BigDecimal totalBasic) { this.totalBasic = totalBasic; }
 	    public BigDecimal getTotalDeductions() { return totalDeductions; }
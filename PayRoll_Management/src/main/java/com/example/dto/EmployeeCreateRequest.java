@@ -3,6 +3,8 @@ package com.example.dto;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
+import jakarta.validation.constraints.Pattern;
+
 public class EmployeeCreateRequest {
 	private Long userId;          // existing user to link
     private String firstName;
@@ -13,6 +15,10 @@ public class EmployeeCreateRequest {
     private String designation;
     private String department;
     private BigDecimal baseSalary;
+    @Pattern(regexp = "\\d{9,18}", message = "bankAccountNumber must be 9-18 digits")
+    private String bankAccountNumber;
+    @Pattern(regexp = "[A-Z]{4}0[A-Z0-9]{6}", message = "bankIfsc must be an 11-character IFSC code")
+    private String bankIfsc;
 
     public Long getUserId() { return userId; }
     public void setUserId(Long userId) { this.userId = userId; }
@@ -40,6 +46,12 @@ public class EmployeeCreateRequest {
 
     public BigDecimal getBaseSalary() { return baseSalary; }
     public void setBaseSalary(BigDecimal baseSalary) { this.baseSalary = baseSalary; }
+
+    public String getBankAccountNumber() { return bankAccountNumber; }
+    public void setBankAccountNumber(String bankAccountNumber) { this.bankAccountNumber = bankAccountNumber; }
+
+    public String getBankIfsc() { return bankIfsc; }
+    public void setBankIfsc(String bankIfsc) { this.bankIfsc = bankIfsc; }
 }
 
 
@@ -0,0 +1,7 @@
+package com.example.dto;
+
+import java.math.BigDecimal;
+
+/** The employee fields payroll amounts depend on (read-only projection). */
+public record EmployeePayBasis(Long id, String department, String designation, BigDecimal baseSalary) {
+}
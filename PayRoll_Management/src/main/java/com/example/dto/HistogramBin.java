@@ -0,0 +1,7 @@
+package com.example.dto;
+
+import java.math.BigDecimal;
+
+/** Items with an amount in [from, to) (the last bin of a histogram includes {@code to}). */
+public record HistogramBin(BigDecimal from, BigDecimal to, long count) {
+}
@@ -0,0 +1,7 @@
+package com.example.dto;
+
+import java.time.LocalDate;
+
+/** An employee's leave period (inclusive), as loaded for a payroll run. */
+public record LeaveInterval(Long employeeId, LocalDate startDate, LocalDate endDate) {
+}
@@ -0,0 +1,7 @@
+package com.example.dto;
+
+import java.math.BigDecimal;
+
+/** Net salary of one item with its grouping columns (read-only projection for distribution reports). */
+public record NetSalaryRow(String department, String designation, BigDecimal netSalary) {
+}
@@ -0,0 +1,38 @@
+package com.example.dto;
+
+import java.util.List;
+
+/** Result of comparing a run's materialised report aggregates with a full recompute. */
+public class PayrollAggregateCheck {
+	    private Long runId;
+	    private int year;
+	    private int month;
+	    private boolean consistent;
+	    private boolean repaired;
+	    private List<String> differences;
+
+	    public PayrollAggregateCheck() { }
+
+	    public PayrollAggregateCheck(Long runId, int year, int month, List<String> differences, boolean repaired) {
+	        this.runId = runId;
+	        this.year = year;
+	        this.month = month;
+	        this.consistent = differences.isEmpty();
+	        this.differences = differences;
+	        this.repaired = repaired;
+	    }
+
+	    public Long getRunId() { return runId; }
+	    public int getYear() { return year; }
+	    public int getMonth() { return month; }
+	    public boolean isConsistent() { return consistent; }
+	    public boolean isRepaired() { return repaired; }
+	    public List<String> getDifferences() { return differences; }
+
+	    public void setRunId(Long runId) { this.runId = runId; }
+	    public void setYear(int year) { this.year = year; }
+	    public void setMonth(int month) { this.month = month; }
+	    public void setConsistent(boolean consistent) { this.consistent = consistent; }
+	    public void setRepaired(boolean repaired) { this.repaired = repaired; }
+	    public void setDifferences(List<String> differences) { this.differences = differences; }
+}
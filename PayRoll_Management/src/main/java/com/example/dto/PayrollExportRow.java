@@ -0,0 +1,10 @@
+package com.example.dto;
+
+import java.math.BigDecimal;
+
+/** One payroll item with the employee columns needed for the CSV export (read-only projection). */
+public record PayrollExportRow(Long itemId, Long employeeId, String firstName, String lastName,
+                               String department, String designation,
+                               BigDecimal basicSalary, BigDecimal deductions, BigDecimal bonus,
+                               BigDecimal netSalary, int unpaidDays) {
+}
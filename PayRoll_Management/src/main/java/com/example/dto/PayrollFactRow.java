@@ -0,0 +1,8 @@
+package com.example.dto;
+
+import java.math.BigDecimal;
+
+/** Amounts of one payroll item with its grouping columns (read-only projection for the analytics cube). */
+public record PayrollFactRow(String department, String designation, BigDecimal basicSalary,
+                             BigDecimal deductions, BigDecimal bonus, BigDecimal netSalary, int unpaidDays) {
+}
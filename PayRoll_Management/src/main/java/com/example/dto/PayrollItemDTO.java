@@ -11,6 +11,8 @@ public class PayrollItemDTO {
     private BigDecimal deductions;
     private BigDecimal bonus;
     private BigDecimal netSalary;
+    private BigDecimal deductionShortfall;
+    private int unpaidDays;
 
     public PayrollItemDTO() {}
 
@@ -34,6 +36,12 @@ public class PayrollItemDTO {
 
     public BigDecimal getNetSalary() { return netSalary; }
     public void setNetSalary(BigDecimal netSalary) { this.netSalary = netSalary; }
+
+    public BigDecimal getDeductionShortfall() { return deductionShortfall; }
+    public void setDeductionShortfall(BigDecimal deductionShortfall) { this.deductionShortfall = deductionShortfall; }
+
+    public int getUnpaidDays() { return unpaidDays; }
+    public void setUnpaidDays(int unpaidDays) { this.unpaidDays = unpaidDays; }
     
    
 
@@ -0,0 +1,68 @@
+package com.example.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+import com.example.service.PayrollJob;
+
+public class PayrollJobStatus {
+
+    private String jobId;
+    private Long runId;
+    private PayrollJob.State state;
+    private boolean cancelRequested;
+    private long processed;       // employees handled so far
+    private long total;           // employees in the run
+    private long itemsWritten;    // new items created (existing ones are skipped)
+    private long resumedChunks;   // chunks skipped because an earlier attempt committed them
+    private double itemsPerSecond;
+    private Long etaSeconds;      // null when not running or rate unknown
+    private Instant submittedAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private List<String> errors;
+
+    public PayrollJobStatus() {}
+
+    public String getJobId() { return jobId; }
+    public void setJobId(String jobId) { this.jobId = jobId; }
+
+    public Long getRunId() { return runId; }
+    public void setRunId(Long runId) { this.runId = runId; }
+
+    public PayrollJob.State getState() { return state; }
+    public void setState(PayrollJob.State state) { this.state = state; }
+
+    public boolean isCancelRequested() { return cancelRequested; }
+    public void setCancelRequested(boolean cancelRequested) { this.cancelRequested = cancelRequested; }
+
+    public long getProcessed() { return processed; }
+    public void setProcessed(long processed) { this.processed = processed; }
+
+    public long getTotal() { return total; }
+    public void setTotal(long total) { this.total = total; }
+
+    public long getItemsWritten() { return itemsWritten; }
+    public void setItemsWritten(long itemsWritten) { this.itemsWritten = itemsWritten; }
+
+    public long getResumedChunks() { return resumedChunks; }
+    public void setResumedChunks(long resumedChunks) { this.resumedChunks = resumedChunks; }
+
+    public double getItemsPerSecond() { return itemsPerSecond; }
+    public void setItemsPerSecond(double itemsPerSecond) { this.itemsPerSecond = itemsPerSecond; }
+
+    public Long getEtaSeconds() { return etaSeconds; }
+    public void setEtaSeconds(Long etaSeconds) { this.etaSeconds = etaSeconds; }
+
+    public Instant getSubmittedAt() { return submittedAt; }
+    public void setSubmittedAt(Instant submittedAt) { this.submittedAt = submittedAt; }
+
+    public Instant getStartedAt() { return startedAt; }
+    public void setStartedAt(Instant startedAt) { this.startedAt = startedAt; }
+
+    public Instant getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(Instant finishedAt) { this.finishedAt = finishedAt; }
+
+    public List<String> getErrors() { return errors; }
+    public void setErrors(List<String> errors) { this.errors = errors; }
+}
@@ -0,0 +1,35 @@
+package com.example.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+public class PayrollSimulationRequest {
+	    @Min(2000) @Max(3000)
+	    private int year;
+	    @Min(1) @Max(12)
+	    private int month;
+
+	    // applied in order; an employee matching several gets all of them (compounded)
+	    @Valid
+	    private List<SalaryAdjustment> adjustments = new ArrayList<>();
+
+	    public PayrollSimulationRequest() { }
+
+	    public PayrollSimulationRequest(int year, int month, List<SalaryAdjustment> adjustments) {
+	        this.year = year;
+	        this.month = month;
+	        this.adjustments = adjustments;
+	    }
+
+	    public int getYear() { return year; }
+	    public int getMonth() { return month; }
+	    public List<SalaryAdjustment> getAdjustments() { return adjustments; }
+
+	    public void setYear(int year) { this.year = year; }
+	    public void setMonth(int month) { this.month = month; }
+	    public void setAdjustments(List<SalaryAdjustment> adjustments) { this.adjustments = adjustments; }
+}
@@ -0,0 +1,26 @@
+package com.example.dto;
+
+import java.util.List;
+
+/** Result of a dry run: the same shapes as the payroll-summary and department-cost reports. */
+public class PayrollSimulationResponse {
+	    private PayrollSummaryResponse summary;
+	    private List<DepartmentCostRow> departments;
+	    private long elapsedMillis;
+
+	    public PayrollSimulationResponse() { }
+
+	    public PayrollSimulationResponse(PayrollSummaryResponse summary, List<DepartmentCostRow> departments, long elapsedMillis) {
+	        this.summary = summary;
+	        this.departments = departments;
+	        this.elapsedMillis = elapsedMillis;
+	    }
+
+	    public PayrollSummaryResponse getSummary() { return summary; }
+	    public List<DepartmentCostRow> getDepartments() { return departments; }
+	    public long getElapsedMillis() { return elapsedMillis; }
+
+	    public void setSummary(PayrollSummaryResponse summary) { this.summary = summary; }
+	    public void setDepartments(List<DepartmentCostRow> departments) { this.departments = departments; }
+	    public void setElapsedMillis(long elapsedMillis) { this.elapsedMillis = elapsedMillis; }
+}
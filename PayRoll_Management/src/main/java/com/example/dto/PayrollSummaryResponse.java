@@ -13,6 +13,16 @@ public class PayrollSummaryResponse {
 
 	    public PayrollSummaryResponse() {}
 
+	    // Used by the aggregate query in PayrollItemRepository (year/month are set by the caller)
+	    public PayrollSummaryResponse(Long employeeCount, BigDecimal totalBasic, BigDecimal totalDeductions,
+	                                  BigDecimal totalBonus, BigDecimal totalNet) {
+	        this.employeeCount = Math.toIntExact(employeeCount);
+	        this.totalBasic = totalBasic;
+	        this.totalDeductions = totalDeductions;
+	        this.totalBonus = totalBonus;
+	        this.totalNet = totalNet;
+	    }
+
 	    public int getYear() { return year; }
 	    public void setYear(int year) { this.year = year; }
 	    public int getMonth() { return month; }
@@ -0,0 +1,71 @@
+package com.example.dto;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.example.entity.PayrollRunStatus;
+
+/** One month of a trend report: the month's totals, running year-to-date totals and the departments. */
+public class PayrollTrendMonth {
+	    private int year;
+	    private int month;
+	    private PayrollRunStatus status;
+	    private int employeeCount;
+	    private BigDecimal totalBasic = BigDecimal.ZERO;
+	    private BigDecimal totalDeductions = BigDecimal.ZERO;
+	    private BigDecimal totalBonus = BigDecimal.ZERO;
+	    private BigDecimal totalNet = BigDecimal.ZERO;
+	    private BigDecimal ytdBasic = BigDecimal.ZERO;
+	    private BigDecimal ytdDeductions = BigDecimal.ZERO;
+	    private BigDecimal ytdBonus = BigDecimal.ZERO;
+	    private BigDecimal ytdNet = BigDecimal.ZERO;
+	    private List<DepartmentCostRow> departments = new ArrayList<>();
+
+	    public PayrollTrendMonth() {}
+
+	    public PayrollTrendMonth(int year, int month, PayrollRunStatus status) {
+	        this.year = year;
+	        this.month = month;
+	        this.status = status;
+	    }
+
+	    public int getYear() { return year; }
+	    public void setYear(int year) { this.year = year; }
+
+	    public int getMonth() { return month; }
+	    public void setMonth(int month) { this.month = month; }
+
+	    public PayrollRunStatus getStatus() { return status; }
+	    public void setStatus(PayrollRunStatus status) { this.status = status; }
+
+	    public int getEmployeeCount() { return employeeCount; }
+	    public void setEmployeeCount(int employeeCount) { this.employeeCount = employeeCount; }
+
+	    public BigDecimal getTotalBasic() { return totalBasic; }
+	    public void setTotalBasic(BigDecimal totalBasic) { this.totalBasic = totalBasic; }
+
+	    public BigDecimal getTotalDeductions() { return totalDeductions; }
+	    public void setTotalDeductions(BigDecimal totalDeductions) { this.totalDeductions = totalDeductions; }
+
+	    public BigDecimal getTotalBonus() { return totalBonus; }
+	    public void setTotalBonus(BigDecimal totalBonus) { this.totalBonus = totalBonus; }
+
+	    public BigDecimal getTotalNet() { return totalNet; }
+	    public void setTotalNet(BigDecimal totalNet) { this.totalNet = totalNet; }
+
+	    public BigDecimal getYtdBasic() { return ytdBasic; }
+	    public void setYtdBasic(BigDecimal ytdBasic) { this.ytdBasic = ytdBasic; }
+
+	    public BigDecimal getYtdDeductions() { return ytdDeductions; }
+	    public void setYtdDeductions(BigDecimal ytdDeductions) { this.ytdDeductions = ytdDeductions; }
+
+	    public BigDecimal getYtdBonus() { return ytdBonus; }
+	    public void setYtdBonus(BigDecimal ytdBonus) { this.ytdBonus = ytdBonus; }
+
+	    public BigDecimal getYtdNet() { return ytdNet; }
+	    public void setYtdNet(BigDecimal ytdNet) { this.ytdNet = ytdNet; }
+
+	    public List<DepartmentCostRow> getDepartments() { return departments; }
+	    public void setDepartments(List<DepartmentCostRow> departments) { this.departments = departments; }
+}
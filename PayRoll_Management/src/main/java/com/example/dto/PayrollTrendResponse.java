@@ -0,0 +1,35 @@
+package com.example.dto;
+
+import java.util.List;
+
+/**
+ * Month-by-month payroll totals for a range of months (runs that are PROCESSED or LOCKED),
+ * with year-to-date sums that restart every January, and the totals per department over the range.
+ */
+public class PayrollTrendResponse {
+	    private String from;
+	    private String to;
+	    private List<PayrollTrendMonth> months;
+	    private List<DepartmentCostRow> departments;
+
+	    public PayrollTrendResponse() {}
+
+	    public PayrollTrendResponse(String from, String to, List<PayrollTrendMonth> months, List<DepartmentCostRow> departments) {
+	        this.from = from;
+	        this.to = to;
+	        this.months = months;
+	        this.departments = departments;
+	    }
+
+	    public String getFrom() { return from; }
+	    public void setFrom(String from) { this.from = from; }
+
+	    public String getTo() { return to; }
+	    public void setTo(String to) { this.to = to; }
+
+	    public List<PayrollTrendMonth> getMonths() { return months; }
+	    public void setMonths(List<PayrollTrendMonth> months) { this.months = months; }
+
+	    public List<DepartmentCostRow> getDepartments() { return departments; }
+	    public void setDepartments(List<DepartmentCostRow> departments) { this.departments = departments; }
+}
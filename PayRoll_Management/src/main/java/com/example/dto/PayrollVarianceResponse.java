@@ -0,0 +1,81 @@
+package com.example.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/** Net pay differences of a run against a base run (usually the previous month). */
+public class PayrollVarianceResponse {
+	    private Long baseRunId;
+	    private String basePeriod;
+	    private Long compareRunId;
+	    private String comparePeriod;
+	    private BigDecimal thresholdPercent;
+
+	    private int joiners;
+	    private int leavers;
+	    private int changed;
+	    private int withinThreshold;
+
+	    private BigDecimal baseTotalNet;
+	    private BigDecimal compareTotalNet;
+	    private BigDecimal totalDelta;
+	    private BigDecimal joinersDelta;
+	    private BigDecimal leaversDelta;
+	    private BigDecimal changedDelta;
+	    private BigDecimal withinThresholdDelta;
+
+	    private List<PayrollVarianceRow> rows;
+
+	    public PayrollVarianceResponse() {}
+
+	    public Long getBaseRunId() { return baseRunId; }
+	    public void setBaseRunId(Long baseRunId) { this.baseRunId = baseRunId; }
+
+	    public String getBasePeriod() { return basePeriod; }
+	    public void setBasePeriod(String basePeriod) { this.basePeriod = basePeriod; }
+
+	    public Long getCompareRunId() { return compareRunId; }
+	    public void setCompareRunId(Long compareRunId) { this.compareRunId = compareRunId; }
+
+	    public String getComparePeriod() { return comparePeriod; }
+	    public void setComparePeriod(String comparePeriod) { this.comparePeriod = comparePeriod; }
+
+	    public BigDecimal getThresholdPercent() { return thresholdPercent; }
+	    public void setThresholdPercent(BigDecimal thresholdPercent) { this.thresholdPercent = thresholdPercent; }
+
+	    public int getJoiners() { return joiners; }
+	    public void setJoiners(int joiners) { this.joiners = joiners; }
+
+	    public int getLeavers() { return leavers; }
+	    public void setLeavers(int leavers) { this.leavers = leavers; }
+
+	    public int getChanged() { return changed; }
+	    public void setChanged(int changed) { this.changed = changed; }
+
+	    public int getWithinThreshold() { return withinThreshold; }
+	    public void setWithinThreshold(int withinThreshold) { this.withinThreshold = withinThreshold; }
+
+	    public BigDecimal getBaseTotalNet() { return baseTotalNet; }
+	    public void setBaseTotalNet(BigDecimal baseTotalNet) { this.baseTotalNet = baseTotalNet; }
+
+	    public BigDecimal getCompareTotalNet() { return compareTotalNet; }
+	    public void setCompareTotalNet(BigDecimal compareTotalNet) { this.compareTotalNet = compareTotalNet; }
+
+	    public BigDecimal getTotalDelta() { return totalDelta; }
+	    public void setTotalDelta(BigDecimal totalDelta) { this.totalDelta = totalDelta; }
+
+	    public BigDecimal getJoinersDelta() { return joinersDelta; }
+	    public void setJoinersDelta(BigDecimal joinersDelta) { this.joinersDelta = joinersDelta; }
+
+	    public BigDecimal getLeaversDelta() { return leaversDelta; }
+	    public void setLeaversDelta(BigDecimal leaversDelta) { this.leaversDelta = leaversDelta; }
+
+	    public BigDecimal getChangedDelta() { return changedDelta; }
+	    public void setChangedDelta(BigDecimal changedDelta) { this.changedDelta = changedDelta; }
+
+	    public BigDecimal getWithinThresholdDelta() { return withinThresholdDelta; }
+	    public void setWithinThresholdDelta(BigDecimal withinThresholdDelta) { this.withinThresholdDelta = withinThresholdDelta; }
+
+	    public List<PayrollVarianceRow> getRows() { return rows; }
+	    public void setRows(List<PayrollVarianceRow> rows) { this.rows = rows; }
+}
@@ -0,0 +1,11 @@
+package com.example.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * One employee in a variance report. change is JOINER (only in the compared run), LEAVER (only in
+ * the base run) or CHANGED; deltaPercent is null when the base net pay is zero.
+ */
+public record PayrollVarianceRow(Long employeeId, String employeeName, String department, String change,
+                                 BigDecimal baseNet, BigDecimal compareNet, BigDecimal delta, BigDecimal deltaPercent) {
+}
@@ -0,0 +1,9 @@
+package com.example.dto;
+
+import java.math.BigDecimal;
+
+/** Totals of one department in one run, from the grouped range query of the trend reports. */
+public record PeriodDepartmentRow(Long runId, String department, Long employeeCount,
+                                  BigDecimal totalBasic, BigDecimal totalDeductions,
+                                  BigDecimal totalBonus, BigDecimal totalNet) {
+}
@@ -0,0 +1,49 @@
+package com.example.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.validation.constraints.Pattern;
+
+/**
+ * Ad-hoc pivot over LOCKED runs.
+ * groupBy: any of department, designation, year, period (yyyy-MM); empty = one grand total row.
+ * measures: any of basic, deductions, bonus, net, unpaidDays (default net); aggregate: sum, avg, min or max.
+ * departments / designations / from / to (yyyy-MM, inclusive) filter the items; empty = no filter.
+ */
+public class PivotRequest {
+	    private List<String> groupBy = new ArrayList<>();
+	    private List<String> measures = new ArrayList<>(List.of("net"));
+	    private String aggregate = "sum";
+	    private List<String> departments = new ArrayList<>();
+	    private List<String> designations = new ArrayList<>();
+
+	    @Pattern(regexp = "\\d{4}-\\d{2}", message = "from must be yyyy-MM")
+	    private String from;
+
+	    @Pattern(regexp = "\\d{4}-\\d{2}", message = "to must be yyyy-MM")
+	    private String to;
+
+	    public PivotRequest() {}
+
+	    public List<String> getGroupBy() { return groupBy; }
+	    public void setGroupBy(List<String> groupBy) { this.groupBy = groupBy; }
+
+	    public List<String> getMeasures() { return measures; }
+	    public void setMeasures(List<String> measures) { this.measures = measures; }
+
+	    public String getAggregate() { return aggregate; }
+	    public void setAggregate(String aggregate) { this.aggregate = aggregate; }
+
+	    public List<String> getDepartments() { return departments; }
+	    public void setDepartments(List<String> departments) { this.departments = departments; }
+
+	    public List<String> getDesignations() { return designations; }
+	    public void setDesignations(List<String> designations) { this.designations = designations; }
+
+	    public String getFrom() { return from; }
+	    public void setFrom(String from) { this.from = from; }
+
+	    public String getTo() { return to; }
+	    public void setTo(String to) { this.to = to; }
+}
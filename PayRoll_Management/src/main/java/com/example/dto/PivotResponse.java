@@ -0,0 +1,37 @@
+package com.example.dto;
+
+import java.util.List;
+
+/** Result of a {@link PivotRequest}; money measures are in rupees. */
+public class PivotResponse {
+	    private List<String> groupBy;
+	    private List<String> measures;
+	    private String aggregate;
+	    private List<PivotRow> rows;
+	    private int runsScanned;
+	    private long itemsScanned;
+	    private long elapsedMicros;
+
+	    public PivotResponse() {}
+
+	    public List<String> getGroupBy() { return groupBy; }
+	    public void setGroupBy(List<String> groupBy) { this.groupBy = groupBy; }
+
+	    public List<String> getMeasures() { return measures; }
+	    public void setMeasures(List<String> measures) { this.measures = measures; }
+
+	    public String getAggregate() { return aggregate; }
+	    public void setAggregate(String aggregate) { this.aggregate = aggregate; }
+
+	    public List<PivotRow> getRows() { return rows; }
+	    public void setRows(List<PivotRow> rows) { this.rows = rows; }
+
+	    public int getRunsScanned() { return runsScanned; }
+	    public void setRunsScanned(int runsScanned) { this.runsScanned = runsScanned; }
+
+	    public long getItemsScanned() { return itemsScanned; }
+	    public void setItemsScanned(long itemsScanned) { this.itemsScanned = itemsScanned; }
+
+	    public long getElapsedMicros() { return elapsedMicros; }
+	    public void setElapsedMicros(long elapsedMicros) { this.elapsedMicros = elapsedMicros; }
+}
@@ -0,0 +1,8 @@
+package com.example.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/** One group of a pivot: its key (in groupBy order), the item count and one value per measure. */
+public record PivotRow(List<String> key, long count, List<BigDecimal> values) {
+}
@@ -0,0 +1,5 @@
+package com.example.dto;
+
+/** One entry of the token revocation feed (read-only projection). */
+public record RevokedTokenRow(Long id, long tokenHash, long digestHi, long digestLo, long expiresAt) {
+}
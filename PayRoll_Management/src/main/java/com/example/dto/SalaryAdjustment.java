@@ -0,0 +1,35 @@
+package com.example.dto;
+
+import java.math.BigDecimal;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * A what-if change to base salaries: {@code percent} (e.g. 7 or -2.5) applied to employees of the
+ * department and/or designation (blank = any).
+ */
+public class SalaryAdjustment {
+	    private String department;
+	    private String designation;
+
+	    @NotNull @DecimalMin("-100") @DecimalMax("1000")
+	    private BigDecimal percent;
+
+	    public SalaryAdjustment() { }
+
+	    public SalaryAdjustment(String department, String designation, BigDecimal percent) {
+	        this.department = department;
+	        this.designation = designation;
+	        this.percent = percent;
+	    }
+
+	    public String getDepartment() { return department; }
+	    public String getDesignation() { return designation; }
+	    public BigDecimal getPercent() { return percent; }
+
+	    public void setDepartment(String department) { this.department = department; }
+	    public void setDesignation(String designation) { this.designation = designation; }
+	    public void setPercent(BigDecimal percent) { this.percent = percent; }
+}
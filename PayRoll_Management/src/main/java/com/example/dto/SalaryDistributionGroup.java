@@ -0,0 +1,46 @@
+package com.example.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/** Net salary distribution of one group; designation is null for department and overall rows. */
+public class SalaryDistributionGroup {
+	    private String department;
+	    private String designation;
+	    private long count;
+	    private BigDecimal min;
+	    private BigDecimal p50;
+	    private BigDecimal p90;
+	    private BigDecimal p99;
+	    private BigDecimal max;
+	    private List<HistogramBin> histogram;
+
+	    public SalaryDistributionGroup() {}
+
+	    public String getDepartment() { return department; }
+	    public void setDepartment(String department) { this.department = department; }
+
+	    public String getDesignation() { return designation; }
+	    public void setDesignation(String designation) { this.designation = designation; }
+
+	    public long getCount() { return count; }
+	    public void setCount(long count) { this.count = count; }
+
+	    public BigDecimal getMin() { return min; }
+	    public void setMin(BigDecimal min) { this.min = min; }
+
+	    public BigDecimal getP50() { return p50; }
+	    public void setP50(BigDecimal p50) { this.p50 = p50; }
+
+	    public BigDecimal getP90() { return p90; }
+	    public void setP90(BigDecimal p90) { this.p90 = p90; }
+
+	    public BigDecimal getP99() { return p99; }
+	    public void setP99(BigDecimal p99) { this.p99 = p99; }
+
+	    public BigDecimal getMax() { return max; }
+	    public void setMax(BigDecimal max) { this.max = max; }
+
+	    public List<HistogramBin> getHistogram() { return histogram; }
+	    public void setHistogram(List<HistogramBin> histogram) { this.histogram = histogram; }
+}
@@ -0,0 +1,46 @@
+package com.example.dto;
+
+import java.util.List;
+
+import com.example.entity.PayrollRunStatus;
+
+/**
+ * Net salary percentiles and histograms of a run, per department and designation, per
+ * department and overall. Percentiles are estimates within {@code relativeAccuracy} (e.g. 0.01 = 1%).
+ */
+public class SalaryDistributionResponse {
+	    private int year;
+	    private int month;
+	    private PayrollRunStatus status;
+	    private double relativeAccuracy;
+	    private boolean fromStoredSketches;
+	    private SalaryDistributionGroup overall;
+	    private List<SalaryDistributionGroup> departments;
+	    private List<SalaryDistributionGroup> groups;
+
+	    public SalaryDistributionResponse() {}
+
+	    public int getYear() { return year; }
+	    public void setYear(int year) { this.year = year; }
+
+	    public int getMonth() { return month; }
+	    public void setMonth(int month) { this.month = month; }
+
+	    public PayrollRunStatus getStatus() { return status; }
+	    public void setStatus(PayrollRunStatus status) { this.status = status; }
+
+	    public double getRelativeAccuracy() { return relativeAccuracy; }
+	    public void setRelativeAccuracy(double relativeAccuracy) { this.relativeAccuracy = relativeAccuracy; }
+
+	    public boolean isFromStoredSketches() { return fromStoredSketches; }
+	    public void setFromStoredSketches(boolean fromStoredSketches) { this.fromStoredSketches = fromStoredSketches; }
+
+	    public SalaryDistributionGroup getOverall() { return overall; }
+	    public void setOverall(SalaryDistributionGroup overall) { this.overall = overall; }
+
+	    public List<SalaryDistributionGroup> getDepartments() { return departments; }
+	    public void setDepartments(List<SalaryDistributionGroup> departments) { this.departments = departments; }
+
+	    public List<SalaryDistributionGroup> getGroups() { return groups; }
+	    public void setGroups(List<SalaryDistributionGroup> groups) { this.groups = groups; }
+}
@@ -0,0 +1,7 @@
+package com.example.dto;
+
+import java.math.BigDecimal;
+
+/** Net pay of one employee in a run (read-only projection for the variance report). */
+public record VarianceItemRow(Long employeeId, String firstName, String lastName, String department, BigDecimal netSalary) {
+}
@@ -2,8 +2,12 @@ package com.example.entity;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
 
 import jakarta.persistence.*;
+import jakarta.validation.constraints.Pattern;
 import lombok.*;
 
 @Entity @Table(name="employees")
@@ -29,6 +33,22 @@ public class Employee {
 
 	    @Column(precision = 12, scale = 2)
 	    private BigDecimal baseSalary;
+
+	    // Salary account for the bank payment file (see BankPaymentService)
+	    @Pattern(regexp = "\\d{9,18}", message = "bankAccountNumber must be 9-18 digits")
+	    @Column(length = 18)
+	    private String bankAccountNumber;
+
+	    @Pattern(regexp = "[A-Z]{4}0[A-Z0-9]{6}", message = "bankIfsc must be an 11-character IFSC code")
+	    @Column(length = 11)
+	    private String bankIfsc;
+
+	    // Last modification; payroll items computed before this are stale
+	    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+	    private LocalDateTime updatedAt;
+
+	    @PrePersist @PreUpdate
+	    void touch() { this.updatedAt = LocalDateTime.now(); }
 	    
 	    public Employee() {}
 
@@ -58,6 +78,9 @@ public class Employee {
 	    public String getDesignation() { return designation; }
 	    public String getDepartment() { return department; }
 	    public BigDecimal getBaseSalary() { return baseSalary; }
+	    public String getBankAccountNumber() { return bankAccountNumber; }
+	    public String getBankIfsc() { return bankIfsc; }
+	    public LocalDateTime getUpdatedAt() { return updatedAt; }
 	    
 	    public void setId(Long id) { this.id = id; }
 	    public void setUser(User user) { this.user = user; }
@@ -69,5 +92,8 @@ public class Employee {
 	    public void setDesignation(String designation) { this.designation = designation; }
 	    public void setDepartment(String department) { this.department = department; }
 	    public void setBaseSalary(BigDecimal baseSalary) { this.baseSalary = baseSalary; }
+	    public void setBankAccountNumber(String bankAccountNumber) { this.bankAccountNumber = bankAccountNumber; }
+	    public void setBankIfsc(String bankIfsc) { this.bankIfsc = bankIfsc; }
+	    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
 
 }
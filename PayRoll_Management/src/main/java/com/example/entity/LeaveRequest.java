@@ -39,6 +39,9 @@ public class LeaveRequest {
     @Column(nullable = false)
     private LocalDateTime appliedAt = LocalDateTime.now();
 
+    // When the status last changed (approve/reject/cancel); lets already computed payroll see it
+    private LocalDateTime decidedAt;
+
     // ---- No-arg constructor
     public LeaveRequest() {}
 
@@ -50,6 +53,7 @@ public class LeaveRequest {
     public LeaveType getLeaveType() { return leaveType; }
     public LeaveStatus getStatus() { return status; }
     public LocalDateTime getAppliedAt() { return appliedAt; }
+    public LocalDateTime getDecidedAt() { return decidedAt; }
 
     // ---- Setters
     public void setId(Long id) { this.id = id; }
@@ -59,4 +63,5 @@ public class LeaveRequest {
     public void setLeaveType(LeaveType leaveType) { this.leaveType = leaveType; }
     public void setStatus(LeaveStatus status) { this.status = status; }
     public void setAppliedAt(LocalDateTime appliedAt) { this.appliedAt = appliedAt; }
+    public void setDecidedAt(LocalDateTime decidedAt) { this.decidedAt = decidedAt; }
 }
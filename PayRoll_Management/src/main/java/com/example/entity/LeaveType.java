@@ -1,5 +1,6 @@
 package com.example.entity;
 
-public enum LeaveType { SICK, CASUAL, PAID
+// UNPAID leave reduces pay (loss of pay) when a payroll run covers it
+public enum LeaveType { SICK, CASUAL, PAID, UNPAID
 
 }
@@ -0,0 +1,79 @@
+package com.example.entity;
+
+import java.math.BigDecimal;
+
+import jakarta.persistence.*;
+
+/**
+ * A pay rule such as PF, professional tax, an allowance or a fixed bonus.
+ * Applies to employees matching department and designation (blank = any); active rules are
+ * applied in priority order. For PERCENT_OF_BASIC, {@code amount} is a percentage and
+ * {@code cap} an optional upper bound on the result.
+ */
+@Entity
+@Table(name = "pay_rules")
+public class PayRule {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String name;
+
+    private String department;
+    private String designation;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private PayRuleComponent component;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private PayRuleKind kind;
+
+    @Column(precision = 12, scale = 4, nullable = false)
+    private BigDecimal amount;
+
+    @Column(precision = 12, scale = 2)
+    private BigDecimal cap;
+
+    @Column(nullable = false)
+    private int priority = 0;
+
+    @Column(nullable = false)
+    private boolean active = true;
+
+    public PayRule() {}
+
+    public PayRule(String name, PayRuleComponent component, PayRuleKind kind, BigDecimal amount) {
+        this.name = name;
+        this.component = component;
+        this.kind = kind;
+        this.amount = amount;
+    }
+
+    // ---- Getters
+    public Long getId() { return id; }
+    public String getName() { return name; }
+    public String getDepartment() { return department; }
+    public String getDesignation() { return designation; }
+    public PayRuleComponent getComponent() { return component; }
+    public PayRuleKind getKind() { return kind; }
+    public BigDecimal getAmount() { return amount; }
+    public BigDecimal getCap() { return cap; }
+    public int getPriority() { return priority; }
+    public boolean isActive() { return active; }
+
+    // ---- Setters
+    public void setId(Long id) { this.id = id; }
+    public void setName(String name) { this.name = name; }
+    public void setDepartment(String department) { this.department = department; }
+    public void setDesignation(String designation) { this.designation = designation; }
+    public void setComponent(PayRuleComponent component) { this.component = component; }
+    public void setKind(PayRuleKind kind) { this.kind = kind; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+    public void setCap(BigDecimal cap) { this.cap = cap; }
+    public void setPriority(int priority) { this.priority = priority; }
+    public void setActive(boolean active) { this.active = active; }
+}
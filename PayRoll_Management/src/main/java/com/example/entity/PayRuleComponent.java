@@ -0,0 +1,6 @@
+package com.example.entity;
+
+/** Where a pay rule's amount goes: subtracted as a deduction or added as an allowance/bonus. */
+public enum PayRuleComponent { DEDUCTION, ALLOWANCE
+
+}
@@ -0,0 +1,6 @@
+package com.example.entity;
+
+/** How a pay rule's amount is computed: a percentage of the basic salary or a fixed amount. */
+public enum PayRuleKind { PERCENT_OF_BASIC, FIXED
+
+}
@@ -0,0 +1,71 @@
+package com.example.entity;
+
+import java.math.BigDecimal;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jakarta.persistence.*;
+
+/** Materialised totals of a run's items for one department (see {@link PayrollRunTotals}). */
+@Entity
+@Table(
+    name = "payroll_department_totals",
+    uniqueConstraints = @UniqueConstraint(columnNames = {"run_id", "department"})
+)
+public class PayrollDepartmentTotals {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "run_id", nullable = false)
+    @JsonIgnore
+    private PayrollRun run;
+
+    // As reported: null/blank departments are stored as UNKNOWN
+    @Column(nullable = false)
+    private String department;
+
+    @Column(nullable = false)
+    private int employeeCount;
+
+    @Column(precision = 14, scale = 2, nullable = false)
+    private BigDecimal totalBasic = BigDecimal.ZERO;
+
+    @Column(precision = 14, scale = 2, nullable = false)
+    private BigDecimal totalDeductions = BigDecimal.ZERO;
+
+    @Column(precision = 14, scale = 2, nullable = false)
+    private BigDecimal totalBonus = BigDecimal.ZERO;
+
+    @Column(precision = 14, scale = 2, nullable = false)
+    private BigDecimal totalNet = BigDecimal.ZERO;
+
+    public PayrollDepartmentTotals() { }
+
+    public PayrollDepartmentTotals(PayrollRun run, String department) {
+        this.run = run;
+        this.department = department;
+    }
+
+    // ---- Getters
+    public Long getId() { return id; }
+    public PayrollRun getRun() { return run; }
+    public String getDepartment() { return department; }
+    public int getEmployeeCount() { return employeeCount; }
+    public BigDecimal getTotalBasic() { return totalBasic; }
+    public BigDecimal getTotalDeductions() { return totalDeductions; }
+    public BigDecimal getTotalBonus() { return totalBonus; }
+    public BigDecimal getTotalNet() { return totalNet; }
+
+    // ---- Setters
+    public void setId(Long id) { this.id = id; }
+    public void setRun(PayrollRun run) { this.run = run; }
+    public void setDepartment(String department) { this.department = department; }
+    public void setEmployeeCount(int employeeCount) { this.employeeCount = employeeCount; }
+    public void setTotalBasic(BigDecimal totalBasic) { this.totalBasic = totalBasic; }
+    public void setTotalDeductions(BigDecimal totalDeductions) { this.totalDeductions = totalDeductions; }
+    public void setTotalBonus(BigDecimal totalBonus) { this.totalBonus = totalBonus; }
+    public void setTotalNet(BigDecimal totalNet) { this.totalNet = totalNet; }
+}
@@ -1,6 +1,7 @@
 package com.example.entity;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
@@ -14,8 +15,13 @@ import jakarta.persistence.Table;
 )
 public class PayrollItem {
 
+    public static final int ID_ALLOCATION_SIZE = 100;
+
+    // Pooled sequence (table-backed on MySQL) so Hibernate can batch the inserts of a run;
+    // IDENTITY forces one round trip per row. Seeded past existing ids by SequenceInitializer.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payroll_item_seq")
+    @SequenceGenerator(name = "payroll_item_seq", sequenceName = "payroll_item_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne(optional = false, fetch = FetchType.LAZY)
@@ -39,6 +45,17 @@ public class PayrollItem {
     @Column(precision = 12, scale = 2, nullable = false)
     private BigDecimal netSalary = BigDecimal.ZERO;
 
+    // Deductions that could not be taken because they exceeded basic + allowances (net is then 0)
+    @Column(precision = 12, scale = 2, nullable = false)
+    private BigDecimal deductionShortfall = BigDecimal.ZERO;
+
+    // Approved unpaid leave days in the run's month; their loss of pay is part of deductions
+    @Column(nullable = false)
+    private int unpaidDays;
+
+    // When the amounts were last computed; compared with Employee.updatedAt to find stale items
+    private LocalDateTime computedAt;
+
     // ---- No-arg constructor (required by JPA)
     public PayrollItem() { }
 
@@ -62,6 +79,9 @@ public class PayrollItem {
     public BigDecimal getDeductions() { return deductions; }
     public BigDecimal getBonus() { return bonus; }
     public BigDecimal getNetSalary() { return netSalary; }
+    public BigDecimal getDeductionShortfall() { return deductionShortfall; }
+    public int getUnpaidDays() { return unpaidDays; }
+    public LocalDateTime getComputedAt() { return computedAt; }
 
     // ----------------- SETTERS -----------------
     public void setId(Long id) { this.id = id; }
@@ -71,4 +91,7 @@ public class PayrollItem {
     public void setDeductions(BigDecimal deductions) { this.deductions = deductions; }
     public void setBonus(BigDecimal bonus) { this.bonus = bonus; }
     public void setNetSalary(BigDecimal netSalary) { this.netSalary = netSalary; }
+    public void setDeductionShortfall(BigDecimal deductionShortfall) { this.deductionShortfall = deductionShortfall; }
+    public void setUnpaidDays(int unpaidDays) { this.unpaidDays = unpaidDays; }
+    public void setComputedAt(LocalDateTime computedAt) { this.computedAt = computedAt; }
 }
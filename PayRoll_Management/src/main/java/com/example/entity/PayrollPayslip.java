@@ -0,0 +1,69 @@
+package com.example.entity;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jakarta.persistence.*;
+
+/**
+ * Payslip document of one employee in a LOCKED run. The document itself lives in the payslip
+ * file store under its SHA-256 ({@link com.example.service.PayslipStore}); the hash doubles as
+ * the download's ETag.
+ */
+@Entity
+@Table(
+    name = "payroll_payslips",
+    uniqueConstraints = @UniqueConstraint(columnNames = {"run_id", "employee_id"})
+)
+public class PayrollPayslip {
+
+    public static final int ID_ALLOCATION_SIZE = 100;
+
+    // Pooled sequence like PayrollItem, so the rows of a run are inserted in JDBC batches
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payroll_payslip_seq")
+    @SequenceGenerator(name = "payroll_payslip_seq", sequenceName = "payroll_payslip_seq", allocationSize = ID_ALLOCATION_SIZE)
+    private Long id;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "run_id", nullable = false)
+    @JsonIgnore
+    private PayrollRun run;
+
+    @Column(name = "employee_id", nullable = false)
+    private long employeeId;
+
+    // hex SHA-256 of the document
+    @Column(nullable = false, length = 64)
+    private String contentHash;
+
+    @Column(nullable = false)
+    private long size;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    public PayrollPayslip() { }
+
+    public PayrollPayslip(PayrollRun run, long employeeId, String contentHash, long size) {
+        this.run = run;
+        this.employeeId = employeeId;
+        this.contentHash = contentHash;
+        this.size = size;
+    }
+
+    public Long getId() { return id; }
+    public PayrollRun getRun() { return run; }
+    public long getEmployeeId() { return employeeId; }
+    public String getContentHash() { return contentHash; }
+    public long getSize() { return size; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    public void setId(Long id) { this.id = id; }
+    public void setRun(PayrollRun run) { this.run = run; }
+    public void setEmployeeId(long employeeId) { this.employeeId = employeeId; }
+    public void setContentHash(String contentHash) { this.contentHash = contentHash; }
+    public void setSize(long size) { this.size = size; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
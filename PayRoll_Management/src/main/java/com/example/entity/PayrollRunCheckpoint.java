@@ -0,0 +1,79 @@
+package com.example.entity;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jakarta.persistence.*;
+
+/**
+ * A chunk (employee id range) of a run whose items have been committed. Written in the same
+ * transaction as the chunk's items, so a resumed run can skip exactly the work that survived.
+ * Removed once the run reaches PROCESSED.
+ */
+@Entity
+@Table(
+    name = "payroll_run_checkpoints",
+    uniqueConstraints = @UniqueConstraint(columnNames = {"run_id", "from_employee_id", "to_employee_id"})
+)
+public class PayrollRunCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "run_id", nullable = false)
+    @JsonIgnore
+    private PayrollRun run;
+
+    @Column(name = "from_employee_id", nullable = false)
+    private long fromEmployeeId;
+
+    @Column(name = "to_employee_id", nullable = false)
+    private long toEmployeeId;
+
+    @Column(nullable = false)
+    private int employeesScanned;
+
+    @Column(nullable = false)
+    private int itemsWritten;
+
+    @Column(nullable = false)
+    private LocalDateTime committedAt = LocalDateTime.now();
+
+    // ---- No-arg constructor (required by JPA)
+    public PayrollRunCheckpoint() { }
+
+    public PayrollRunCheckpoint(PayrollRun run, long fromEmployeeId, long toEmployeeId,
+                                int employeesScanned, int itemsWritten) {
+        this.run = run;
+        this.fromEmployeeId = fromEmployeeId;
+        this.toEmployeeId = toEmployeeId;
+        this.employeesScanned = employeesScanned;
+        this.itemsWritten = itemsWritten;
+    }
+
+    /** True if this committed chunk includes every id in fromId..toId. */
+    public boolean covers(long fromId, long toId) {
+        return fromEmployeeId <= fromId && toEmployeeId >= toId;
+    }
+
+    // ----------------- GETTERS -----------------
+    public Long getId() { return id; }
+    public PayrollRun getRun() { return run; }
+    public long getFromEmployeeId() { return fromEmployeeId; }
+    public long getToEmployeeId() { return toEmployeeId; }
+    public int getEmployeesScanned() { return employeesScanned; }
+    public int getItemsWritten() { return itemsWritten; }
+    public LocalDateTime getCommittedAt() { return committedAt; }
+
+    // ----------------- SETTERS -----------------
+    public void setId(Long id) { this.id = id; }
+    public void setRun(PayrollRun run) { this.run = run; }
+    public void setFromEmployeeId(long fromEmployeeId) { this.fromEmployeeId = fromEmployeeId; }
+    public void setToEmployeeId(long toEmployeeId) { this.toEmployeeId = toEmployeeId; }
+    public void setEmployeesScanned(int employeesScanned) { this.employeesScanned = employeesScanned; }
+    public void setItemsWritten(int itemsWritten) { this.itemsWritten = itemsWritten; }
+    public void setCommittedAt(LocalDateTime committedAt) { this.committedAt = committedAt; }
+}
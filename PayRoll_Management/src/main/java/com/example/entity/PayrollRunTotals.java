@@ -0,0 +1,70 @@
+package com.example.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jakarta.persistence.*;
+
+/**
+ * Materialised totals of a run's items, so the payroll-summary report does not depend on
+ * headcount. Rebuilt whenever the run's items change (process, incremental re-process, lock).
+ */
+@Entity
+@Table(name = "payroll_run_totals")
+public class PayrollRunTotals {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @OneToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "run_id", nullable = false, unique = true)
+    @JsonIgnore
+    private PayrollRun run;
+
+    @Column(nullable = false)
+    private int employeeCount;
+
+    @Column(precision = 14, scale = 2, nullable = false)
+    private BigDecimal totalBasic = BigDecimal.ZERO;
+
+    @Column(precision = 14, scale = 2, nullable = false)
+    private BigDecimal totalDeductions = BigDecimal.ZERO;
+
+    @Column(precision = 14, scale = 2, nullable = false)
+    private BigDecimal totalBonus = BigDecimal.ZERO;
+
+    @Column(precision = 14, scale = 2, nullable = false)
+    private BigDecimal totalNet = BigDecimal.ZERO;
+
+    @Column(nullable = false)
+    private LocalDateTime refreshedAt = LocalDateTime.now();
+
+    public PayrollRunTotals() { }
+
+    public PayrollRunTotals(PayrollRun run) {
+        this.run = run;
+    }
+
+    // ---- Getters
+    public Long getId() { return id; }
+    public PayrollRun getRun() { return run; }
+    public int getEmployeeCount() { return employeeCount; }
+    public BigDecimal getTotalBasic() { return totalBasic; }
+    public BigDecimal getTotalDeductions() { return totalDeductions; }
+    public BigDecimal getTotalBonus() { return totalBonus; }
+    public BigDecimal getTotalNet() { return totalNet; }
+    public LocalDateTime getRefreshedAt() { return refreshedAt; }
+
+    // ---- Setters
+    public void setId(Long id) { this.id = id; }
+    public void setRun(PayrollRun run) { this.run = run; }
+    public void setEmployeeCount(int employeeCount) { this.employeeCount = employeeCount; }
+    public void setTotalBasic(BigDecimal totalBasic) { this.totalBasic = totalBasic; }
+    public void setTotalDeductions(BigDecimal totalDeductions) { this.totalDeductions = totalDeductions; }
+    public void setTotalBonus(BigDecimal totalBonus) { this.totalBonus = totalBonus; }
+    public void setTotalNet(BigDecimal totalNet) { this.totalNet = totalNet; }
+    public void setRefreshedAt(LocalDateTime refreshedAt) { this.refreshedAt = refreshedAt; }
+}
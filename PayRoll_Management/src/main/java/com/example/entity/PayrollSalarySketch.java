@@ -0,0 +1,72 @@
+package com.example.entity;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jakarta.persistence.*;
+
+/**
+ * Net salary quantile sketch of one department/designation group of a LOCKED run
+ * (see {@link com.example.service.QuantileSketch}), so distribution reports of closed months
+ * never rescan the items.
+ */
+@Entity
+@Table(
+    name = "payroll_salary_sketches",
+    uniqueConstraints = @UniqueConstraint(columnNames = {"run_id", "department", "designation"})
+)
+public class PayrollSalarySketch {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "run_id", nullable = false)
+    @JsonIgnore
+    private PayrollRun run;
+
+    // As reported: null/blank values are stored as UNKNOWN
+    @Column(nullable = false)
+    private String department;
+
+    @Column(nullable = false)
+    private String designation;
+
+    @Column(nullable = false)
+    private long itemCount;
+
+    @Lob
+    @Column(nullable = false)
+    private byte[] sketch;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    public PayrollSalarySketch() { }
+
+    public PayrollSalarySketch(PayrollRun run, String department, String designation, long itemCount, byte[] sketch) {
+        this.run = run;
+        this.department = department;
+        this.designation = designation;
+        this.itemCount = itemCount;
+        this.sketch = sketch;
+    }
+
+    public Long getId() { return id; }
+    public PayrollRun getRun() { return run; }
+    public String getDepartment() { return department; }
+    public String getDesignation() { return designation; }
+    public long getItemCount() { return itemCount; }
+    public byte[] getSketch() { return sketch; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    public void setId(Long id) { this.id = id; }
+    public void setRun(PayrollRun run) { this.run = run; }
+    public void setDepartment(String department) { this.department = department; }
+    public void setDesignation(String designation) { this.designation = designation; }
+    public void setItemCount(long itemCount) { this.itemCount = itemCount; }
+    public void setSketch(byte[] sketch) { this.sketch = sketch; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
@@ -0,0 +1,63 @@
+package com.example.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+
+/**
+ * A logged-out token, kept until it expires. Rows are only ever inserted (and deleted once
+ * expired), so the auto-increment id doubles as the change feed every node replicates from
+ * ({@link com.example.security.TokenRevocationService}). The token itself is not stored, only
+ * its 128-bit SHA-256 prefix and the 64-bit hash of the in-memory filter.
+ */
+@Entity
+@Table(
+    name = "revoked_tokens",
+    uniqueConstraints = @UniqueConstraint(columnNames = {"digest_hi", "digest_lo"}),
+    indexes = @Index(name = "idx_revoked_tokens_expires_at", columnList = "expires_at")
+)
+public class RevokedToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "digest_hi", nullable = false)
+    private long digestHi;
+
+    @Column(name = "digest_lo", nullable = false)
+    private long digestLo;
+
+    @Column(name = "token_hash", nullable = false)
+    private long tokenHash;
+
+    // epoch millis, so every node agrees regardless of its time zone
+    @Column(name = "expires_at", nullable = false)
+    private long expiresAt;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    public RevokedToken() { }
+
+    public RevokedToken(long digestHi, long digestLo, long tokenHash, long expiresAt) {
+        this.digestHi = digestHi;
+        this.digestLo = digestLo;
+        this.tokenHash = tokenHash;
+        this.expiresAt = expiresAt;
+    }
+
+    public Long getId() { return id; }
+    public long getDigestHi() { return digestHi; }
+    public long getDigestLo() { return digestLo; }
+    public long getTokenHash() { return tokenHash; }
+    public long getExpiresAt() { return expiresAt; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    public void setId(Long id) { this.id = id; }
+    public void setDigestHi(long digestHi) { this.digestHi = digestHi; }
+    public void setDigestLo(long digestLo) { this.digestLo = digestLo; }
+    public void setTokenHash(long tokenHash) { this.tokenHash = tokenHash; }
+    public void setExpiresAt(long expiresAt) { this.expiresAt = expiresAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
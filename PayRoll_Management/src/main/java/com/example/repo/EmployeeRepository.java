@@ -1,15 +1,46 @@
 package com.example.repo;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import com.example.dto.EmployeePayBasis;
 import com.example.entity.Employee;
 import com.example.entity.User;
 
+import jakarta.persistence.QueryHint;
+
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
 	Optional<Employee> findByUserId(Long userId);
 	
 	 boolean existsByUserId(Long userId);
 
+	 // Id bounds used to split a payroll run into chunks
+	 @Query("select min(e.id) from Employee e")
+	 Long findMinId();
+
+	 @Query("select max(e.id) from Employee e")
+	 Long findMaxId();
+
+	 // Forward-only, read-only cursor over one chunk of employees (user is eager, so fetch it in
+	 // the same select). Needs useCursorFetch=true on MySQL for the fetch size to take effect.
+	 // Callers must close the stream and should clear the persistence context as they go.
+	 @QueryHints({
+	     @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+	     @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+	 })
+	 @Query("select e from Employee e join fetch e.user where e.id between :fromId and :toId order by e.id")
+	 Stream<Employee> streamChunk(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+	 // Just the columns pay depends on, as unmanaged rows: nothing accumulates in the
+	 // persistence context and the eager user is never loaded (simulations)
+	 @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+	 @Query("select new com.example.dto.EmployeePayBasis(e.id, e.department, e.designation, e.baseSalary) from Employee e")
+	 Stream<EmployeePayBasis> streamPayBasis();
+
 }
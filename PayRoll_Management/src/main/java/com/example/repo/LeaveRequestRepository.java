@@ -1,13 +1,18 @@
 package com.example.repo;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.example.dto.LeaveInterval;
 import com.example.entity.Employee;
 import com.example.entity.LeaveRequest;
 import com.example.entity.LeaveStatus;
+import com.example.entity.LeaveType;
 
 public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long> {
     List<LeaveRequest> findByEmployee(Employee e);
@@ -17,4 +22,12 @@ public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long
         Employee employee, LeaveStatus status, LocalDate startDate, LocalDate endDate);
     void deleteByEmployee(Employee employee);
 
+    // All leaves of the given status/types overlapping [from, to], in one query (payroll runs)
+    @Query("select new com.example.dto.LeaveInterval(l.employee.id, l.startDate, l.endDate) from LeaveRequest l"
+            + " where l.status = :status and l.leaveType in :types and l.startDate <= :to and l.endDate >= :from")
+    List<LeaveInterval> findIntervalsOverlapping(@Param("status") LeaveStatus status,
+                                                 @Param("types") Collection<LeaveType> types,
+                                                 @Param("from") LocalDate from,
+                                                 @Param("to") LocalDate to);
+
 }
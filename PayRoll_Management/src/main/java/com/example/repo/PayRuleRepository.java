@@ -0,0 +1,14 @@
+package com.example.repo;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.example.entity.PayRule;
+
+public interface PayRuleRepository extends JpaRepository<PayRule, Long> {
+
+    List<PayRule> findByActiveTrueOrderByPriorityAscIdAsc();
+
+    List<PayRule> findAllByOrderByPriorityAscIdAsc();
+}
@@ -0,0 +1,26 @@
+package com.example.repo;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.dto.DepartmentCostRow;
+import com.example.entity.PayrollDepartmentTotals;
+
+public interface PayrollDepartmentTotalsRepository extends JpaRepository<PayrollDepartmentTotals, Long> {
+
+    // Report rows straight from the materialised table
+    @Query("select new com.example.dto.DepartmentCostRow(t.department, t.employeeCount,"
+            + " t.totalBasic, t.totalDeductions, t.totalBonus, t.totalNet)"
+            + " from PayrollDepartmentTotals t where t.run.id = :runId order by t.department")
+    List<DepartmentCostRow> findRowsByRunId(@Param("runId") Long runId);
+
+    @Modifying
+    @Transactional
+    @Query("delete from PayrollDepartmentTotals t where t.run.id = :runId")
+    void deleteByRunId(@Param("runId") Long runId);
+}
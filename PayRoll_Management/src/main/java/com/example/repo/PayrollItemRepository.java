@@ -1,19 +1,40 @@
 package com.example.repo;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.example.dto.BankPaymentRow;
+import com.example.dto.DepartmentCostRow;
+import com.example.dto.NetSalaryRow;
+import com.example.dto.PayrollExportRow;
+import com.example.dto.PayrollFactRow;
+import com.example.dto.PeriodDepartmentRow;
+import com.example.dto.VarianceItemRow;
+import com.example.dto.PayrollSummaryResponse;
 import com.example.entity.Employee;
 import com.example.entity.PayrollItem;
 import com.example.entity.PayrollRun;
 
+import jakarta.persistence.QueryHint;
+
 public interface PayrollItemRepository extends JpaRepository<PayrollItem, Long> {
+
+	    // Department used for grouping in reports: null/blank departments are reported as UNKNOWN
+	    String DEPARTMENT_KEY = "case when e.department is null or trim(e.department) = '' then 'UNKNOWN' else e.department end";
+
 	 List<PayrollItem> findByRun(PayrollRun run);
 
 	    Optional<PayrollItem> findByRunAndEmployee(PayrollRun run, Employee employee);
@@ -35,6 +56,86 @@ public interface PayrollItemRepository extends JpaRepository<PayrollItem, Long>
 	    // Prevent duplicates when processing a run
 	    boolean existsByRunAndEmployee(PayrollRun run, Employee employee);
 
+	    // Employees that already have an item in the run (one query instead of one per employee)
+	    @Query("select pi.employee.id from PayrollItem pi where pi.run.id = :runId")
+	    Set<Long> findEmployeeIdsByRunId(@Param("runId") Long runId);
+
+	    // Same, limited to one chunk of employee ids
+	    @Query("select pi.employee.id from PayrollItem pi where pi.run.id = :runId"
+	            + " and pi.employee.id between :fromId and :toId")
+	    Set<Long> findEmployeeIdsByRunIdInRange(@Param("runId") Long runId,
+	                                            @Param("fromId") Long fromId,
+	                                            @Param("toId") Long toId);
+
+	    // Items whose employee changed, or whose unpaid leave in the month was decided, after the
+	    // item was computed (incremental re-processing)
+	    @Query("select pi from PayrollItem pi join fetch pi.employee e where pi.run.id = :runId"
+	            + " and (pi.computedAt is null"
+	            + " or (e.updatedAt is not null and e.updatedAt > pi.computedAt)"
+	            + " or exists (select l.id from LeaveRequest l where l.employee = e"
+	            + " and l.leaveType = com.example.entity.LeaveType.UNPAID"
+	            + " and l.decidedAt > pi.computedAt"
+	            + " and l.startDate <= :monthEnd and l.endDate >= :monthStart))")
+	    List<PayrollItem> findStaleByRunId(@Param("runId") Long runId,
+	                                       @Param("monthStart") LocalDate monthStart,
+	                                       @Param("monthEnd") LocalDate monthEnd);
+
+	    // Report totals of a run, summed in SQL straight into the DTO (no entities loaded)
+	    @Query("select new com.example.dto.PayrollSummaryResponse(count(pi),"
+	            + " coalesce(sum(pi.basicSalary), 0), coalesce(sum(pi.deductions), 0),"
+	            + " coalesce(sum(pi.bonus), 0), coalesce(sum(pi.netSalary), 0))"
+	            + " from PayrollItem pi where pi.run.id = :runId")
+	    PayrollSummaryResponse summarizeByRunId(@Param("runId") Long runId);
+
+	    // Same totals grouped by department, one row per department
+	    @Query("select new com.example.dto.DepartmentCostRow(" + DEPARTMENT_KEY + ", count(pi),"
+	            + " sum(pi.basicSalary), sum(pi.deductions), sum(pi.bonus), sum(pi.netSalary))"
+	            + " from PayrollItem pi join pi.employee e where pi.run.id = :runId"
+	            + " group by " + DEPARTMENT_KEY + " order by " + DEPARTMENT_KEY)
+	    List<DepartmentCostRow> departmentCostByRunId(@Param("runId") Long runId);
+
+	    // Department totals of several runs at once (trend reports): one grouped query per range
+	    @Query("select new com.example.dto.PeriodDepartmentRow(pi.run.id, " + DEPARTMENT_KEY + ", count(pi),"
+	            + " sum(pi.basicSalary), sum(pi.deductions), sum(pi.bonus), sum(pi.netSalary))"
+	            + " from PayrollItem pi join pi.employee e where pi.run.id in :runIds"
+	            + " group by pi.run.id, " + DEPARTMENT_KEY + " order by pi.run.id, " + DEPARTMENT_KEY)
+	    List<PeriodDepartmentRow> departmentCostByRunIds(@Param("runIds") Collection<Long> runIds);
+
+	    // Export rows of a run in employee order from a cursor, as unmanaged projections
+	    // (constant memory); callers must close the stream inside a transaction
+	    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+	    @Query("select new com.example.dto.PayrollExportRow(pi.id, e.id, e.firstName, e.lastName,"
+	            + " e.department, e.designation, pi.basicSalary, pi.deductions, pi.bonus, pi.netSalary, pi.unpaidDays)"
+	            + " from PayrollItem pi join pi.employee e where pi.run.id = :runId order by e.id")
+	    Stream<PayrollExportRow> streamExportRows(@Param("runId") Long runId);
+
+    // Payees of a run in employee order from a cursor (constant memory); callers must close the
+    // stream inside a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.example.dto.BankPaymentRow(e.id, e.firstName, e.lastName,"
+            + " e.bankAccountNumber, e.bankIfsc, pi.netSalary)"
+            + " from PayrollItem pi join pi.employee e where pi.run.id = :runId order by e.id")
+    Stream<BankPaymentRow> streamBankPayments(@Param("runId") Long runId);
+
+	    // Net salaries of a run with their raw grouping columns, from a cursor (distribution reports)
+	    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+	    @Query("select new com.example.dto.NetSalaryRow(e.department, e.designation, pi.netSalary)"
+	            + " from PayrollItem pi join pi.employee e where pi.run.id = :runId")
+	    Stream<NetSalaryRow> streamNetSalaries(@Param("runId") Long runId);
+
+	    // Amounts and grouping columns of a run from a cursor (analytics cube load)
+	    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+	    @Query("select new com.example.dto.PayrollFactRow(e.department, e.designation,"
+	            + " pi.basicSalary, pi.deductions, pi.bonus, pi.netSalary, pi.unpaidDays)"
+	            + " from PayrollItem pi join pi.employee e where pi.run.id = :runId")
+	    Stream<PayrollFactRow> streamFacts(@Param("runId") Long runId);
+
+	    // Net pay of a run in employee id order, from a cursor (merge-joined by the variance report)
+	    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+	    @Query("select new com.example.dto.VarianceItemRow(e.id, e.firstName, e.lastName, e.department, pi.netSalary)"
+	            + " from PayrollItem pi join pi.employee e where pi.run.id = :runId order by e.id")
+	    Stream<VarianceItemRow> streamNetByEmployee(@Param("runId") Long runId);
+
 	    // Convenience delete by runId
 	    @Modifying
 	    @Transactional
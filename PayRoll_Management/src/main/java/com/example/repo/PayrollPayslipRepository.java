@@ -0,0 +1,22 @@
+package com.example.repo;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.entity.PayrollPayslip;
+
+public interface PayrollPayslipRepository extends JpaRepository<PayrollPayslip, Long> {
+
+    @Query("select p from PayrollPayslip p where p.run.id = :runId and p.employeeId = :employeeId")
+    Optional<PayrollPayslip> findByRunIdAndEmployeeId(@Param("runId") Long runId, @Param("employeeId") long employeeId);
+
+    @Modifying
+    @Transactional
+    @Query("delete from PayrollPayslip p where p.run.id = :runId")
+    void deleteByRunId(@Param("runId") Long runId);
+}
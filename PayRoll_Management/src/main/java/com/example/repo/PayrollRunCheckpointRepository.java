@@ -0,0 +1,22 @@
+package com.example.repo;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.entity.PayrollRunCheckpoint;
+
+public interface PayrollRunCheckpointRepository extends JpaRepository<PayrollRunCheckpoint, Long> {
+
+    @Query("select c from PayrollRunCheckpoint c where c.run.id = :runId order by c.fromEmployeeId")
+    List<PayrollRunCheckpoint> findByRunId(@Param("runId") Long runId);
+
+    @Modifying
+    @Transactional
+    @Query("delete from PayrollRunCheckpoint c where c.run.id = :runId")
+    void deleteByRunId(@Param("runId") Long runId);
+}
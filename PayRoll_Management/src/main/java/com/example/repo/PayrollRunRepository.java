@@ -1,12 +1,33 @@
 package com.example.repo;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.example.entity.PayrollRun;
+import com.example.entity.PayrollRunStatus;
 
 public interface PayrollRunRepository extends JpaRepository<PayrollRun, Long> {
     Optional<PayrollRun> findByYearAndMonth(int year, int month);
 
+    List<PayrollRun> findByStatusOrderByYearAscMonthAsc(PayrollRunStatus status);
+
+    // Runs of the months from..to, both as year * 100 + month (e.g. 202501), oldest first
+    @Query("select r from PayrollRun r where r.year * 100 + r.month between :from and :to"
+            + " and r.status in :statuses order by r.year, r.month")
+    List<PayrollRun> findInPeriod(@Param("from") int from, @Param("to") int to,
+                                  @Param("statuses") Collection<PayrollRunStatus> statuses);
+
+    // Guarded status change at the end of processing: never overwrites a run locked in the meantime
+    @Modifying
+    @Transactional
+    @Query("update PayrollRun r set r.status = com.example.entity.PayrollRunStatus.PROCESSED where r.id = :id"
+            + " and r.status in (com.example.entity.PayrollRunStatus.DRAFT, com.example.entity.PayrollRunStatus.PROCESSED)")
+    int markProcessed(@Param("id") Long id);
 }
@@ -0,0 +1,22 @@
+package com.example.repo;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.entity.PayrollRunTotals;
+
+public interface PayrollRunTotalsRepository extends JpaRepository<PayrollRunTotals, Long> {
+
+    @Query("select t from PayrollRunTotals t where t.run.id = :runId")
+    Optional<PayrollRunTotals> findByRunId(@Param("runId") Long runId);
+
+    @Modifying
+    @Transactional
+    @Query("delete from PayrollRunTotals t where t.run.id = :runId")
+    void deleteByRunId(@Param("runId") Long runId);
+}
@@ -0,0 +1,22 @@
+package com.example.repo;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.entity.PayrollSalarySketch;
+
+public interface PayrollSalarySketchRepository extends JpaRepository<PayrollSalarySketch, Long> {
+
+    @Query("select s from PayrollSalarySketch s where s.run.id = :runId order by s.department, s.designation")
+    List<PayrollSalarySketch> findByRunId(@Param("runId") Long runId);
+
+    @Modifying
+    @Transactional
+    @Query("delete from PayrollSalarySketch s where s.run.id = :runId")
+    void deleteByRunId(@Param("runId") Long runId);
+}
@@ -0,0 +1,26 @@
+package com.example.repo;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.dto.RevokedTokenRow;
+import com.example.entity.RevokedToken;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
+
+    // Change feed: unexpired revocations after an id watermark, in id order (one page per call)
+    @Query("select new com.example.dto.RevokedTokenRow(r.id, r.tokenHash, r.digestHi, r.digestLo, r.expiresAt)"
+            + " from RevokedToken r where r.id > :afterId and r.expiresAt > :now order by r.id")
+    List<RevokedTokenRow> feed(@Param("afterId") long afterId, @Param("now") long now, Pageable page);
+
+    @Modifying
+    @Transactional
+    @Query("delete from RevokedToken r where r.expiresAt <= :now")
+    int deleteExpired(@Param("now") long now);
+}
@@ -3,10 +3,16 @@ package com.example.repo;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.example.entity.User;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username); 
 
+    // Enabled flag only, for authenticating requests from token claims
+    @Query("select u.enabled from User u where u.id = :id")
+    Optional<Boolean> findEnabledById(@Param("id") Long id);
+
 }
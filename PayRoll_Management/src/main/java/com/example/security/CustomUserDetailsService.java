@@ -7,6 +7,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -17,7 +18,7 @@ import com.example.repo.UserRepository;
 import lombok.RequiredArgsConstructor;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepo;
 
@@ -45,4 +46,16 @@ public class CustomUserDetailsService implements UserDetailsService {
                 authorities
         );
     }
+
+    // Called by the authentication provider after a login whose hash needs an upgrade (rehash-on-login)
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        User u = userRepo.findByUsername(user.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + user.getUsername()));
+        u.setPassword(newPassword);
+        userRepo.save(u);
+        return org.springframework.security.core.userdetails.User.withUserDetails(user)
+                .password(newPassword)
+                .build();
+    }
 }
@@ -1,17 +1,22 @@
 package com.example.security;
 
 import java.io.IOException;
+import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -23,14 +28,20 @@ public class JwtAuthFilter extends OncePerRequestFilter {
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
     private final TokenBlacklistService blacklist;
+    private final UserStatusCache statusCache;
+    private final boolean principalFromClaims;
 
     @Autowired
     public JwtAuthFilter(JwtService jwtService,
                          UserDetailsService userDetailsService,
-                         TokenBlacklistService blacklist) {
+                         TokenBlacklistService blacklist,
+                         UserStatusCache statusCache,
+                         @Value("${jwt.principalFromClaims:true}") boolean principalFromClaims) {
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
         this.blacklist = blacklist;
+        this.statusCache = statusCache;
+        this.principalFromClaims = principalFromClaims;
     }
 
     @Override
@@ -55,30 +66,45 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             return;
         }
 
-        String username = null;
-        try {
-            // 2) Validate signature/expiry
-            if (jwtService.isValid(token)) {
-                username = jwtService.extractUsername(token);
-            }
-        } catch (Exception e) {
-            // Any parsing/validation problem → continue without authentication
-            filterChain.doFilter(request, response);
-            return;
-        }
+        // 2) Validate signature/expiry: one parse, or none when the token was verified before
+        Claims claims = jwtService.verify(token);
+        String username = claims != null ? claims.getSubject() : null;
 
         // 3) If valid and no auth yet, set authentication
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails user = userDetailsService.loadUserByUsername(username);
+            UsernamePasswordAuthenticationToken auth = authenticate(claims, username);
+            if (auth != null) {
+                auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(auth);
+            }
+        }
 
-            UsernamePasswordAuthenticationToken auth =
-                    new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
-            auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        filterChain.doFilter(request, response);
+    }
 
-            SecurityContextHolder.getContext().setAuthentication(auth);
+    /**
+     * Principal from the token's uid and role claims, checking only the (cached) enabled flag;
+     * tokens without them, or with principalFromClaims off, load the user. Null for disabled users.
+     */
+    private UsernamePasswordAuthenticationToken authenticate(Claims claims, String username) {
+        Long userId = JwtService.userId(claims);
+        Object role = claims.get("role");
+        if (principalFromClaims && userId != null && role != null) {
+            if (!statusCache.isEnabled(userId)) return null;
+            JwtPrincipal principal = new JwtPrincipal(userId, username, role.toString());
+            // IMPORTANT: hasRole('ADMIN') expects authority "ROLE_ADMIN"
+            return new UsernamePasswordAuthenticationToken(principal, null,
+                    List.of(new SimpleGrantedAuthority("ROLE_" + principal.role())));
         }
 
-        filterChain.doFilter(request, response);
+        UserDetails user;
+        try {
+            user = userDetailsService.loadUserByUsername(username);
+        } catch (UsernameNotFoundException ex) {
+            return null;
+        }
+        if (!user.isEnabled()) return null;
+        return new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
     }
 
     // Skip filter for public endpoints (Swagger + Auth + error)
@@ -0,0 +1,12 @@
+package com.example.security;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+/** Principal of a request authenticated from verified token claims; {@link #getName()} is the username. */
+public record JwtPrincipal(Long userId, String username, String role) implements AuthenticatedPrincipal {
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
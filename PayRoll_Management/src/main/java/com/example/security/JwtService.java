@@ -1,107 +1,158 @@
 package com.example.security;
 
 import java.nio.charset.StandardCharsets;
-import java.security.Key;
+import java.time.Clock;
 import java.time.Instant;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.crypto.SecretKey;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import jakarta.validation.constraints.NotNull;
 
+/**
+ * Issues and verifies HS256 tokens. {@link #verify(String)} parses a token once with a shared
+ * parser and keeps the verified claims (at most {@code jwt.claimsCacheSize} tokens, keyed by
+ * {@link TokenDigest}) until the token expires, so repeated requests with the same token skip
+ * the HMAC check and JSON parsing.
+ */
 @Service
 public class JwtService {
 
-    private final Key key;
+    private record Verified(Claims claims, long expiresAtMillis) { }
+
+    private final SecretKey key;
     private final long expiryMinutes;
+    private final JwtParser parser;   // immutable and thread-safe
+    private final Clock clock;
+    private final int cacheSize;
+    private final Map<TokenDigest, Verified> verified = new ConcurrentHashMap<>();
 
+    @Autowired
     public JwtService(@Value("${jwt.secret}") String secret,
-                      @Value("${jwt.expiryMinutes}") long expiryMinutes) {
+                      @Value("${jwt.expiryMinutes}") long expiryMinutes,
+                      @Value("${jwt.claimsCacheSize:10000}") int cacheSize) {
+        this(secret, expiryMinutes, cacheSize, Clock.systemUTC());
+    }
+
+    JwtService(String secret, long expiryMinutes, int cacheSize, Clock clock) {
         // Secret must be >= 32 bytes for HS256
         this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
         this.expiryMinutes = expiryMinutes;
+        this.cacheSize = Math.max(0, cacheSize);
+        this.clock = clock;
+        this.parser = Jwts.parser()
+                .verifyWith(key)
+                .clock(() -> Date.from(clock.instant()))
+                .build();
     }
 
-    public String generateToken(String username, String role) {
-        Instant now = Instant.now();
+    /** Token for the user; {@code uid} and {@code role} let {@link JwtAuthFilter} authenticate without a user lookup. */
+    public String generateToken(Long userId, String username, String role) {
+        Instant now = clock.instant();
         Instant exp = now.plusSeconds(expiryMinutes * 60);
 
         return Jwts.builder()
                 .subject(username)                         // setSubject() → subject()
-                .claims(Map.of("role", role))              // addClaims() → claims()
+                .claims(Map.of("uid", userId, "role", role)) // addClaims() → claims()
                 .issuedAt(Date.from(now))
                 .expiration(Date.from(exp))
                 .signWith(key)                             // in 0.12.x: just pass the Key
                 .compact();
     }
 
+    /**
+     * Verified claims of the token (signature and expiry checked), or null if the token is
+     * invalid or expired. The returned claims are shared between callers and must not be modified.
+     */
+    public Claims verify(String token) {
+        if (token == null || token.isEmpty()) return null;
+        TokenDigest k = cacheSize > 0 ? TokenDigest.of(token) : null;
+        long now = clock.millis();
+        if (k != null) {
+            Verified v = verified.get(k);
+            if (v != null) {
+                if (now < v.expiresAtMillis()) return v.claims();
+                verified.remove(k, v);
+                return null;
+            }
+        }
+
+        Claims claims;
+        try {
+            claims = parser.parseSignedClaims(token).getPayload();
+        } catch (JwtException | IllegalArgumentException ex) {
+            return null;
+        }
+        Date exp = claims.getExpiration();
+        if (k != null && exp != null) {
+            evictIfFull(now);
+            verified.put(k, new Verified(claims, exp.getTime()));
+        }
+        return claims;
+    }
+
     public String extractUsername(String token) {
-        return Jwts.parser()
-                .verifyWith((SecretKey) key)               // parserBuilder().setSigningKey(...) → verifyWith(key)
-                .build()
-                .parseSignedClaims(token)                  // parseClaimsJws() → parseSignedClaims()
-                .getPayload()
-                .getSubject();
+        Claims claims = verify(token);
+        if (claims == null) throw new JwtException("Invalid or expired token");
+        return claims.getSubject();
+    }
+
+    /** The {@code uid} claim, or null for tokens issued without it. */
+    public static Long userId(Claims claims) {
+        Object uid = claims.get("uid");
+        return uid instanceof Number n ? n.longValue() : null;
     }
 
     public String extractRole(String token) {
-        Object r = Jwts.parser()
-                .verifyWith((SecretKey) key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .get("role");
+        Claims claims = verify(token);
+        if (claims == null) throw new JwtException("Invalid or expired token");
+        Object r = claims.get("role");
         return r == null ? null : r.toString();
     }
 
     public boolean isValid(String token) {
-        try {
-            Jwts.parser().verifyWith((SecretKey) key).build().parseSignedClaims(token);
-            return true;
-        } catch (Exception e) {
-            return false;
-        }
+        return verify(token) != null;
     }
 
     // ====== NEW: helpers for logout / diagnostics ======
 
     /** Returns the token's expiration as Instant, or null if not present or token invalid. */
     public Instant getExpiration(String token) {
-        try {
-            Claims claims = Jwts.parser()
-                    .verifyWith((SecretKey) key)
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
-            Date exp = claims.getExpiration();
-            return exp != null ? exp.toInstant() : null;
-        } catch (JwtException ex) {
-            return null;
-        }
+        Claims claims = verify(token);
+        Date exp = claims != null ? claims.getExpiration() : null;
+        return exp != null ? exp.toInstant() : null;
     }
 
     /** Optional: get all claims (returns null if token invalid). */
     public Claims getClaims(@NotNull String token) {
-        try {
-            return Jwts.parser()
-                    .verifyWith((SecretKey) key)
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
-        } catch (JwtException ex) {
-            return null;
-        }
+        return verify(token);
     }
-}
-	 
-	
 
+    int cachedTokens() {
+        return verified.size();
+    }
 
+    /** Drop expired entries; if still full, drop a quarter of the rest (arbitrary ones, O(1) amortised). */
+    private void evictIfFull(long now) {
+        if (verified.size() < cacheSize) return;
+        verified.values().removeIf(v -> v.expiresAtMillis() <= now);
+        int excess = verified.size() - cacheSize * 3 / 4;
+        Iterator<TokenDigest> it = verified.keySet().iterator();
+        while (excess-- > 0 && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.security;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.exception.TooManyRequestsException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Runs password hashing (BCrypt, deliberately slow) for login and registration on its own pool of
+ * {@code auth.hashWorkers} threads with a queue of {@code auth.hashQueue}. A login burst can then
+ * only hold that many request threads; further requests are rejected at once with
+ * {@link TooManyRequestsException} (429, Retry-After {@code auth.hashRetryAfter}) instead of
+ * starving every other endpoint.
+ *
+ * Metrics: {@code auth.hash.queue} and {@code auth.hash.active} (gauges), {@code auth.hash.wait}
+ * (time queued) and {@code auth.hash.time} (time hashing) timers, {@code auth.hash.rejected}.
+ */
+@Component
+public class PasswordHashingExecutor {
+
+    private final ThreadPoolExecutor pool;
+    private final Duration retryAfter;
+    private final Timer waitTimer;
+    private final Timer hashTimer;
+    private final Counter rejected;
+
+    @Autowired
+    public PasswordHashingExecutor(@Value("${auth.hashWorkers:2}") int workers,
+                                   @Value("${auth.hashQueue:64}") int queue,
+                                   @Value("${auth.hashRetryAfter:1s}") Duration retryAfter,
+                                   MeterRegistry registry) {
+        int threads = Math.max(1, workers);
+        AtomicInteger seq = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queue)),
+                r -> {
+                    Thread t = new Thread(r, "password-hash-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        this.retryAfter = retryAfter;
+        this.waitTimer = registry.timer("auth.hash.wait");
+        this.hashTimer = registry.timer("auth.hash.time");
+        this.rejected = registry.counter("auth.hash.rejected");
+        registry.gauge("auth.hash.queue", pool, p -> p.getQueue().size());
+        registry.gauge("auth.hash.active", pool, ThreadPoolExecutor::getActiveCount);
+    }
+
+    /**
+     * Run {@code task} on the hashing pool and wait for it. Exceptions of the task are rethrown
+     * as they are (e.g. BadCredentialsException).
+     *
+     * @throws TooManyRequestsException if the pool and its queue are full
+     */
+    public <T> T run(Supplier<T> task) {
+        long queuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = pool.submit(() -> {
+                long startedAt = System.nanoTime();
+                waitTimer.record(startedAt - queuedAt, TimeUnit.NANOSECONDS);
+                try {
+                    return task.get();
+                } finally {
+                    hashTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            throw new TooManyRequestsException("Too many sign-ins in progress, please retry shortly.", retryAfter);
+        }
+
+        try {
+            return future.get();
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException re) throw re;
+            if (cause instanceof Error err) throw err;
+            throw new IllegalStateException(cause);
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", ex);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+}
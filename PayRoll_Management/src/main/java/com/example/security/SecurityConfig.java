@@ -3,6 +3,7 @@ package com.example.security;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -12,6 +13,7 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -28,11 +30,15 @@ public class SecurityConfig {
 
     private final JwtAuthFilter jwtAuthFilter;           // must be @Component
     private final UserDetailsService userDetailsService; // your CustomUserDetailsService @Service
+    private final UserDetailsPasswordService passwordService; // same bean: stores rehashed passwords
 
     @Autowired
-    public SecurityConfig(JwtAuthFilter jwtAuthFilter, UserDetailsService userDetailsService) {
+    public SecurityConfig(JwtAuthFilter jwtAuthFilter,
+                          UserDetailsService userDetailsService,
+                          UserDetailsPasswordService passwordService) {
         this.jwtAuthFilter = jwtAuthFilter;
         this.userDetailsService = userDetailsService;
+        this.passwordService = passwordService;
     }
 
     @Bean
@@ -60,17 +66,20 @@ public class SecurityConfig {
         return http.build();
     }
 
+    // A successful login with a hash weaker than auth.bcryptStrength re-encodes the password
+    // (upgradeEncoding) and stores it through the UserDetailsPasswordService
     @Bean
-    public AuthenticationManager authenticationManager() {
+    public AuthenticationManager authenticationManager(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
         provider.setUserDetailsService(userDetailsService);
-        provider.setPasswordEncoder(passwordEncoder());
+        provider.setPasswordEncoder(passwordEncoder);
+        provider.setUserDetailsPasswordService(passwordService);
         return new ProviderManager(provider);
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${auth.bcryptStrength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 
     // Dev CORS (adjust origins to your frontend)
@@ -1,42 +1,210 @@
 package com.example.security;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
-import java.util.Iterator;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+/**
+ * Revoked (logged out) tokens until they expire. Tokens are kept as fixed-size entries (a
+ * {@link TokenDigest} plus a 64-bit hash) in time buckets of {@code jwt.revocationBucket} ordered
+ * by expiry. Each bucket has its own Bloom filter, keyed by a cheap non-cryptographic hash, and is
+ * dropped together with it once every token in the bucket has expired, so cleanup never looks at
+ * live entries.
+ *
+ * A check hashes the token once and reads one word of each live bucket's filter; only when a
+ * filter says "maybe" (a revoked token, or about 1% of the others) is the token hashed with
+ * SHA-256 and looked up in that bucket. Buckets should therefore be coarse: a handful over the
+ * token lifetime. A filter that outgrows its capacity is rebuilt, twice the size, from its own
+ * bucket. Checks are lock-free; revocations and cleanup are serialised.
+ */
 @Service
 public class TokenBlacklistService {
 
-    private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+    /** A revoked token: its {@link #hash(String)} for the filter and its digest for the exact check. */
+    private record Revoked(long hash, TokenDigest digest) { }
+
+    /** The tokens expiring before {@code end} (epoch millis, exclusive), and a filter over their hashes. */
+    private static final class Bucket {
+        final long end;
+        final Set<Revoked> entries = ConcurrentHashMap.newKeySet();
+        volatile BloomFilter filter;
+
+        Bucket(long end, int capacity) {
+            this.end = end;
+            this.filter = new BloomFilter(capacity);
+        }
+    }
+
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private final long bucketMillis;
+    private final int bucketCapacity;
+    private final Clock clock;
+
+    // bucket end -> bucket; guarded by writeLock, and published to checks as the live array
+    private final TreeMap<Long, Bucket> buckets = new TreeMap<>();
+    private volatile Bucket[] live = new Bucket[0];
+    private final Object writeLock = new Object();
+    private int revoked; // guarded by writeLock
+
+    @Autowired
+    public TokenBlacklistService(@Value("${jwt.revocationBucket:30m}") Duration bucket,
+                                 @Value("${jwt.revocationCapacity:10000}") int capacity) {
+        this(bucket, capacity, Clock.systemUTC());
+    }
+
+    TokenBlacklistService(Duration bucket, int capacity, Clock clock) {
+        this.bucketMillis = Math.max(1, bucket.toMillis());
+        this.bucketCapacity = Math.max(64, capacity);
+        this.clock = clock;
+    }
 
     public void blacklist(String token, Instant expiresAt) {
         // If exp is null (shouldn’t happen with valid tokens), keep for a short time
-        revoked.put(token, expiresAt != null ? expiresAt : Instant.now().plusSeconds(3600));
+        Instant exp = expiresAt != null ? expiresAt : clock.instant().plusSeconds(3600);
+        add(hash(token), TokenDigest.of(token), exp.toEpochMilli());
+    }
+
+    /**
+     * Adds a revocation by its hash and digest (as replicated from the revocation table).
+     *
+     * @return false if it was already known
+     */
+    boolean add(long hash, TokenDigest digest, long expiresAtMillis) {
+        Revoked r = new Revoked(hash, digest);
+        long end = Math.floorDiv(expiresAtMillis, bucketMillis) * bucketMillis + bucketMillis;
+
+        synchronized (writeLock) {
+            Bucket bucket = buckets.get(end);
+            if (bucket == null) {
+                bucket = new Bucket(end, bucketCapacity);
+                buckets.put(end, bucket);
+                live = buckets.values().toArray(new Bucket[0]);
+            }
+            if (!bucket.entries.add(r)) return false;
+            revoked++;
+            if (bucket.entries.size() > bucket.filter.capacity) {
+                BloomFilter grown = new BloomFilter(bucket.filter.capacity * 2);
+                bucket.entries.forEach(e -> grown.add(e.hash()));
+                bucket.filter = grown;
+            } else {
+                bucket.filter.add(hash);
+            }
+            return true;
+        }
     }
 
     public boolean isBlacklisted(String token) {
-        Instant exp = revoked.get(token);
-        if (exp == null) return false;
-        if (exp.isAfter(Instant.now())) return true;
-        // expired entry → cleanup
-        revoked.remove(token);
+        long h = hash(token);
+        long bits = BloomFilter.bits(h);
+        long now = clock.millis();
+        Revoked r = null;
+        for (Bucket bucket : live) {
+            if (bucket.end <= now || !bucket.filter.mightContain(h, bits)) continue;
+            // rare: revoked, or a false positive
+            if (r == null) r = new Revoked(h, TokenDigest.of(token));
+            if (bucket.entries.contains(r)) return true;
+        }
         return false;
     }
 
-    /** Periodic cleanup of expired entries. Runs every 5 minutes. */
-    @Scheduled(fixedDelay = 5 * 60 * 1000L)
+    /** Drop the buckets (and their filters) whose tokens have all expired. Runs every minute. */
+    @Scheduled(fixedDelay = 60 * 1000L)
     public void cleanup() {
-        Instant now = Instant.now();
-        Iterator<Map.Entry<String, Instant>> it = revoked.entrySet().iterator();
-        while (it.hasNext()) {
-            Map.Entry<String, Instant> e = it.next();
-            if (e.getValue() == null || !e.getValue().isAfter(now)) {
-                it.remove();
-            }
+        Bucket[] current = live;
+        if (current.length == 0 || current[0].end > clock.millis()) return;
+        synchronized (writeLock) {
+            Map<Long, Bucket> expired = buckets.headMap(clock.millis(), true);
+            for (Bucket bucket : expired.values()) revoked -= bucket.entries.size();
+            expired.clear();
+            live = buckets.values().toArray(new Bucket[0]);
+        }
+    }
+
+    /** Revoked tokens not yet dropped. */
+    public int size() {
+        synchronized (writeLock) {
+            return revoked;
+        }
+    }
+
+    /**
+     * A 64-bit multiply-rotate hash of the token's bytes, eight at a time, with a final avalanche
+     * mix; every request pays for it, so it reads words rather than chars. Tokens are ASCII (other
+     * chars only collide). Not collision resistant; a collision only sends a check down the exact
+     * (digest) path.
+     */
+    static long hash(String token) {
+        byte[] b = token.getBytes(StandardCharsets.ISO_8859_1);
+        long h = 0xcbf29ce484222325L ^ b.length;
+        int i = 0;
+        for (; i + 8 <= b.length; i += 8) {
+            h = Long.rotateLeft((h ^ (long) LONGS.get(b, i)) * 0x9e3779b97f4a7c15L, 29);
+        }
+        for (; i < b.length; i++) {
+            h = Long.rotateLeft((h ^ b[i]) * 0x9e3779b97f4a7c15L, 29);
+        }
+        h = (h ^ (h >>> 33)) * 0xff51afd7ed558ccdL;
+        h = (h ^ (h >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return h ^ (h >>> 33);
+    }
+
+    /**
+     * About 1% false positives up to {@code capacity} entries. Blocked: the 7 bits of an entry lie
+     * in one 64-bit word picked by the top bits of the hash (positions from 6-bit slices of the low
+     * bits), so a check is a single memory read. At least 12 bits per entry make up for the
+     * blocking; the word count is rounded up to a power of two.
+     */
+    static final class BloomFilter {
+        private static final int PROBES = 7;
+
+        final int capacity;
+        private final int mask;
+        private final AtomicLongArray words;
+
+        BloomFilter(int capacity) {
+            this.capacity = capacity;
+            int needed = (int) Math.min(1 << 22, (capacity * 12L + 63) / 64);
+            int words = Math.max(1, Integer.highestOneBit(needed * 2 - 1)); // next power of two
+            this.words = new AtomicLongArray(words);
+            this.mask = words - 1;
+        }
+
+        void add(long hash) {
+            words.getAndAccumulate(word(hash), bits(hash), (a, b) -> a | b);
+        }
+
+        boolean mightContain(long hash) {
+            return mightContain(hash, bits(hash));
+        }
+
+        /** With {@code bits} = {@link #bits(long)} of the hash, computed once for several filters. */
+        boolean mightContain(long hash, long bits) {
+            return (words.get(word(hash)) & bits) == bits;
+        }
+
+        private int word(long hash) {
+            return (int) (hash >>> 42) & mask;
+        }
+
+        static long bits(long hash) {
+            long bits = 0;
+            for (int i = 0; i < PROBES; i++) bits |= 1L << (hash >>> (6 * i));
+            return bits;
         }
     }
 }
@@ -0,0 +1,27 @@
+package com.example.security;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Fixed-size stand-in for a token: the first 128 bits of its SHA-256. Used as cache and
+ * revocation key so raw tokens (hundreds of bytes each) are never kept.
+ */
+record TokenDigest(long hi, long lo) {
+
+    // MessageDigest.getInstance costs about as much as hashing a token, so reuse one per thread
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex); // required on every JVM
+        }
+    });
+
+    static TokenDigest of(String token) {
+        ByteBuffer h = ByteBuffer.wrap(SHA256.get().digest(token.getBytes(StandardCharsets.US_ASCII)));
+        return new TokenDigest(h.getLong(), h.getLong());
+    }
+}
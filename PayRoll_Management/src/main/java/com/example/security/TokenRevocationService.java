@@ -0,0 +1,111 @@
+package com.example.security;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.dto.RevokedTokenRow;
+import com.example.entity.RevokedToken;
+import com.example.repo.RevokedTokenRepository;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Revocations shared by every node and kept across restarts. A logout is applied to this node's
+ * {@link TokenBlacklistService} at once and written to the {@link RevokedToken} table; every node
+ * polls that table by id watermark ({@code jwt.revocationPollMillis}) and adds what it has not
+ * seen, so request checks stay in memory. On startup the unexpired revocations are loaded before
+ * requests are served.
+ *
+ * An id is allocated at insert but only visible at commit, so a concurrent logout can become
+ * visible below the watermark; each poll re-reads the last {@code jwt.revocationFeedOverlap} ids
+ * to pick those up (adding a known revocation is a no-op).
+ */
+@Service
+public class TokenRevocationService {
+
+    private final RevokedTokenRepository repo;
+    private final TokenBlacklistService blacklist;
+    private final int batchSize;
+    private final int overlap;
+    private final Clock clock;
+    private long watermark; // guarded by this
+
+    @Autowired
+    public TokenRevocationService(RevokedTokenRepository repo,
+                                  TokenBlacklistService blacklist,
+                                  @Value("${jwt.revocationFeedBatch:1000}") int batchSize,
+                                  @Value("${jwt.revocationFeedOverlap:100}") int overlap) {
+        this(repo, blacklist, batchSize, overlap, Clock.systemUTC());
+    }
+
+    TokenRevocationService(RevokedTokenRepository repo, TokenBlacklistService blacklist,
+                           int batchSize, int overlap, Clock clock) {
+        this.repo = repo;
+        this.blacklist = blacklist;
+        this.batchSize = Math.max(1, batchSize);
+        this.overlap = Math.max(0, overlap);
+        this.clock = clock;
+    }
+
+    /** Revoke a token until it expires, on this node now and on the others at their next poll. */
+    public void revoke(String token, Instant expiresAt) {
+        // If exp is null (shouldn’t happen with valid tokens), keep for a short time
+        long exp = (expiresAt != null ? expiresAt : clock.instant().plusSeconds(3600)).toEpochMilli();
+        long hash = TokenBlacklistService.hash(token);
+        TokenDigest digest = TokenDigest.of(token);
+
+        blacklist.add(hash, digest, exp);
+        try {
+            repo.save(new RevokedToken(digest.hi(), digest.lo(), hash, exp));
+        } catch (DataIntegrityViolationException ex) {
+            // already revoked (logged out twice, possibly on another node)
+        }
+    }
+
+    @PostConstruct
+    void load() {
+        poll();
+    }
+
+    /**
+     * Add the revocations written since the last poll (by any node).
+     *
+     * @return number of revocations new to this node
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocationPollMillis:2000}")
+    public synchronized int poll() {
+        long now = clock.millis();
+        long after = Math.max(0, watermark - overlap);
+        int added = 0;
+        List<RevokedTokenRow> page;
+        do {
+            page = repo.feed(after, now, PageRequest.of(0, batchSize));
+            for (RevokedTokenRow r : page) {
+                TokenDigest digest = new TokenDigest(r.digestHi(), r.digestLo());
+                if (blacklist.add(r.tokenHash(), digest, r.expiresAt())) added++;
+                after = r.id();
+            }
+        } while (page.size() == batchSize);
+        watermark = Math.max(watermark, after);
+        return added;
+    }
+
+    /** Delete expired revocations from the table (any node may do it). Runs every 10 minutes. */
+    @Scheduled(fixedDelay = 10 * 60 * 1000L)
+    public void purgeExpired() {
+        repo.deleteExpired(clock.millis());
+    }
+
+    /** Highest revocation id seen by this node. */
+    public synchronized long watermark() {
+        return watermark;
+    }
+}
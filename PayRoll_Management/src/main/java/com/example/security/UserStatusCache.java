@@ -0,0 +1,110 @@
+package com.example.security;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.repo.UserRepository;
+
+/**
+ * Enabled/disabled flag per user id for {@link JwtAuthFilter}, so authenticating a request from
+ * its token claims needs no query while the flag is cached. {@link #invalidate(Long)} is called
+ * by {@code UserAdminService.updateStatus}, so disabling an account takes effect on the next
+ * request; entries also expire after {@code jwt.statusCacheTtl} to pick up changes made elsewhere.
+ * Unknown (deleted) users count as disabled.
+ */
+@Component
+public class UserStatusCache {
+
+    private record Status(boolean enabled, long loadedAt) { }
+
+    private final UserRepository userRepo;
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LongSupplier ticker;
+    private final Map<Long, Status> statuses = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong(); // see load()
+
+    @Autowired
+    public UserStatusCache(UserRepository userRepo,
+                           @Value("${jwt.statusCacheSize:10000}") int maxEntries,
+                           @Value("${jwt.statusCacheTtl:60s}") Duration ttl) {
+        this(userRepo, maxEntries, ttl, System::nanoTime);
+    }
+
+    UserStatusCache(UserRepository userRepo, int maxEntries, Duration ttl, LongSupplier ticker) {
+        this.userRepo = userRepo;
+        this.maxEntries = Math.max(1, maxEntries);
+        this.ttlNanos = ttl.toNanos();
+        this.ticker = ticker;
+    }
+
+    public boolean isEnabled(Long userId) {
+        Status s = statuses.get(userId);
+        if (s != null && ticker.getAsLong() - s.loadedAt() > ttlNanos) {
+            statuses.remove(userId, s);
+            s = null;
+        }
+        if (s == null) {
+            evictIfFull();
+            s = load(userId);
+        }
+        return s.enabled();
+    }
+
+    /**
+     * Read the flag outside the map (no lock is held during the query, so other lookups never
+     * wait for the database). A value read while an invalidate() ran may be stale: it is
+     * returned to this caller but not kept.
+     */
+    private Status load(Long userId) {
+        long epoch = invalidations.get();
+        Status loaded = new Status(userRepo.findEnabledById(userId).orElse(false), ticker.getAsLong());
+        Status raced = statuses.putIfAbsent(userId, loaded);
+        if (raced != null) return raced;
+        if (invalidations.get() != epoch) statuses.remove(userId, loaded);
+        return loaded;
+    }
+
+    /**
+     * Forget the user's status. When called inside a transaction it is repeated after commit,
+     * so a status read concurrently from the not yet committed state is not kept.
+     */
+    public void invalidate(Long userId) {
+        invalidations.incrementAndGet();
+        statuses.remove(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidations.incrementAndGet();
+                    statuses.remove(userId);
+                }
+            });
+        }
+    }
+
+    int size() {
+        return statuses.size();
+    }
+
+    /** When full, drop a quarter of the entries (arbitrary ones); they are simply reloaded. */
+    private void evictIfFull() {
+        if (statuses.size() < maxEntries) return;
+        int excess = statuses.size() - maxEntries * 3 / 4;
+        Iterator<Long> it = statuses.keySet().iterator();
+        while (excess-- > 0 && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+}
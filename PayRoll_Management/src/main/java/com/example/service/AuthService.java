@@ -17,6 +17,7 @@ import com.example.entity.User;
 import com.example.repo.EmployeeRepository;
 import com.example.repo.UserRepository;
 import com.example.security.JwtService;
+import com.example.security.PasswordHashingExecutor;
 
 @Service
 public class AuthService {
@@ -26,30 +27,34 @@ public class AuthService {
     private final UserRepository userRepository;
     private final EmployeeRepository employeeRepository;
     private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingExecutor hasher;
 
     @Autowired
     public AuthService(AuthenticationManager authenticationManager,
                        JwtService jwtService,
                        UserRepository userRepository,
                        EmployeeRepository employeeRepository,
-                       PasswordEncoder passwordEncoder) {
+                       PasswordEncoder passwordEncoder,
+                       PasswordHashingExecutor hasher) {
         this.authenticationManager = authenticationManager;
         this.jwtService = jwtService;
         this.userRepository = userRepository;
         this.employeeRepository = employeeRepository;
         this.passwordEncoder = passwordEncoder;
+        this.hasher = hasher;
     }
 
     // ------------------ LOGIN (existing) ------------------
+    // BCrypt (and a rehash to a stronger cost, if due) runs on the hashing pool, not the request thread
     public AuthResponse login(AuthRequest req) {
-        Authentication auth = authenticationManager.authenticate(
+        Authentication auth = hasher.run(() -> authenticationManager.authenticate(
             new UsernamePasswordAuthenticationToken(req.getUsername(), req.getPassword())
-        );
+        ));
 
         User u = userRepository.findByUsername(req.getUsername())
             .orElseThrow(() -> new UsernameNotFoundException("User not found: " + req.getUsername()));
 
-        String token = jwtService.generateToken(u.getUsername(), u.getRole().name());
+        String token = jwtService.generateToken(u.getId(), u.getUsername(), u.getRole().name());
 
         return new AuthResponse(token, u.getId(), u.getUsername(), u.getRole().name());
     }
@@ -59,7 +64,8 @@ public class AuthService {
      * Public registration for a new EMPLOYEE user.
      * - Ensures username is unique
      * - Creates User (ROLE_EMPLOYEE) + basic Employee profile
-     * - Authenticates and returns JWT + user info (same shape as login)
+     * - Returns JWT + user info (same shape as login); the password was just set, so it is
+     *   hashed once and not verified again
      */
     public AuthResponse register(RegisterRequest req) {
         // 1) Validate uniqueness of username (add email uniqueness if you need)
@@ -70,7 +76,7 @@ public class AuthService {
         // 2) Create User (EMPLOYEE)
         User u = new User();
         u.setUsername(req.getUsername());
-        u.setPassword(passwordEncoder.encode(req.getPassword()));
+        u.setPassword(hasher.run(() -> passwordEncoder.encode(req.getPassword())));
         u.setEmail(req.getEmail());
         u.setRole(Role.EMPLOYEE);
         u.setEnabled(true);
@@ -87,12 +93,8 @@ public class AuthService {
         // e.setDepartment(...); e.setDesignation(...); e.setBaseSalary(...); // if you want defaults
         employeeRepository.save(e);
 
-        // 4) Auto-login to issue JWT 
-        authenticationManager.authenticate(
-            new UsernamePasswordAuthenticationToken(req.getUsername(), req.getPassword())
-        );
-
-        String token = jwtService.generateToken(u.getUsername(), u.getRole().name());
+        // 4) Issue JWT
+        String token = jwtService.generateToken(u.getId(), u.getUsername(), u.getRole().name());
 
         return new AuthResponse(token, u.getId(), u.getUsername(), u.getRole().name());
     }
@@ -0,0 +1,210 @@
+package com.example.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.dto.BankPaymentRow;
+import com.example.entity.PayrollRun;
+import com.example.entity.PayrollRunStatus;
+import com.example.exception.ConflictException;
+import com.example.exception.ResourceNotFoundException;
+import com.example.repo.PayrollItemRepository;
+import com.example.repo.PayrollRunRepository;
+
+/**
+ * Bulk payment file of a LOCKED run, as ASCII CSV records with CRLF line ends:
+ * <pre>
+ * H,PAYROLL,&lt;yyyy-MM&gt;,&lt;run id&gt;,INR
+ * D,&lt;seq&gt;,&lt;employee id&gt;,&lt;NAME&gt;,&lt;account&gt;,&lt;IFSC&gt;,&lt;amount&gt;
+ * T,&lt;payments&gt;,&lt;total amount&gt;,&lt;skipped&gt;,&lt;sha-256 of the H and D records&gt;
+ * </pre>
+ * Items are read from a cursor and encoded straight into one reusable buffer that is written to
+ * the channel whenever it fills up, so memory does not depend on the size of the run. Items with
+ * a zero net salary or without valid bank details get no D record; the trailer counts them.
+ */
+@Service
+public class BankPaymentService {
+
+    /** Control totals of a written file. */
+    public record BankFileSummary(long payments, long totalPaise, long skipped, String sha256) { }
+
+    static final int NAME_LENGTH = 35;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // longest possible record: fixed fields plus the truncated name
+    private static final int MAX_RECORD = 256;
+
+    private final PayrollRunRepository runRepo;
+    private final PayrollItemRepository itemRepo;
+
+    @Autowired
+    public BankPaymentService(PayrollRunRepository runRepo, PayrollItemRepository itemRepo) {
+        this.runRepo = runRepo;
+        this.itemRepo = itemRepo;
+    }
+
+    /** The run to pay; call before writing anything so errors are still clean 404/409 responses. */
+    public PayrollRun findLockedRun(Long runId) {
+        PayrollRun run = runRepo.findById(runId)
+                .orElseThrow(() -> new ResourceNotFoundException("Run not found: " + runId));
+        if (run.getStatus() != PayrollRunStatus.LOCKED) {
+            throw new ConflictException("Payment files are only generated for LOCKED runs.");
+        }
+        return run;
+    }
+
+    /** Write the payment file of the run to {@code out} (which the caller closes). */
+    @Transactional(readOnly = true)
+    public BankFileSummary write(PayrollRun run, WritableByteChannel out) throws IOException {
+        Records w = new Records(out);
+
+        w.text("H");
+        w.text("PAYROLL");
+        w.text(String.format("%d-%02d", run.getYear(), run.getMonth()));
+        w.number(run.getId());
+        w.text("INR");
+        w.end();
+
+        long payments = 0, total = 0, skipped = 0;
+        try (Stream<BankPaymentRow> rows = itemRepo.streamBankPayments(run.getId())) {
+            Iterator<BankPaymentRow> it = rows.iterator();
+            while (it.hasNext()) {
+                BankPaymentRow r = it.next();
+                long net = r.netSalary() != null ? Money.toPaise(r.netSalary()) : 0;
+                if (net <= 0 || !validAccount(r.bankAccountNumber()) || !validIfsc(r.bankIfsc())) {
+                    skipped++;
+                    continue;
+                }
+                payments++;
+                total = Math.addExact(total, net);
+
+                w.text("D");
+                w.number(payments);
+                w.number(r.employeeId());
+                w.name(r.firstName(), r.lastName());
+                w.text(r.bankAccountNumber());
+                w.text(r.bankIfsc());
+                w.amount(net);
+                w.end();
+            }
+        }
+
+        String sha256 = w.digest();
+        w.text("T");
+        w.number(payments);
+        w.amount(total);
+        w.number(skipped);
+        w.text(sha256);
+        w.end();
+        w.flush();
+        return new BankFileSummary(payments, total, skipped, sha256);
+    }
+
+    static boolean validAccount(String s) {
+        if (s == null || s.length() < 9 || s.length() > 18) return false;
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) < '0' || s.charAt(i) > '9') return false;
+        }
+        return true;
+    }
+
+    /** 4 letters, a zero, then 6 letters or digits. */
+    static boolean validIfsc(String s) {
+        if (s == null || s.length() != 11 || s.charAt(4) != '0') return false;
+        for (int i = 0; i < 11; i++) {
+            char c = s.charAt(i);
+            boolean letter = c >= 'A' && c <= 'Z';
+            if (i < 4 ? !letter : !(letter || (c >= '0' && c <= '9'))) return false;
+        }
+        return true;
+    }
+
+    /** Encodes records into a reusable buffer; bytes are hashed as they are written out until {@link #digest()}. */
+    private static final class Records {
+        private final WritableByteChannel out;
+        private final ByteBuffer buf = ByteBuffer.allocate(BUFFER_SIZE);
+        private final MessageDigest sha;
+        private boolean hashing = true;
+        private boolean firstField = true;
+
+        Records(WritableByteChannel out) {
+            this.out = out;
+            try {
+                this.sha = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException ex) {
+                throw new IllegalStateException(ex); // required on every JVM
+            }
+        }
+
+        private void field() throws IOException {
+            if (firstField) {
+                if (buf.remaining() < MAX_RECORD) flush();
+                firstField = false;
+            } else {
+                buf.put((byte) ',');
+            }
+        }
+
+        /** Pre-validated ASCII without separators. */
+        void text(String s) throws IOException {
+            field();
+            for (int i = 0; i < s.length(); i++) buf.put((byte) s.charAt(i));
+        }
+
+        void number(long v) throws IOException {
+            text(Long.toString(v));
+        }
+
+        /** Paise as rupees with two decimals. */
+        void amount(long paise) throws IOException {
+            field();
+            String rupees = Long.toString(paise / 100);
+            for (int i = 0; i < rupees.length(); i++) buf.put((byte) rupees.charAt(i));
+            buf.put((byte) '.');
+            buf.put((byte) ('0' + paise % 100 / 10));
+            buf.put((byte) ('0' + paise % 10));
+        }
+
+        /** Upper-case A-Z, digits, space, '.' and '-'; anything else becomes a space. Truncated to {@link #NAME_LENGTH}. */
+        void name(String first, String last) throws IOException {
+            field();
+            String s = ((first != null ? first : "") + " " + (last != null ? last : "")).trim();
+            int n = Math.min(s.length(), NAME_LENGTH);
+            for (int i = 0; i < n; i++) {
+                char c = Character.toUpperCase(s.charAt(i));
+                boolean ok = (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == ' ' || c == '.' || c == '-';
+                buf.put((byte) (ok ? c : ' '));
+            }
+        }
+
+        void end() {
+            buf.put((byte) '\r');
+            buf.put((byte) '\n');
+            firstField = true;
+        }
+
+        /** Hex SHA-256 of everything written so far; later records are not hashed. */
+        String digest() throws IOException {
+            flush();
+            hashing = false;
+            return HexFormat.of().formatHex(sha.digest());
+        }
+
+        void flush() throws IOException {
+            buf.flip();
+            if (hashing) sha.update(buf.array(), 0, buf.limit());
+            while (buf.hasRemaining()) out.write(buf);
+            buf.clear();
+        }
+    }
+}
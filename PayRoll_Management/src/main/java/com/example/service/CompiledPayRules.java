@@ -0,0 +1,92 @@
+package com.example.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.example.entity.PayRuleComponent;
+
+/**
+ * Pay rules compiled for one run: each rule is turned into a {@link Term} once, and the terms
+ * that apply to a department/designation pair are collected into a {@link Chain} the first time
+ * that pair is seen; a pair without any deduction rule gets the default deduction instead. Evaluating an employee is then a map lookup plus a few {@code long}
+ * operations on paise (see {@link Money}); nothing is allocated per term.
+ * Immutable apart from the chain cache, so one instance is shared by all chunk threads of a run.
+ */
+public final class CompiledPayRules {
+
+    /** A compiled rule: the amount of its component, in paise, for a basic salary in paise. */
+    @FunctionalInterface
+    interface Term {
+        long apply(long basicPaise);
+    }
+
+    /** A rule with its matching criteria (null = any), already normalised. */
+    record Rule(String name, String department, String designation,
+                PayRuleComponent component, Term term) {
+
+        boolean matches(String dept, String desig) {
+            return (department == null || department.equals(dept))
+                && (designation == null || designation.equals(desig));
+        }
+    }
+
+    /** Deduction and allowance terms applying to one department/designation pair. */
+    static final class Chain {
+        private final Term[] deductions;
+        private final Term[] allowances;
+
+        Chain(Term[] deductions, Term[] allowances) {
+            this.deductions = deductions;
+            this.allowances = allowances;
+        }
+
+        long deductions(long basicPaise) { return sum(deductions, basicPaise); }
+        long allowances(long basicPaise) { return sum(allowances, basicPaise); }
+
+        private static long sum(Term[] terms, long basicPaise) {
+            long total = 0;
+            for (Term t : terms) {
+                total = Math.addExact(total, t.apply(basicPaise));
+            }
+            return total;
+        }
+    }
+
+    private final List<Rule> rules;
+    private final Term defaultDeduction;
+    private final Map<String, Chain> chains = new ConcurrentHashMap<>();
+
+    CompiledPayRules(List<Rule> rules, Term defaultDeduction) {
+        this.rules = List.copyOf(rules);
+        this.defaultDeduction = defaultDeduction;
+    }
+
+    /** The chain for an employee's department and designation, built on first use. */
+    Chain chainFor(String department, String designation) {
+        // raw values as key: no normalisation on the hot path
+        String key = (department == null ? "" : department) + '\u0000' + (designation == null ? "" : designation);
+        return chains.computeIfAbsent(key, k -> build(normalise(department), normalise(designation)));
+    }
+
+    int size() { return rules.size(); }
+
+    private Chain build(String dept, String desig) {
+        List<Term> deductions = new ArrayList<>();
+        List<Term> allowances = new ArrayList<>();
+        for (Rule r : rules) {
+            if (!r.matches(dept, desig)) continue;
+            (r.component() == PayRuleComponent.DEDUCTION ? deductions : allowances).add(r.term());
+        }
+        if (deductions.isEmpty()) deductions.add(defaultDeduction);
+        return new Chain(deductions.toArray(Term[]::new), allowances.toArray(Term[]::new));
+    }
+
+    /** Trimmed, upper-cased; null when blank. */
+    static String normalise(String s) {
+        if (s == null || s.isBlank()) return null;
+        return s.trim().toUpperCase(Locale.ROOT);
+    }
+}
@@ -90,6 +90,8 @@ public class EmployeeService {
         e.setDesignation(data.getDesignation());
         e.setDepartment(data.getDepartment());
         e.setBaseSalary(data.getBaseSalary());
+        e.setBankAccountNumber(data.getBankAccountNumber());
+        e.setBankIfsc(data.getBankIfsc());
 
         return employeeRepo.save(e);
     }
@@ -101,7 +103,8 @@ public class EmployeeService {
      *   "userId": 7,
      *   "firstName": "...", "lastName": "...",
      *   "dob": "1998-03-15", "phone": "...", "address": "...",
-     *   "designation": "...", "department": "...", "baseSalary": 50000
+     *   "designation": "...", "department": "...", "baseSalary": 50000,
+     *   "bankAccountNumber": "012345678901", "bankIfsc": "HDFC0001234"
      * }
      */
     @Transactional
@@ -128,6 +131,8 @@ public class EmployeeService {
         e.setDesignation(req.getDesignation());
         e.setDepartment(req.getDepartment());
         e.setBaseSalary(req.getBaseSalary());
+        e.setBankAccountNumber(req.getBankAccountNumber());
+        e.setBankIfsc(req.getBankIfsc());
 
         return employeeRepo.save(e);
     }
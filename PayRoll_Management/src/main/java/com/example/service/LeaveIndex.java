@@ -0,0 +1,82 @@
+package com.example.service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.example.dto.LeaveInterval;
+
+/**
+ * Unpaid leave days per employee within one month, built once per run from the approved leaves
+ * overlapping that month. Intervals are clipped to the month and overlapping or adjacent ones of
+ * the same employee are merged, so a day is never counted twice. Lookups are a single hash probe.
+ */
+public final class LeaveIndex {
+
+    private record Clip(long employeeId, int from, int to) { }
+
+    public static final LeaveIndex EMPTY = new LeaveIndex(Map.of(), 30);
+
+    private final Map<Long, Integer> unpaidDays;
+    private final int daysInMonth;
+
+    private LeaveIndex(Map<Long, Integer> unpaidDays, int daysInMonth) {
+        this.unpaidDays = unpaidDays;
+        this.daysInMonth = daysInMonth;
+    }
+
+    public static LeaveIndex build(YearMonth month, List<LeaveInterval> leaves) {
+        int first = 1;
+        int last = month.lengthOfMonth();
+        LocalDate monthStart = month.atDay(first);
+        LocalDate monthEnd = month.atEndOfMonth();
+
+        // clip to the month as day-of-month ranges, then sort by employee and start day
+        List<Clip> clips = new ArrayList<>(leaves.size());
+        for (LeaveInterval l : leaves) {
+            if (l.employeeId() == null || l.startDate() == null || l.endDate() == null) continue;
+            if (l.endDate().isBefore(monthStart) || l.startDate().isAfter(monthEnd)) continue;
+            int from = l.startDate().isBefore(monthStart) ? first : l.startDate().getDayOfMonth();
+            int to = l.endDate().isAfter(monthEnd) ? last : l.endDate().getDayOfMonth();
+            if (from <= to) clips.add(new Clip(l.employeeId(), from, to));
+        }
+        clips.sort(Comparator.comparingLong(Clip::employeeId).thenComparingInt(Clip::from));
+
+        // one pass: merge overlapping/adjacent ranges per employee and sum their lengths
+        Map<Long, Integer> days = new HashMap<>();
+        int i = 0;
+        while (i < clips.size()) {
+            long emp = clips.get(i).employeeId();
+            int total = 0;
+            int from = clips.get(i).from();
+            int to = clips.get(i).to();
+            for (i++; i < clips.size() && clips.get(i).employeeId() == emp; i++) {
+                Clip c = clips.get(i);
+                if (c.from() <= to + 1) {
+                    to = Math.max(to, c.to());
+                } else {
+                    total += to - from + 1;
+                    from = c.from();
+                    to = c.to();
+                }
+            }
+            days.put(emp, total + (to - from + 1));
+        }
+        return new LeaveIndex(days, last);
+    }
+
+    /** Unpaid leave days of the employee in the month (0 if none). */
+    public int unpaidDays(Long employeeId) {
+        if (employeeId == null) return 0;
+        Integer d = unpaidDays.get(employeeId);
+        return d == null ? 0 : d;
+    }
+
+    public int daysInMonth() { return daysInMonth; }
+
+    public int size() { return unpaidDays.size(); }
+}
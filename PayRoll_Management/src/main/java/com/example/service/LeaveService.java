@@ -1,6 +1,7 @@
 package com.example.service;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -46,10 +47,14 @@ public class LeaveService {
         return leaveRepo.findByStatus(status);
     }
 
-    /** Admin: approve or reject a leave. */
+    /**
+     * Admin: approve or reject a leave (or take back an approval). A real change is stamped with
+     * decidedAt, so re-processing picks up payroll items computed before the decision.
+     */
     public LeaveRequest setStatus(Long leaveId, LeaveStatus newStatus) {
         LeaveRequest lr = leaveRepo.findById(leaveId)
                 .orElseThrow(() -> new RuntimeException("Leave not found: " + leaveId));
+        if (lr.getStatus() != newStatus) lr.setDecidedAt(LocalDateTime.now());
         lr.setStatus(newStatus);              // <-- works because entity has setStatus(...)
         return leaveRepo.save(lr);
     }
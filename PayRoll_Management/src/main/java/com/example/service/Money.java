@@ -0,0 +1,59 @@
+package com.example.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point money arithmetic in {@code long} paise (1/100 rupee), used by the payroll and
+ * report hot loops instead of allocating BigDecimals per employee. Amounts are converted to and
+ * from BigDecimal only at the persistence/JSON boundary.
+ *
+ * Rounding rules, identical to the BigDecimal path they replace:
+ * <ul>
+ *   <li>{@link #toPaise}: amounts with more than 2 decimals are rounded HALF_UP to paise
+ *       (as the {@code scale = 2} columns do);</li>
+ *   <li>percentages are held in ppm (parts per million, 4 decimals of a percent: 5% = 50_000);</li>
+ *   <li>{@link #percentOf} / {@link #fraction}: exact product, then one HALF_UP rounding to paise.</li>
+ * </ul>
+ * Overflow throws {@link ArithmeticException} rather than wrapping.
+ */
+public final class Money {
+
+    /** ppm per whole (100%). */
+    public static final long PPM = 1_000_000L;
+
+    private Money() {}
+
+    /** Amount in paise; null counts as zero. */
+    public static long toPaise(BigDecimal amount) {
+        if (amount == null) return 0L;
+        // setScale is a no-op for DB values (scale 2); movePointRight keeps the compact long form
+        return amount.setScale(2, RoundingMode.HALF_UP).movePointRight(2).longValueExact();
+    }
+
+    /** Paise as a rupee amount with scale 2. */
+    public static BigDecimal toRupees(long paise) {
+        return BigDecimal.valueOf(paise, 2);
+    }
+
+    /** A percentage (e.g. 12.5 for 12.5%) in ppm, rounded HALF_UP to 4 decimals of a percent. */
+    public static long percentToPpm(BigDecimal percent) {
+        return percent.setScale(4, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /** {@code paise * numerator / denominator}, rounded HALF_UP to whole paise. */
+    public static long fraction(long paise, long numerator, long denominator) {
+        long product = Math.multiplyExact(paise, numerator);
+        long q = product / denominator;
+        long r = product % denominator;
+        if (Math.abs(r) * 2 >= denominator) {
+            q += Long.signum(product);
+        }
+        return q;
+    }
+
+    /** {@code ppm} of {@code paise}, rounded HALF_UP (away from zero on .5) to whole paise. */
+    public static long percentOf(long paise, long ppm) {
+        return fraction(paise, ppm, PPM);
+    }
+}
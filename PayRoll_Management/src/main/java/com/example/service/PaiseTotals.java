@@ -0,0 +1,45 @@
+package com.example.service;
+
+import com.example.dto.DepartmentCostRow;
+import com.example.dto.PayrollSummaryResponse;
+
+/** Running payroll totals in paise (simulations); converted to BigDecimal once per report row. */
+final class PaiseTotals {
+
+    int count;
+    long basic;
+    long deductions;
+    long bonus;
+    long net;
+
+    void add(PayAmounts a) {
+        count++;
+        basic = Math.addExact(basic, a.basic);
+        deductions = Math.addExact(deductions, a.deductions);
+        bonus = Math.addExact(bonus, a.bonus);
+        net = Math.addExact(net, a.net);
+    }
+
+    PayrollSummaryResponse toSummary(int year, int month) {
+        PayrollSummaryResponse res = new PayrollSummaryResponse();
+        res.setYear(year);
+        res.setMonth(month);
+        res.setEmployeeCount(count);
+        res.setTotalBasic(Money.toRupees(basic));
+        res.setTotalDeductions(Money.toRupees(deductions));
+        res.setTotalBonus(Money.toRupees(bonus));
+        res.setTotalNet(Money.toRupees(net));
+        return res;
+    }
+
+    DepartmentCostRow toRow(String department) {
+        DepartmentCostRow r = new DepartmentCostRow();
+        r.setDepartment(department);
+        r.setEmployeeCount(count);
+        r.setTotalBasic(Money.toRupees(basic));
+        r.setTotalDeductions(Money.toRupees(deductions));
+        r.setTotalBonus(Money.toRupees(bonus));
+        r.setTotalNet(Money.toRupees(net));
+        return r;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.service;
+
+/** Amounts of one employee's payroll item in paise; a reusable holder filled by the calculator. */
+public final class PayAmounts {
+
+    long basic;
+    int unpaidDays;
+    long lossOfPay;     // included in deductions
+    long deductions;
+    long deductionShortfall; // deductions not taken because they exceeded basic + allowances
+    long bonus;
+    long net;
+
+    public long getBasic() { return basic; }
+    public int getUnpaidDays() { return unpaidDays; }
+    public long getLossOfPay() { return lossOfPay; }
+    public long getDeductions() { return deductions; }
+    public long getDeductionShortfall() { return deductionShortfall; }
+    public long getBonus() { return bonus; }
+    public long getNet() { return net; }
+}
@@ -0,0 +1,99 @@
+package com.example.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.example.entity.PayRule;
+import com.example.entity.PayRuleComponent;
+import com.example.entity.PayRuleKind;
+import com.example.exception.BadRequestException;
+import com.example.repo.PayRuleRepository;
+import com.example.service.CompiledPayRules.Rule;
+import com.example.service.CompiledPayRules.Term;
+
+/**
+ * Turns the pay rules stored in the database into {@link CompiledPayRules}. Rules are read and
+ * validated once per run; every rule becomes a lambda so evaluation needs no re-parsing.
+ * An employee whom no active DEDUCTION rule matches gets the original default, a 5% deduction,
+ * so a single allowance rule does not silently drop it; a 0% deduction rule opts out.
+ */
+@Component
+public class PayRuleEngine {
+
+    static final BigDecimal DEFAULT_DEDUCTION_PERCENT = new BigDecimal("5");
+    private static final BigDecimal HUNDRED = new BigDecimal("100");
+
+    private final PayRuleRepository ruleRepo;
+
+    @Autowired
+    public PayRuleEngine(PayRuleRepository ruleRepo) {
+        this.ruleRepo = ruleRepo;
+    }
+
+    /** Load and compile the active rules. */
+    public CompiledPayRules compile() {
+        return compile(ruleRepo.findByActiveTrueOrderByPriorityAscIdAsc());
+    }
+
+    /** Compile the given rules (in application order), with the default deduction as fallback. */
+    public static CompiledPayRules compile(List<PayRule> rules) {
+        List<Rule> compiled = new ArrayList<>(rules.size());
+        for (PayRule r : rules) {
+            validate(r);
+            compiled.add(new Rule(r.getName(),
+                    CompiledPayRules.normalise(r.getDepartment()),
+                    CompiledPayRules.normalise(r.getDesignation()),
+                    r.getComponent(),
+                    term(r)));
+        }
+        return new CompiledPayRules(compiled, term(defaultRule()));
+    }
+
+    /** Reject rules that cannot be compiled. */
+    public static void validate(PayRule r) {
+        String name = r.getName() == null ? "(unnamed)" : r.getName();
+        if (r.getName() == null || r.getName().isBlank()) {
+            throw new BadRequestException("Pay rule name is required");
+        }
+        if (r.getComponent() == null || r.getKind() == null) {
+            throw new BadRequestException("Pay rule " + name + ": component and kind are required");
+        }
+        if (r.getAmount() == null || r.getAmount().signum() < 0) {
+            throw new BadRequestException("Pay rule " + name + ": amount must be zero or positive");
+        }
+        if (r.getKind() == PayRuleKind.PERCENT_OF_BASIC && r.getAmount().compareTo(HUNDRED) > 0) {
+            throw new BadRequestException("Pay rule " + name + ": percentage must not exceed 100");
+        }
+        if (r.getCap() != null && r.getCap().signum() < 0) {
+            throw new BadRequestException("Pay rule " + name + ": cap must be zero or positive");
+        }
+    }
+
+    private static Term term(PayRule r) {
+        switch (r.getKind()) {
+            case FIXED: {
+                long fixed = Money.toPaise(r.getAmount());
+                return basic -> fixed;
+            }
+            case PERCENT_OF_BASIC: {
+                long ppm = Money.percentToPpm(r.getAmount());
+                if (r.getCap() == null) {
+                    return basic -> Money.percentOf(basic, ppm);
+                }
+                long cap = Money.toPaise(r.getCap());
+                return basic -> Math.min(Money.percentOf(basic, ppm), cap);
+            }
+            default:
+                throw new BadRequestException("Unsupported pay rule kind: " + r.getKind());
+        }
+    }
+
+    static PayRule defaultRule() {
+        return new PayRule("Default deduction", PayRuleComponent.DEDUCTION,
+                PayRuleKind.PERCENT_OF_BASIC, DEFAULT_DEDUCTION_PERCENT);
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.service;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.entity.PayRule;
+import com.example.exception.ResourceNotFoundException;
+import com.example.repo.PayRuleRepository;
+
+/** CRUD for pay rules. Changes apply to runs processed afterwards; rules are compiled per run. */
+@Service
+public class PayRuleService {
+
+    private final PayRuleRepository ruleRepo;
+
+    @Autowired
+    public PayRuleService(PayRuleRepository ruleRepo) {
+        this.ruleRepo = ruleRepo;
+    }
+
+    public List<PayRule> listAll() {
+        return ruleRepo.findAllByOrderByPriorityAscIdAsc();
+    }
+
+    @Transactional
+    public PayRule create(PayRule rule) {
+        rule.setId(null);
+        PayRuleEngine.validate(rule);
+        return ruleRepo.save(rule);
+    }
+
+    @Transactional
+    public PayRule update(Long id, PayRule in) {
+        PayRule rule = ruleRepo.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Pay rule not found: " + id));
+        rule.setName(in.getName());
+        rule.setDepartment(in.getDepartment());
+        rule.setDesignation(in.getDesignation());
+        rule.setComponent(in.getComponent());
+        rule.setKind(in.getKind());
+        rule.setAmount(in.getAmount());
+        rule.setCap(in.getCap());
+        rule.setPriority(in.getPriority());
+        rule.setActive(in.isActive());
+        PayRuleEngine.validate(rule);
+        return ruleRepo.save(rule);
+    }
+
+    @Transactional
+    public void delete(Long id) {
+        if (!ruleRepo.existsById(id)) {
+            throw new ResourceNotFoundException("Pay rule not found: " + id);
+        }
+        ruleRepo.deleteById(id);
+    }
+}
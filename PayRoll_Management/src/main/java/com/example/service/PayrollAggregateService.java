@@ -0,0 +1,170 @@
+package com.example.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.dto.DepartmentCostRow;
+import com.example.dto.PayrollAggregateCheck;
+import com.example.dto.PayrollSummaryResponse;
+import com.example.entity.PayrollDepartmentTotals;
+import com.example.entity.PayrollRun;
+import com.example.entity.PayrollRunTotals;
+import com.example.repo.PayrollDepartmentTotalsRepository;
+import com.example.repo.PayrollItemRepository;
+import com.example.repo.PayrollRunRepository;
+import com.example.repo.PayrollRunTotalsRepository;
+
+/**
+ * Maintains the materialised report aggregates of a run ({@link PayrollRunTotals} and one
+ * {@link PayrollDepartmentTotals} per department). They are rebuilt for one run at a time, from a
+ * single grouped query, whenever that run's items change; reports then read a handful of rows
+ * instead of aggregating the items on every request.
+ */
+@Service
+public class PayrollAggregateService {
+
+    private final PayrollRunRepository runRepo;
+    private final PayrollItemRepository itemRepo;
+    private final PayrollRunTotalsRepository totalsRepo;
+    private final PayrollDepartmentTotalsRepository deptRepo;
+
+    @Autowired
+    public PayrollAggregateService(PayrollRunRepository runRepo,
+                                   PayrollItemRepository itemRepo,
+                                   PayrollRunTotalsRepository totalsRepo,
+                                   PayrollDepartmentTotalsRepository deptRepo) {
+        this.runRepo = runRepo;
+        this.itemRepo = itemRepo;
+        this.totalsRepo = totalsRepo;
+        this.deptRepo = deptRepo;
+    }
+
+    /** Rebuild the aggregates of a run from its items; the run totals are the sum of the departments. */
+    @Transactional
+    public void refresh(Long runId) {
+        PayrollRun run = runRepo.getReferenceById(runId);
+        List<DepartmentCostRow> rows = itemRepo.departmentCostByRunId(runId);
+
+        deptRepo.deleteByRunId(runId);
+        totalsRepo.deleteByRunId(runId);
+
+        PayrollRunTotals totals = new PayrollRunTotals(run);
+        List<PayrollDepartmentTotals> depts = new ArrayList<>(rows.size());
+        for (DepartmentCostRow r : rows) {
+            PayrollDepartmentTotals d = new PayrollDepartmentTotals(run, r.getDepartment());
+            d.setEmployeeCount(r.getEmployeeCount());
+            d.setTotalBasic(r.getTotalBasic());
+            d.setTotalDeductions(r.getTotalDeductions());
+            d.setTotalBonus(r.getTotalBonus());
+            d.setTotalNet(r.getTotalNet());
+            depts.add(d);
+
+            totals.setEmployeeCount(totals.getEmployeeCount() + r.getEmployeeCount());
+            totals.setTotalBasic(totals.getTotalBasic().add(r.getTotalBasic()));
+            totals.setTotalDeductions(totals.getTotalDeductions().add(r.getTotalDeductions()));
+            totals.setTotalBonus(totals.getTotalBonus().add(r.getTotalBonus()));
+            totals.setTotalNet(totals.getTotalNet().add(r.getTotalNet()));
+        }
+        deptRepo.saveAll(depts);
+        totalsRepo.save(totals);
+    }
+
+    @Transactional
+    public void delete(Long runId) {
+        deptRepo.deleteByRunId(runId);
+        totalsRepo.deleteByRunId(runId);
+    }
+
+    /** Materialised summary of a run, if it has been aggregated. */
+    public Optional<PayrollSummaryResponse> summary(PayrollRun run) {
+        return totalsRepo.findByRunId(run.getId()).map(t -> {
+            PayrollSummaryResponse res = new PayrollSummaryResponse();
+            res.setYear(run.getYear());
+            res.setMonth(run.getMonth());
+            res.setEmployeeCount(t.getEmployeeCount());
+            res.setTotalBasic(t.getTotalBasic());
+            res.setTotalDeductions(t.getTotalDeductions());
+            res.setTotalBonus(t.getTotalBonus());
+            res.setTotalNet(t.getTotalNet());
+            return res;
+        });
+    }
+
+    /** Materialised department rows of a run, if it has been aggregated. */
+    public Optional<List<DepartmentCostRow>> departmentCost(PayrollRun run) {
+        if (totalsRepo.findByRunId(run.getId()).isEmpty()) return Optional.empty();
+        return Optional.of(deptRepo.findRowsByRunId(run.getId()));
+    }
+
+    /**
+     * Compare the materialised aggregates of a run with a full recompute from its items.
+     * With {@code repair}, inconsistent aggregates are rebuilt.
+     */
+    @Transactional
+    public PayrollAggregateCheck check(PayrollRun run, boolean repair) {
+        List<String> diffs = new ArrayList<>();
+
+        PayrollSummaryResponse live = itemRepo.summarizeByRunId(run.getId());
+        Optional<PayrollRunTotals> stored = totalsRepo.findByRunId(run.getId());
+        if (stored.isEmpty()) {
+            diffs.add("run totals: missing");
+        } else {
+            PayrollRunTotals t = stored.get();
+            if (t.getEmployeeCount() != live.getEmployeeCount()) {
+                diffs.add("run employeeCount: stored " + t.getEmployeeCount() + ", recomputed " + live.getEmployeeCount());
+            }
+            compare(diffs, "run totalBasic", t.getTotalBasic(), live.getTotalBasic());
+            compare(diffs, "run totalDeductions", t.getTotalDeductions(), live.getTotalDeductions());
+            compare(diffs, "run totalBonus", t.getTotalBonus(), live.getTotalBonus());
+            compare(diffs, "run totalNet", t.getTotalNet(), live.getTotalNet());
+        }
+
+        Map<String, DepartmentCostRow> storedRows = byDepartment(deptRepo.findRowsByRunId(run.getId()));
+        for (DepartmentCostRow l : itemRepo.departmentCostByRunId(run.getId())) {
+            DepartmentCostRow s = storedRows.remove(l.getDepartment());
+            String d = "department " + l.getDepartment();
+            if (s == null) {
+                diffs.add(d + ": missing");
+                continue;
+            }
+            if (s.getEmployeeCount() != l.getEmployeeCount()) {
+                diffs.add(d + " employeeCount: stored " + s.getEmployeeCount() + ", recomputed " + l.getEmployeeCount());
+            }
+            compare(diffs, d + " totalBasic", s.getTotalBasic(), l.getTotalBasic());
+            compare(diffs, d + " totalDeductions", s.getTotalDeductions(), l.getTotalDeductions());
+            compare(diffs, d + " totalBonus", s.getTotalBonus(), l.getTotalBonus());
+            compare(diffs, d + " totalNet", s.getTotalNet(), l.getTotalNet());
+        }
+        for (String extra : storedRows.keySet()) {
+            diffs.add("department " + extra + ": no longer has items");
+        }
+
+        boolean repaired = false;
+        if (repair && !diffs.isEmpty()) {
+            refresh(run.getId());
+            repaired = true;
+        }
+        return new PayrollAggregateCheck(run.getId(), run.getYear(), run.getMonth(), diffs, repaired);
+    }
+
+    private static Map<String, DepartmentCostRow> byDepartment(List<DepartmentCostRow> rows) {
+        Map<String, DepartmentCostRow> map = new LinkedHashMap<>();
+        for (DepartmentCostRow r : rows) map.put(r.getDepartment(), r);
+        return map;
+    }
+
+    private static void compare(List<String> diffs, String what, BigDecimal stored, BigDecimal live) {
+        BigDecimal l = live != null ? live : BigDecimal.ZERO;
+        if (stored.compareTo(l) != 0) {
+            diffs.add(what + ": stored " + stored + ", recomputed " + l);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.service;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.example.entity.Employee;
+import com.example.entity.LeaveStatus;
+import com.example.entity.LeaveType;
+import com.example.entity.PayrollItem;
+import com.example.entity.PayrollRun;
+import com.example.repo.LeaveRequestRepository;
+
+/**
+ * Computes payroll items; shared by run processing, incremental re-processing and simulation.
+ * Everything a run needs besides the employee is prepared once per run ({@link #forRun}): the
+ * compiled pay rules and an index of approved unpaid leave in the run's month. The resulting
+ * {@link RunCalculator} is then used for every employee of that run.
+ */
+@Component
+public class PayrollCalculator {
+
+    private final PayRuleEngine ruleEngine;
+    private final LeaveRequestRepository leaveRepo;
+
+    @Autowired
+    public PayrollCalculator(PayRuleEngine ruleEngine, LeaveRequestRepository leaveRepo) {
+        this.ruleEngine = ruleEngine;
+        this.leaveRepo = leaveRepo;
+    }
+
+    /** Compile the current pay rules and index the unpaid leave of the run's month. */
+    public RunCalculator forRun(PayrollRun run) {
+        YearMonth month = YearMonth.of(run.getYear(), run.getMonth());
+        LeaveIndex leaves = LeaveIndex.build(month, leaveRepo.findIntervalsOverlapping(
+                LeaveStatus.APPROVED, List.of(LeaveType.UNPAID), month.atDay(1), month.atEndOfMonth()));
+        return new RunCalculator(ruleEngine.compile(), leaves);
+    }
+
+    /** Calculator bound to one run's compiled rules and leave index; thread-safe. */
+    public static class RunCalculator {
+
+        private final CompiledPayRules rules;
+        private final LeaveIndex leaves;
+
+        public RunCalculator(CompiledPayRules rules) {
+            this(rules, LeaveIndex.EMPTY);
+        }
+
+        public RunCalculator(CompiledPayRules rules, LeaveIndex leaves) {
+            this.rules = rules;
+            this.leaves = leaves;
+        }
+
+        /**
+         * Computed in paise and converted to BigDecimal only when set on the item.
+         * Stamps the item with the computation time.
+         */
+        public void compute(PayrollItem item, Employee e) {
+            PayAmounts a = new PayAmounts();
+            compute(e.getId(), e.getDepartment(), e.getDesignation(), Money.toPaise(e.getBaseSalary()), a);
+
+            item.setBasicSalary(Money.toRupees(a.basic));
+            item.setBonus(Money.toRupees(a.bonus));
+            item.setDeductions(Money.toRupees(a.deductions));
+            item.setNetSalary(Money.toRupees(a.net));
+            item.setDeductionShortfall(Money.toRupees(a.deductionShortfall));
+            item.setUnpaidDays(a.unpaidDays);
+            item.setComputedAt(LocalDateTime.now());
+        }
+
+        /**
+         * Same calculation without an entity: fills {@code out} (in paise), allocating nothing.
+         * Loss of pay = basic * unpaid days / days in month; the pay rules apply to the earned
+         * basic (basic - loss of pay), and loss of pay is added to the deductions:
+         * net = basic + allowances - deductions. Deductions are capped at basic + allowances so
+         * net never goes negative; what could not be deducted is the deduction shortfall.
+         */
+        public void compute(Long employeeId, String department, String designation, long basicPaise, PayAmounts out) {
+            int unpaid = leaves.unpaidDays(employeeId);
+            long lossOfPay = unpaid == 0 ? 0 : Money.fraction(basicPaise, unpaid, leaves.daysInMonth());
+            long earned = basicPaise - lossOfPay;
+
+            CompiledPayRules.Chain chain = rules.chainFor(department, designation);
+            out.basic = basicPaise;
+            out.unpaidDays = unpaid;
+            out.lossOfPay = lossOfPay;
+            out.bonus = chain.allowances(earned);
+            long gross = Math.addExact(basicPaise, out.bonus);
+            long due = Math.addExact(chain.deductions(earned), lossOfPay);
+            out.deductions = Math.min(due, Math.max(0, gross));
+            out.deductionShortfall = due - out.deductions;
+            out.net = gross - out.deductions;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.config.PayrollProperties;
+import com.example.entity.Employee;
+import com.example.entity.PayrollItem;
+import com.example.entity.PayrollRun;
+import com.example.entity.PayrollRunCheckpoint;
+import com.example.repo.EmployeeRepository;
+import com.example.repo.PayrollItemRepository;
+import com.example.repo.PayrollRunCheckpointRepository;
+import com.example.repo.PayrollRunRepository;
+import com.example.service.PayrollCalculator.RunCalculator;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Computes the payroll items of one chunk (a range of employee ids) of a run.
+ * Each call commits in its own transaction so chunks can run on different threads,
+ * together with a {@link PayrollRunCheckpoint} marking the chunk as done.
+ */
+@Service
+public class PayrollChunkProcessor {
+
+    /** Outcome of one chunk: employees read and items written. */
+    public record ChunkResult(long fromId, long toId, int scanned, int written) { }
+
+    private final PayrollRunRepository runRepo;
+    private final EmployeeRepository empRepo;
+    private final PayrollItemRepository itemRepo;
+    private final PayrollRunCheckpointRepository checkpointRepo;
+    private final PayrollProperties props;
+    private final EntityManager em;
+
+    @Autowired
+    public PayrollChunkProcessor(PayrollRunRepository runRepo,
+                                 EmployeeRepository empRepo,
+                                 PayrollItemRepository itemRepo,
+                                 PayrollRunCheckpointRepository checkpointRepo,
+                                 PayrollProperties props,
+                                 EntityManager em) {
+        this.runRepo = runRepo;
+        this.empRepo = empRepo;
+        this.itemRepo = itemRepo;
+        this.checkpointRepo = checkpointRepo;
+        this.props = props;
+        this.em = em;
+    }
+
+    /**
+     * Create the missing items for employees with fromId <= id <= toId.
+     * Employees are streamed from a cursor and the persistence context is cleared after every
+     * batch, so memory stays flat regardless of chunk size. Employees that already have an item
+     * are skipped (idempotent); new items are written in batches of {@code payroll.batch-size}.
+     * Amounts come from {@code calculator}, compiled once for the whole run.
+     *
+     * @return employees read and items written
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public ChunkResult processChunk(Long runId, long fromId, long toId, RunCalculator calculator) {
+        PayrollRun run = runRepo.getReferenceById(runId);
+
+        // one query for the "already has an item" check instead of one per employee
+        Set<Long> existing = itemRepo.findEmployeeIdsByRunIdInRange(runId, fromId, toId);
+        int batchSize = Math.max(1, props.getBatchSize());
+
+        int scanned = 0;
+        int written = 0;
+        List<PayrollItem> batch = new ArrayList<>(batchSize);
+        try (Stream<Employee> employees = empRepo.streamChunk(fromId, toId)) {
+            Iterator<Employee> it = employees.iterator();
+            while (it.hasNext()) {
+                Employee e = it.next();
+                scanned++;
+                if (existing.contains(e.getId())) {
+                    continue; // one item per employee per run
+                }
+                batch.add(buildItem(run, e, calculator));
+                if (batch.size() >= batchSize) {
+                    written += writeBatch(batch);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+        }
+        written += writeBatch(batch);
+
+        // committed atomically with the items: a resumed run skips this chunk
+        checkpointRepo.save(new PayrollRunCheckpoint(run, fromId, toId, scanned, written));
+        return new ChunkResult(fromId, toId, scanned, written);
+    }
+
+    PayrollItem buildItem(PayrollRun run, Employee e, RunCalculator calculator) {
+        PayrollItem item = new PayrollItem();
+        item.setRun(run);
+        item.setEmployee(e);
+        calculator.compute(item, e);
+        return item;
+    }
+
+    /**
+     * Persist and flush one batch so Hibernate sends it as a JDBC batch, then detach everything
+     * (items and the employees read so far) so the persistence context does not grow with the run.
+     */
+    private int writeBatch(List<PayrollItem> batch) {
+        if (batch.isEmpty()) return 0;
+        itemRepo.saveAll(batch);
+        itemRepo.flush();
+        em.clear();
+        return batch.size();
+    }
+}
@@ -0,0 +1,375 @@
+package com.example.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.dto.PayrollFactRow;
+import com.example.dto.PivotRequest;
+import com.example.dto.PivotResponse;
+import com.example.dto.PivotRow;
+import com.example.entity.PayrollRun;
+import com.example.exception.BadRequestException;
+
+/**
+ * In-memory columnar copy of the items of all LOCKED runs, for ad-hoc pivots
+ * (group by department / designation / year / period, filter, aggregate).
+ *
+ * Each locked run is one immutable segment: department and designation as int codes into
+ * dictionaries shared by all segments, and one {@code long[]} column per measure (money in paise).
+ * A pivot is a single pass over the primitive arrays of the matching segments, accumulating into
+ * dense per-cell arrays, so years of history take milliseconds. Memory is about 48 bytes per item.
+ *
+ * Segments are loaded lazily on the first pivot and, after {@link #runLocked()}, only the newly
+ * locked runs are loaded; locked runs never change, so segments are never reloaded.
+ */
+@Component
+public class PayrollCube {
+
+    public enum Dimension { DEPARTMENT, DESIGNATION, YEAR, PERIOD }
+
+    public enum Measure { BASIC, DEDUCTIONS, BONUS, NET, UNPAID_DAYS }
+
+    public enum Aggregate { SUM, AVG, MIN, MAX }
+
+    private static final String UNKNOWN = "UNKNOWN";
+
+    /** Append-only string dictionary; codes are stable once assigned. */
+    static final class Dictionary {
+        private final Map<String, Integer> codes = new ConcurrentHashMap<>();
+        private final List<String> values = Collections.synchronizedList(new ArrayList<>());
+
+        synchronized int code(String value) {
+            Integer c = codes.get(value);
+            if (c != null) return c;
+            values.add(value);
+            codes.put(value, values.size() - 1);
+            return values.size() - 1;
+        }
+
+        Integer find(String value) { return codes.get(value); }
+
+        String value(int code) { return values.get(code); }
+
+        int size() { return values.size(); }
+    }
+
+    /** Items of one LOCKED run, column by column. */
+    static final class Segment {
+        final Long runId;
+        final int year;
+        final int month;
+        final int size;
+        final int[] department;
+        final int[] designation;
+        final long[][] measures; // indexed by Measure.ordinal()
+
+        Segment(Long runId, int year, int month, int size, int[] department, int[] designation, long[][] measures) {
+            this.runId = runId;
+            this.year = year;
+            this.month = month;
+            this.size = size;
+            this.department = department;
+            this.designation = designation;
+            this.measures = measures;
+        }
+
+        int period() { return year * 100 + month; }
+    }
+
+    /** Builds a segment from streamed rows, growing its arrays by doubling. */
+    final class SegmentBuilder {
+        private final PayrollRun run;
+        private int size;
+        private int[] department = new int[1024];
+        private int[] designation = new int[1024];
+        private final long[][] measures = new long[Measure.values().length][1024];
+
+        SegmentBuilder(PayrollRun run) { this.run = run; }
+
+        void add(PayrollFactRow r) {
+            if (size == department.length) {
+                int n = size * 2;
+                department = Arrays.copyOf(department, n);
+                designation = Arrays.copyOf(designation, n);
+                for (int m = 0; m < measures.length; m++) measures[m] = Arrays.copyOf(measures[m], n);
+            }
+            department[size] = departments.code(label(r.department()));
+            designation[size] = designations.code(label(r.designation()));
+            measures[Measure.BASIC.ordinal()][size] = Money.toPaise(r.basicSalary());
+            measures[Measure.DEDUCTIONS.ordinal()][size] = Money.toPaise(r.deductions());
+            measures[Measure.BONUS.ordinal()][size] = Money.toPaise(r.bonus());
+            measures[Measure.NET.ordinal()][size] = Money.toPaise(r.netSalary());
+            measures[Measure.UNPAID_DAYS.ordinal()][size] = r.unpaidDays();
+            size++;
+        }
+
+        Segment build() {
+            long[][] cols = new long[measures.length][];
+            for (int m = 0; m < measures.length; m++) cols[m] = Arrays.copyOf(measures[m], size);
+            return new Segment(run.getId(), run.getYear(), run.getMonth(), size,
+                    Arrays.copyOf(department, size), Arrays.copyOf(designation, size), cols);
+        }
+    }
+
+    private final PayrollCubeLoader loader;
+    private final Dictionary departments = new Dictionary();
+    private final Dictionary designations = new Dictionary();
+
+    private volatile List<Segment> segments = List.of();
+    private volatile boolean stale = true;
+
+    @Autowired
+    public PayrollCube(PayrollCubeLoader loader) {
+        this.loader = loader;
+    }
+
+    /** A run was locked: the next pivot loads it. Inside a transaction this takes effect after commit. */
+    public void runLocked() {
+        stale = true;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    stale = true;
+                }
+            });
+        }
+    }
+
+    public int runsLoaded() {
+        return segments.size();
+    }
+
+    /** Load the LOCKED runs that are not in the cube yet. */
+    synchronized void sync() {
+        if (!stale) return;
+        stale = false; // a run locked while we load marks it stale again
+
+        Set<Long> loaded = new HashSet<>();
+        for (Segment s : segments) loaded.add(s.runId);
+
+        List<Segment> next = new ArrayList<>(segments);
+        try {
+            for (PayrollRun run : loader.lockedRuns()) {
+                if (loaded.contains(run.getId())) continue;
+                SegmentBuilder b = new SegmentBuilder(run);
+                loader.load(run.getId(), b::add);
+                next.add(b.build());
+            }
+        } catch (RuntimeException ex) {
+            stale = true; // retried by the next pivot
+            throw ex;
+        }
+        segments = List.copyOf(next);
+    }
+
+    public PivotResponse pivot(PivotRequest req) {
+        long started = System.nanoTime();
+        List<Dimension> groupBy = parse(Dimension.class, req.getGroupBy(), "groupBy");
+        List<Measure> measures = parse(Measure.class, req.getMeasures(), "measures");
+        if (measures.isEmpty()) measures = List.of(Measure.NET);
+        Aggregate aggregate = parse(Aggregate.class, List.of(req.getAggregate() != null ? req.getAggregate() : "sum"), "aggregate").get(0);
+        int from = req.getFrom() != null ? period(req.getFrom()) : Integer.MIN_VALUE;
+        int to = req.getTo() != null ? period(req.getTo()) : Integer.MAX_VALUE;
+
+        if (stale) sync();
+        // segments first: every code they use is already in the dictionaries read below
+        List<Segment> snapshot = segments;
+        int nDept = departments.size();
+        int nDesig = designations.size();
+        boolean[] deptFilter = filter(departments, nDept, req.getDepartments());
+        boolean[] desigFilter = filter(designations, nDesig, req.getDesignations());
+
+        boolean byDept = groupBy.contains(Dimension.DEPARTMENT);
+        boolean byDesig = groupBy.contains(Dimension.DESIGNATION);
+        boolean byPeriod = groupBy.contains(Dimension.PERIOD);
+        boolean byYear = groupBy.contains(Dimension.YEAR);
+        int desigStride = byDesig ? Math.max(1, nDesig) : 1;
+        int cells = (byDept ? Math.max(1, nDept) : 1) * desigStride;
+
+        int mCount = measures.size();
+        int[] cols = new int[mCount];
+        for (int m = 0; m < mCount; m++) cols[m] = measures.get(m).ordinal();
+
+        // per segment: dense accumulators by cell; folded into groups keyed by (period key, cell)
+        long[] count = new long[cells];
+        long[][] acc = new long[mCount][cells];
+        Map<Long, long[]> groups = new HashMap<>();
+        int runsScanned = 0;
+        long itemsScanned = 0;
+
+        for (Segment s : snapshot) {
+            int p = s.period();
+            if (p < from || p > to) continue;
+            runsScanned++;
+            itemsScanned += s.size;
+
+            Arrays.fill(count, 0);
+            for (long[] a : acc) Arrays.fill(a, initial(aggregate));
+            for (int i = 0; i < s.size; i++) {
+                int d = s.department[i];
+                int g = s.designation[i];
+                if (deptFilter != null && !deptFilter[d]) continue;
+                if (desigFilter != null && !desigFilter[g]) continue;
+                int cell = (byDept ? d * desigStride : 0) + (byDesig ? g : 0);
+                count[cell]++;
+                for (int m = 0; m < mCount; m++) {
+                    long v = s.measures[cols[m]][i];
+                    long[] a = acc[m];
+                    switch (aggregate) {
+                        case MIN -> a[cell] = Math.min(a[cell], v);
+                        case MAX -> a[cell] = Math.max(a[cell], v);
+                        default -> a[cell] += v;
+                    }
+                }
+            }
+
+            long periodKey = byPeriod ? p : byYear ? s.year : 0;
+            for (int cell = 0; cell < cells; cell++) {
+                if (count[cell] == 0) continue;
+                long[] group = groups.computeIfAbsent((periodKey << 32) | cell, k -> newGroup(aggregate, mCount));
+                group[0] += count[cell];
+                for (int m = 0; m < mCount; m++) {
+                    switch (aggregate) {
+                        case MIN -> group[m + 1] = Math.min(group[m + 1], acc[m][cell]);
+                        case MAX -> group[m + 1] = Math.max(group[m + 1], acc[m][cell]);
+                        default -> group[m + 1] += acc[m][cell];
+                    }
+                }
+            }
+        }
+
+        List<PivotRow> rows = new ArrayList<>(groups.size());
+        for (Map.Entry<Long, long[]> e : groups.entrySet()) {
+            long periodKey = e.getKey() >>> 32;
+            int cell = (int) (e.getKey() & 0xFFFFFFFFL);
+            List<String> key = new ArrayList<>(groupBy.size());
+            for (Dimension dim : groupBy) {
+                key.add(switch (dim) {
+                    case DEPARTMENT -> departments.value(cell / desigStride);
+                    case DESIGNATION -> designations.value(cell % desigStride);
+                    case YEAR -> String.valueOf(byPeriod ? periodKey / 100 : periodKey);
+                    case PERIOD -> YearMonth.of((int) (periodKey / 100), (int) (periodKey % 100)).toString();
+                });
+            }
+            long[] group = e.getValue();
+            List<BigDecimal> values = new ArrayList<>(mCount);
+            for (int m = 0; m < mCount; m++) {
+                values.add(value(measures.get(m), aggregate, group[m + 1], group[0]));
+            }
+            rows.add(new PivotRow(key, group[0], values));
+        }
+        rows.sort((a, b) -> {
+            for (int i = 0; i < a.key().size(); i++) {
+                int c = a.key().get(i).compareTo(b.key().get(i));
+                if (c != 0) return c;
+            }
+            return 0;
+        });
+
+        PivotResponse res = new PivotResponse();
+        res.setGroupBy(names(groupBy));
+        res.setMeasures(names(measures));
+        res.setAggregate(aggregate.name().toLowerCase(Locale.ROOT));
+        res.setRows(rows);
+        res.setRunsScanned(runsScanned);
+        res.setItemsScanned(itemsScanned);
+        res.setElapsedMicros((System.nanoTime() - started) / 1_000);
+        return res;
+    }
+
+    private static long initial(Aggregate aggregate) {
+        return switch (aggregate) {
+            case MIN -> Long.MAX_VALUE;
+            case MAX -> Long.MIN_VALUE;
+            default -> 0L;
+        };
+    }
+
+    /** [count, one accumulator per measure] */
+    private static long[] newGroup(Aggregate aggregate, int measures) {
+        long[] g = new long[measures + 1];
+        Arrays.fill(g, 1, g.length, initial(aggregate));
+        return g;
+    }
+
+    private static BigDecimal value(Measure measure, Aggregate aggregate, long acc, long count) {
+        BigDecimal v = measure == Measure.UNPAID_DAYS ? BigDecimal.valueOf(acc) : Money.toRupees(acc);
+        if (aggregate == Aggregate.AVG) {
+            return v.divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP);
+        }
+        return v;
+    }
+
+    /** Codes allowed by the filter, or null for no filter; unknown values match nothing. */
+    private static boolean[] filter(Dictionary dict, int size, List<String> values) {
+        if (values == null || values.isEmpty()) return null;
+        boolean[] allowed = new boolean[size];
+        for (String v : values) {
+            Integer code = dict.find(label(v));
+            if (code != null && code < size) allowed[code] = true;
+        }
+        return allowed;
+    }
+
+    private static <E extends Enum<E>> List<E> parse(Class<E> type, List<String> names, String field) {
+        List<E> out = new ArrayList<>();
+        if (names == null) return out;
+        for (String n : names) {
+            String wanted = n == null ? "" : n.replaceAll("[^A-Za-z]", "").toUpperCase(Locale.ROOT);
+            E match = null;
+            for (E e : type.getEnumConstants()) {
+                if (e.name().replace("_", "").equals(wanted)) match = e;
+            }
+            if (match == null) {
+                throw new BadRequestException("Unknown " + field + " value '" + n + "', expected one of "
+                        + names(Arrays.asList(type.getEnumConstants())));
+            }
+            if (!out.contains(match)) out.add(match);
+        }
+        return out;
+    }
+
+    private static List<String> names(List<? extends Enum<?>> values) {
+        List<String> out = new ArrayList<>(values.size());
+        for (Enum<?> e : values) {
+            String[] parts = e.name().toLowerCase(Locale.ROOT).split("_");
+            StringBuilder sb = new StringBuilder(parts[0]);
+            for (int i = 1; i < parts.length; i++) {
+                sb.append(Character.toUpperCase(parts[i].charAt(0))).append(parts[i].substring(1));
+            }
+            out.add(sb.toString());
+        }
+        return out;
+    }
+
+    private static int period(String yyyyMm) {
+        try {
+            YearMonth ym = YearMonth.parse(yyyyMm);
+            return ym.getYear() * 100 + ym.getMonthValue();
+        } catch (DateTimeParseException ex) {
+            throw new BadRequestException("Expected yyyy-MM but got '" + yyyyMm + "'");
+        }
+    }
+
+    private static String label(String s) {
+        return s == null || s.trim().isEmpty() ? UNKNOWN : s;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.service;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.dto.PayrollFactRow;
+import com.example.entity.PayrollRun;
+import com.example.entity.PayrollRunStatus;
+import com.example.repo.PayrollItemRepository;
+import com.example.repo.PayrollRunRepository;
+
+/** Database side of {@link PayrollCube}: the LOCKED runs and the item rows of one run. */
+@Component
+public class PayrollCubeLoader {
+
+    private final PayrollRunRepository runRepo;
+    private final PayrollItemRepository itemRepo;
+
+    @Autowired
+    public PayrollCubeLoader(PayrollRunRepository runRepo, PayrollItemRepository itemRepo) {
+        this.runRepo = runRepo;
+        this.itemRepo = itemRepo;
+    }
+
+    @Transactional(readOnly = true)
+    public List<PayrollRun> lockedRuns() {
+        return runRepo.findByStatusOrderByYearAscMonthAsc(PayrollRunStatus.LOCKED);
+    }
+
+    /** Stream every item of the run to {@code sink}, from a cursor. */
+    @Transactional(readOnly = true)
+    public void load(Long runId, Consumer<PayrollFactRow> sink) {
+        try (Stream<PayrollFactRow> rows = itemRepo.streamFacts(runId)) {
+            rows.forEachOrdered(sink);
+        }
+    }
+}
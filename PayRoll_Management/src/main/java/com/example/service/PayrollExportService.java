@@ -0,0 +1,134 @@
+package com.example.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.dto.PayrollExportRow;
+import com.example.entity.PayrollRun;
+import com.example.exception.ResourceNotFoundException;
+import com.example.repo.PayrollItemRepository;
+import com.example.repo.PayrollRunRepository;
+
+/**
+ * CSV export of a run's items. Rows are read from a database cursor as projections and written
+ * straight to the output stream, so memory use does not depend on the size of the run.
+ */
+@Service
+public class PayrollExportService {
+
+    static final String HEADER = "item_id,employee_id,employee_name,department,designation,"
+            + "basic_salary,deductions,bonus,net_salary,unpaid_days";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final PayrollRunRepository runRepo;
+    private final PayrollItemRepository itemRepo;
+
+    @Autowired
+    public PayrollExportService(PayrollRunRepository runRepo, PayrollItemRepository itemRepo) {
+        this.runRepo = runRepo;
+        this.itemRepo = itemRepo;
+    }
+
+    /** The run to export; call before writing anything so a missing run is still a clean 404. */
+    public PayrollRun findRun(Long runId) {
+        return runRepo.findById(runId)
+                .orElseThrow(() -> new ResourceNotFoundException("Run not found: " + runId));
+    }
+
+    /**
+     * Write the run's items as CSV (RFC 4180, UTF-8), ordered by employee id, optionally gzipped.
+     * The header is flushed before the query runs so the client gets its first bytes right away.
+     *
+     * @return number of rows written
+     */
+    @Transactional(readOnly = true)
+    public long writeCsv(Long runId, OutputStream out, boolean gzip) throws IOException {
+        // syncFlush: flush() pushes the compressed bytes written so far to the client
+        GZIPOutputStream zip = gzip ? new GZIPOutputStream(out, BUFFER_SIZE, true) : null;
+        Writer w = new BufferedWriter(new OutputStreamWriter(zip != null ? zip : out, StandardCharsets.UTF_8), BUFFER_SIZE);
+
+        w.write(HEADER);
+        w.write("\r\n");
+        w.flush();
+
+        long rows = 0;
+        try (Stream<PayrollExportRow> stream = itemRepo.streamExportRows(runId)) {
+            Iterator<PayrollExportRow> it = stream.iterator();
+            while (it.hasNext()) {
+                writeRow(w, it.next());
+                rows++;
+            }
+        }
+        w.flush();
+        if (zip != null) zip.finish(); // trailer; the container owns (and closes) the stream
+        return rows;
+    }
+
+    static void writeRow(Writer w, PayrollExportRow r) throws IOException {
+        w.write(String.valueOf(r.itemId()));
+        w.write(',');
+        w.write(String.valueOf(r.employeeId()));
+        w.write(',');
+        text(w, name(r.firstName(), r.lastName()));
+        w.write(',');
+        text(w, r.department());
+        w.write(',');
+        text(w, r.designation());
+        w.write(',');
+        amount(w, r.basicSalary());
+        w.write(',');
+        amount(w, r.deductions());
+        w.write(',');
+        amount(w, r.bonus());
+        w.write(',');
+        amount(w, r.netSalary());
+        w.write(',');
+        w.write(Integer.toString(r.unpaidDays()));
+        w.write("\r\n");
+    }
+
+    private static String name(String first, String last) {
+        return ((first != null ? first : "") + " " + (last != null ? last : "")).trim();
+    }
+
+    private static void amount(Writer w, BigDecimal v) throws IOException {
+        if (v != null) w.write(v.toPlainString());
+    }
+
+    /**
+     * Quote fields containing separators, quotes or line breaks. Fields that a spreadsheet would
+     * evaluate as a formula get a leading apostrophe.
+     */
+    static void text(Writer w, String s) throws IOException {
+        if (s == null || s.isEmpty()) return;
+        char first = s.charAt(0);
+        if (first == '=' || first == '+' || first == '-' || first == '@') {
+            s = "'" + s;
+        }
+        boolean quote = false;
+        for (int i = 0; i < s.length() && !quote; i++) {
+            char c = s.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            w.write(s);
+            return;
+        }
+        w.write('"');
+        w.write(s.replace("\"", "\"\""));
+        w.write('"');
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.example.dto.PayrollJobStatus;
+import com.example.entity.PayrollRunCheckpoint;
+import com.example.service.PayrollChunkProcessor.ChunkResult;
+
+/**
+ * A background "process run" job. Progress is updated by the job thread and read by
+ * status requests, so all mutable state is volatile or atomic.
+ */
+public class PayrollJob implements PayrollRunExecutor.Progress {
+
+    public enum State { QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED }
+
+    private final String id;
+    private final Long runId;
+    private final Instant submittedAt = Instant.now();
+
+    private volatile State state = State.QUEUED;
+    private volatile boolean cancelRequested;
+    private volatile long total;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong resumedChunks = new AtomicLong();
+    private final List<String> errors = new CopyOnWriteArrayList<>();
+
+    public PayrollJob(String id, Long runId) {
+        this.id = id;
+        this.runId = runId;
+    }
+
+    public String getId() { return id; }
+    public Long getRunId() { return runId; }
+    public State getState() { return state; }
+    public Instant getFinishedAt() { return finishedAt; }
+
+    public boolean isFinished() {
+        return state == State.COMPLETED || state == State.FAILED || state == State.CANCELLED;
+    }
+
+    // ---- lifecycle (job thread) ----
+
+    void start(long totalEmployees) {
+        this.total = totalEmployees;
+        this.startedAt = Instant.now();
+        this.state = State.RUNNING;
+    }
+
+    void finish(State outcome) {
+        this.finishedAt = Instant.now();
+        this.state = outcome;
+    }
+
+    /** Mark failed; the chunk error (if any) is already recorded, otherwise record this one. */
+    void fail(RuntimeException ex) {
+        if (errors.isEmpty()) errors.add(ex.getMessage());
+        finish(State.FAILED);
+    }
+
+    /** Stop starting new chunks; committed chunks are kept so the run can be resumed. */
+    public void cancel() {
+        cancelRequested = true;
+    }
+
+    // ---- PayrollRunExecutor.Progress ----
+
+    @Override
+    public void chunkDone(ChunkResult result) {
+        processed.addAndGet(result.scanned());
+        written.addAndGet(result.written());
+    }
+
+    @Override
+    public void chunkFailed(long fromId, long toId, RuntimeException error) {
+        errors.add("Employees " + fromId + "-" + toId + ": " + error.getMessage());
+    }
+
+    @Override
+    public void chunkSkipped(PayrollRunCheckpoint checkpoint) {
+        processed.addAndGet(checkpoint.getEmployeesScanned());
+        resumedChunks.incrementAndGet();
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cancelRequested;
+    }
+
+    /** Point-in-time view for the status endpoint (rate and ETA derived from elapsed time). */
+    public PayrollJobStatus snapshot() {
+        PayrollJobStatus s = new PayrollJobStatus();
+        s.setJobId(id);
+        s.setRunId(runId);
+        s.setState(state);
+        s.setCancelRequested(cancelRequested);
+        s.setTotal(total);
+        long done = processed.get();
+        s.setProcessed(done);
+        s.setItemsWritten(written.get());
+        s.setResumedChunks(resumedChunks.get());
+        s.setSubmittedAt(submittedAt);
+        s.setStartedAt(startedAt);
+        s.setFinishedAt(finishedAt);
+        s.setErrors(List.copyOf(errors));
+
+        if (startedAt != null) {
+            Instant end = finishedAt != null ? finishedAt : Instant.now();
+            double seconds = Math.max(0.001, Duration.between(startedAt, end).toMillis() / 1000.0);
+            double rate = done / seconds;
+            s.setItemsPerSecond(rate);
+            if (state == State.RUNNING && rate > 0) {
+                s.setEtaSeconds((long) Math.ceil(Math.max(0, total - done) / rate));
+            }
+        }
+        return s;
+    }
+}
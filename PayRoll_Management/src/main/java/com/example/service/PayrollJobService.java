@@ -0,0 +1,150 @@
+package com.example.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.dto.PayrollJobStatus;
+import com.example.entity.PayrollRun;
+import com.example.exception.ConflictException;
+import com.example.exception.ResourceNotFoundException;
+import com.example.repo.EmployeeRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Runs "process run" requests in the background so the HTTP call returns immediately.
+ * Jobs are kept in memory; finished jobs are forgotten after an hour.
+ */
+@Service
+public class PayrollJobService {
+
+    private static final Duration RETAIN_FINISHED = Duration.ofHours(1);
+
+    private final PayrollService payrollService;
+    private final EmployeeRepository empRepo;
+    private final Map<String, PayrollJob> jobs = new ConcurrentHashMap<>();
+
+    // one job at a time (each job already fans out over payroll.workers); a few may queue
+    private final ThreadPoolExecutor runner = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(16),
+            r -> {
+                Thread t = new Thread(r, "payroll-job");
+                t.setDaemon(true);
+                return t;
+            });
+
+    @Autowired
+    public PayrollJobService(PayrollService payrollService, EmployeeRepository empRepo) {
+        this.payrollService = payrollService;
+        this.empRepo = empRepo;
+    }
+
+    /** Validate the run and queue a job for it; only one unfinished job per run is allowed. */
+    public synchronized PayrollJobStatus submit(Long runId) {
+        payrollService.checkProcessable(runId);
+        jobs.values().stream()
+                .filter(j -> j.getRunId().equals(runId) && !j.isFinished())
+                .findFirst()
+                .ifPresent(j -> {
+                    throw new ConflictException("Run " + runId + " is already being processed by job " + j.getId());
+                });
+
+        PayrollJob job = new PayrollJob(UUID.randomUUID().toString(), runId);
+        jobs.put(job.getId(), job);
+        try {
+            runner.execute(() -> run(job));
+        } catch (RejectedExecutionException ex) {
+            jobs.remove(job.getId());
+            throw new ConflictException("Too many payroll jobs queued, try again later.");
+        }
+        return job.snapshot();
+    }
+
+    /**
+     * Lock the run (see {@link PayrollService#lockRun(Long)}) unless a job for it is unfinished.
+     * Like the other run changes below it is serialised with {@link #submit(Long)}, so no job can
+     * start on the run meanwhile.
+     */
+    public synchronized PayrollRun lock(Long runId) {
+        checkNoActiveJob(runId);
+        return payrollService.lockRun(runId);
+    }
+
+    /** {@link PayrollService#reprocessChanged(Long)}, unless a job for the run is unfinished. */
+    public synchronized int reprocessChanged(Long runId) {
+        checkNoActiveJob(runId);
+        return payrollService.reprocessChanged(runId);
+    }
+
+    /** {@link PayrollService#deleteRun(Long)}, unless a job is still writing chunks of the run. */
+    public synchronized void deleteRun(Long runId) {
+        checkNoActiveJob(runId);
+        payrollService.deleteRun(runId);
+    }
+
+    public PayrollJobStatus status(String jobId) {
+        return find(jobId).snapshot();
+    }
+
+    /** Request cancellation; chunks already committed stay, so processing the run again resumes it. */
+    public PayrollJobStatus cancel(String jobId) {
+        PayrollJob job = find(jobId);
+        job.cancel();
+        return job.snapshot();
+    }
+
+    void run(PayrollJob job) {
+        if (job.isCancelled()) {
+            job.finish(PayrollJob.State.CANCELLED);
+            return;
+        }
+        job.start(empRepo.count());
+        try {
+            payrollService.processRun(job.getRunId(), job);
+            job.finish(PayrollJob.State.COMPLETED);
+        } catch (CancellationException ex) {
+            job.finish(PayrollJob.State.CANCELLED);
+        } catch (RuntimeException ex) {
+            job.fail(ex);
+        }
+    }
+
+    private void checkNoActiveJob(Long runId) {
+        jobs.values().stream()
+                .filter(j -> j.getRunId().equals(runId) && !j.isFinished())
+                .findFirst()
+                .ifPresent(j -> {
+                    throw new ConflictException("Run " + runId + " is still being processed by job " + j.getId());
+                });
+    }
+
+    private PayrollJob find(String jobId) {
+        PayrollJob job = jobs.get(jobId);
+        if (job == null) throw new ResourceNotFoundException("Payroll job not found: " + jobId);
+        return job;
+    }
+
+    /** Forget finished jobs after a while. Runs every 10 minutes. */
+    @Scheduled(fixedDelay = 10 * 60 * 1000L)
+    public void evictFinished() {
+        Instant cutoff = Instant.now().minus(RETAIN_FINISHED);
+        jobs.values().removeIf(j -> j.isFinished() && j.getFinishedAt().isBefore(cutoff));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        runner.shutdownNow();
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.service;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.example.config.PayrollProperties;
+import com.example.entity.PayrollRunCheckpoint;
+import com.example.service.PayrollCalculator.RunCalculator;
+import com.example.service.PayrollChunkProcessor.ChunkResult;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Splits the employee id range of a run into chunks of {@code payroll.chunk-size} ids and
+ * processes them on a bounded pool of {@code payroll.workers} threads. Every chunk commits
+ * on its own; {@link #execute} returns only after all chunks committed and throws if any failed.
+ * Chunk boundaries are aligned to multiples of the chunk size, so they stay the same between
+ * attempts and chunks covered by a checkpoint of an earlier attempt are skipped.
+ */
+@Component
+public class PayrollRunExecutor {
+
+    private final PayrollChunkProcessor chunkProcessor;
+    private final int workers;
+    private final long chunkSize;
+    private final ThreadPoolExecutor pool;
+
+    @Autowired
+    public PayrollRunExecutor(PayrollChunkProcessor chunkProcessor, PayrollProperties props) {
+        this.chunkProcessor = chunkProcessor;
+        this.workers = Math.max(1, props.getWorkers());
+        this.chunkSize = Math.max(1, props.getChunkSize());
+
+        AtomicInteger seq = new AtomicInteger();
+        // execute() keeps at most 2 * workers chunks in flight, so the queue never overflows
+        this.pool = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(workers * 2),
+                r -> {
+                    Thread t = new Thread(r, "payroll-worker-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    /** Callbacks for progress reporting and cancellation; invoked on the calling thread. */
+    public interface Progress {
+        Progress NONE = new Progress() { };
+
+        default void chunkDone(ChunkResult result) { }
+
+        default void chunkFailed(long fromId, long toId, RuntimeException error) { }
+
+        /** A chunk already committed by an earlier attempt of the run. */
+        default void chunkSkipped(PayrollRunCheckpoint checkpoint) { }
+
+        /** Checked before each chunk is submitted; chunks already running still commit. */
+        default boolean isCancelled() { return false; }
+    }
+
+    /**
+     * Process all chunks covering minId..maxId (inclusive) for the run.
+     *
+     * @return number of items written
+     */
+    public int execute(Long runId, long minId, long maxId, RunCalculator calculator) {
+        return execute(runId, minId, maxId, calculator, List.of(), Progress.NONE);
+    }
+
+    /**
+     * Same as {@link #execute(Long, long, long, RunCalculator)}, skipping chunks covered by {@code committed}
+     * and reporting every chunk to {@code progress}. When cancelled, no further chunks are
+     * started and a {@link CancellationException} is thrown once the running ones have committed.
+     */
+    public int execute(Long runId, long minId, long maxId, RunCalculator calculator,
+                       List<PayrollRunCheckpoint> committed, Progress progress) {
+        NavigableMap<Long, PayrollRunCheckpoint> checkpoints = new TreeMap<>();
+        for (PayrollRunCheckpoint c : committed) {
+            checkpoints.put(c.getFromEmployeeId(), c);
+        }
+
+        CompletionService<ChunkResult> done = new ExecutorCompletionService<>(pool);
+        Map<Future<ChunkResult>, long[]> ranges = new IdentityHashMap<>();
+        int maxInFlight = workers * 2;
+        int written = 0;
+        RuntimeException failure = null;
+
+        long firstChunk = Math.floorDiv(minId - 1, chunkSize) * chunkSize + 1;
+        for (long from = firstChunk; from <= maxId; from += chunkSize) {
+            final long lo = from;
+            final long hi = Math.min(maxId, from + chunkSize - 1);
+            Map.Entry<Long, PayrollRunCheckpoint> cp = checkpoints.floorEntry(lo);
+            if (cp != null && cp.getValue().covers(lo, hi)) {
+                progress.chunkSkipped(cp.getValue());
+                continue;
+            }
+            if (ranges.size() == maxInFlight) {
+                try {
+                    written += await(done, ranges, progress);
+                } catch (RuntimeException ex) {
+                    failure = ex;
+                    break;
+                }
+            }
+            if (progress.isCancelled()) break;
+            ranges.put(done.submit(() -> chunkProcessor.processChunk(runId, lo, hi, calculator)), new long[] { lo, hi });
+        }
+
+        // drain what is still running, even after a failure, so no chunk outlives the call
+        while (!ranges.isEmpty()) {
+            try {
+                written += await(done, ranges, progress);
+            } catch (RuntimeException ex) {
+                if (failure == null) failure = ex;
+            }
+        }
+        if (failure != null) throw failure;
+        if (progress.isCancelled()) throw new CancellationException("Payroll run " + runId + " cancelled");
+        return written;
+    }
+
+    private static int await(CompletionService<ChunkResult> done,
+                             Map<Future<ChunkResult>, long[]> ranges,
+                             Progress progress) {
+        Future<ChunkResult> f;
+        try {
+            f = done.take();
+        } catch (InterruptedException ex) {
+            // shutting down: stop the chunks still running (they roll back) and forget them, so
+            // the caller's drain loop ends instead of spinning on the restored interrupt flag
+            ranges.keySet().forEach(running -> running.cancel(true));
+            ranges.clear();
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Payroll run interrupted", ex);
+        }
+        long[] range = ranges.remove(f);
+        try {
+            ChunkResult result = f.get();
+            progress.chunkDone(result);
+            return result.written();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Payroll run interrupted", ex);
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            RuntimeException error = cause instanceof RuntimeException re
+                    ? re
+                    : new RuntimeException("Payroll chunk failed: " + cause.getMessage(), cause);
+            progress.chunkFailed(range[0], range[1], error);
+            throw error;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+}
@@ -1,8 +1,7 @@
 package com.example.service;
 
-import java.math.BigDecimal;
+import java.time.YearMonth;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -13,9 +12,13 @@ import com.example.entity.Employee;
 import com.example.entity.PayrollItem;
 import com.example.entity.PayrollRun;
 import com.example.entity.PayrollRunStatus;
+import com.example.exception.ConflictException;
+import com.example.exception.ResourceNotFoundException;
 import com.example.repo.EmployeeRepository;
 import com.example.repo.PayrollItemRepository;
+import com.example.repo.PayrollRunCheckpointRepository;
 import com.example.repo.PayrollRunRepository;
+import com.example.service.PayrollCalculator.RunCalculator;
 
 @Service
 public class PayrollService {
@@ -23,14 +26,38 @@ public class PayrollService {
     private final PayrollRunRepository runRepo;
     private final EmployeeRepository empRepo;
     private final PayrollItemRepository itemRepo;
+    private final PayrollRunCheckpointRepository checkpointRepo;
+    private final PayrollRunExecutor runExecutor;
+    private final PayrollCalculator calculator;
+    private final PayrollAggregateService aggregateService;
+    private final ReportCache reportCache;
+    private final SalaryDistributionService distributionService;
+    private final PayrollCube cube;
+    private final PayslipService payslipService;
 
     @Autowired
     public PayrollService(PayrollRunRepository runRepo,
                           EmployeeRepository empRepo,
-                          PayrollItemRepository itemRepo) {
+                          PayrollItemRepository itemRepo,
+                          PayrollRunCheckpointRepository checkpointRepo,
+                          PayrollRunExecutor runExecutor,
+                          PayrollCalculator calculator,
+                          PayrollAggregateService aggregateService,
+                          ReportCache reportCache,
+                          SalaryDistributionService distributionService,
+                          PayrollCube cube,
+                          PayslipService payslipService) {
         this.runRepo = runRepo;
         this.empRepo = empRepo;
         this.itemRepo = itemRepo;
+        this.checkpointRepo = checkpointRepo;
+        this.runExecutor = runExecutor;
+        this.calculator = calculator;
+        this.aggregateService = aggregateService;
+        this.reportCache = reportCache;
+        this.distributionService = distributionService;
+        this.cube = cube;
+        this.payslipService = payslipService;
     }
 
     /** Create a payroll run for a year/month (unique). */
@@ -43,50 +70,121 @@ public class PayrollService {
         return runRepo.save(run);
     }
 
-    /** Calculate items for all employees; simple rule: deductions = 5% of base, bonus = 0. */
-    @Transactional
+    /**
+     * Calculate items for all employees using the pay rules compiled once for the run
+     * (see {@link PayRuleEngine}).
+     * The employee id range is processed in chunks, concurrently and each in its own
+     * transaction; the run becomes PROCESSED only once every chunk has committed.
+     * Every committed chunk leaves a checkpoint, so after a crash or cancel processing the run
+     * again only does the remaining chunks. Checkpoints are dropped once the run is PROCESSED,
+     * and the report aggregates of the run are rebuilt. The status change is a guarded update,
+     * so a run locked while its chunks were running stays LOCKED (and this throws).
+     */
     public PayrollRun processRun(Long runId) {
+        return processRun(runId, PayrollRunExecutor.Progress.NONE);
+    }
+
+    /** Same as {@link #processRun(Long)}, reporting chunk progress and honouring cancellation. */
+    public PayrollRun processRun(Long runId, PayrollRunExecutor.Progress progress) {
+        PayrollRun run = checkProcessable(runId);
+
+        Long minId = empRepo.findMinId();
+        Long maxId = empRepo.findMaxId();
+        if (minId != null && maxId != null) {
+            RunCalculator calc = calculator.forRun(run);
+            runExecutor.execute(runId, minId, maxId, calc, checkpointRepo.findByRunId(runId), progress);
+        }
+
+        if (runRepo.markProcessed(runId) == 0) {
+            throw new ConflictException("Run " + runId + " was locked while it was being processed.");
+        }
+        run.setStatus(PayrollRunStatus.PROCESSED);
+        checkpointRepo.deleteByRunId(runId);
+        aggregateService.refresh(runId);
+        reportCache.invalidate(run.getYear(), run.getMonth());
+        return run;
+    }
+
+    /**
+     * Recompute only the items of a PROCESSED run whose employee changed since the item was
+     * computed (e.g. a salary correction), or whose unpaid leave in the month was approved or
+     * withdrawn since, instead of deleting and re-processing the whole run.
+     * Use {@link PayrollJobService#reprocessChanged(Long)}, which serialises it with jobs and locking.
+     *
+     * @return number of items recomputed
+     */
+    @Transactional
+    public int reprocessChanged(Long runId) {
+        PayrollRun run = checkProcessable(runId);
+        if (run.getStatus() != PayrollRunStatus.PROCESSED) {
+            throw new ConflictException("Only PROCESSED runs can be re-processed incrementally.");
+        }
+
+        YearMonth month = YearMonth.of(run.getYear(), run.getMonth());
+        List<PayrollItem> stale = itemRepo.findStaleByRunId(runId, month.atDay(1), month.atEndOfMonth());
+        if (stale.isEmpty()) return 0;
+
+        RunCalculator calc = calculator.forRun(run);
+        for (PayrollItem pi : stale) {
+            calc.compute(pi, pi.getEmployee()); // managed: flushed before the aggregate query
+        }
+        aggregateService.refresh(runId);
+        reportCache.invalidate(run.getYear(), run.getMonth());
+        return stale.size();
+    }
+
+    /** Returns the run if it exists and is not locked. */
+    public PayrollRun checkProcessable(Long runId) {
         PayrollRun run = runRepo.findById(runId)
                 .orElseThrow(() -> new RuntimeException("Run not found: " + runId));
 
         if (run.getStatus() == PayrollRunStatus.LOCKED) {
             throw new RuntimeException("Run is locked and cannot be processed.");
         }
+        return run;
+    }
 
-        List<Employee> employees = empRepo.findAll();
-
-        for (Employee e : employees) {
-            BigDecimal basic = e.getBaseSalary() != null ? e.getBaseSalary() : BigDecimal.ZERO;
-            BigDecimal bonus = BigDecimal.ZERO;
-            BigDecimal deductions = basic.multiply(new BigDecimal("0.05")); // 5%
-            BigDecimal net = basic.add(bonus).subtract(deductions);
-
-            // one item per employee per run
-            itemRepo.findByRunAndEmployee(run, e).ifPresentOrElse(
-                    existing -> { /* idempotent: do nothing if exists */ },
-                    () -> {
-                        PayrollItem item = new PayrollItem();
-                        item.setRun(run);
-                        item.setEmployee(e);
-                        item.setBasicSalary(basic);
-                        item.setBonus(bonus);
-                        item.setDeductions(deductions);
-                        item.setNetSalary(net);
-                        itemRepo.save(item);
-                    }
-            );
+    /**
+     * Delete a DRAFT run together with its items and checkpoints. Use
+     * {@link PayrollJobService#deleteRun(Long)}, which refuses while a job is writing to the run.
+     */
+    @Transactional
+    public void deleteRun(Long runId) {
+        PayrollRun run = runRepo.findById(runId)
+                .orElseThrow(() -> new ResourceNotFoundException("Run not found: " + runId));
+
+        if (run.getStatus() != PayrollRunStatus.DRAFT) {
+            throw new ConflictException("Only DRAFT runs can be deleted.");
         }
 
-        run.setStatus(PayrollRunStatus.PROCESSED);
-        return runRepo.save(run);
+        checkpointRepo.deleteByRunId(runId);
+        aggregateService.delete(runId);
+        itemRepo.deleteByRun(run);
+        runRepo.delete(run);
+        reportCache.invalidate(run.getYear(), run.getMonth());
     }
 
-    /** Lock the run to prevent changes. */
+    /**
+     * Lock a PROCESSED run to prevent changes; its report aggregates are rebuilt one last time, its
+     * salary distribution sketches and payslip documents are stored and the analytics cube
+     * picks it up. Use {@link PayrollJobService#lock(Long)}, which also makes sure no job is
+     * still processing the run.
+     */
+    @Transactional
     public PayrollRun lockRun(Long runId) {
         PayrollRun run = runRepo.findById(runId)
                 .orElseThrow(() -> new RuntimeException("Run not found: " + runId));
+        if (run.getStatus() != PayrollRunStatus.PROCESSED) {
+            throw new ConflictException("Only PROCESSED runs can be locked.");
+        }
         run.setStatus(PayrollRunStatus.LOCKED);
-        return runRepo.save(run);
+        PayrollRun saved = runRepo.save(run);
+        aggregateService.refresh(runId);
+        distributionService.store(saved, distributionService.build(runId));
+        payslipService.generate(saved);
+        reportCache.invalidate(run.getYear(), run.getMonth());
+        cube.runLocked();
+        return saved;
     }
 
     /** (Entities) List all payroll items of a run. Avoid using this in controllers directly. */
@@ -115,6 +213,8 @@ public class PayrollService {
             d.setDeductions(pi.getDeductions());
             d.setBonus(pi.getBonus());
             d.setNetSalary(pi.getNetSalary());
+            d.setDeductionShortfall(pi.getDeductionShortfall());
+            d.setUnpaidDays(pi.getUnpaidDays());
             return d;
         }).toList();
     }
@@ -139,6 +239,8 @@ public class PayrollService {
         dto.setDeductions(pi.getDeductions());
         dto.setBonus(pi.getBonus());
         dto.setNetSalary(pi.getNetSalary());
+        dto.setDeductionShortfall(pi.getDeductionShortfall());
+        dto.setUnpaidDays(pi.getUnpaidDays());
         return dto;
     }
 }
@@ -0,0 +1,106 @@
+package com.example.service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.dto.DepartmentCostRow;
+import com.example.dto.EmployeePayBasis;
+import com.example.dto.PayrollSimulationRequest;
+import com.example.dto.PayrollSimulationResponse;
+import com.example.dto.SalaryAdjustment;
+import com.example.entity.PayrollRun;
+import com.example.repo.EmployeeRepository;
+import com.example.service.PayrollCalculator.RunCalculator;
+
+/**
+ * Dry run of a payroll run ("what if base salaries rise 7% in Engineering"): employees are
+ * streamed as plain rows, computed with the current pay rules (and the unpaid leave of the
+ * month) in paise and totalled in memory.
+ * Nothing is written; the result has the shape of the summary and department-cost reports.
+ */
+@Service
+public class PayrollSimulationService {
+
+    /** A salary adjustment with normalised criteria (null = any) and the percentage in ppm. */
+    private record Adjustment(String department, String designation, long ppm) {
+
+        boolean matches(String dept, String desig) {
+            return (department == null || department.equals(dept))
+                && (designation == null || designation.equals(desig));
+        }
+    }
+
+    private final EmployeeRepository empRepo;
+    private final PayrollCalculator calculator;
+
+    @Autowired
+    public PayrollSimulationService(EmployeeRepository empRepo, PayrollCalculator calculator) {
+        this.empRepo = empRepo;
+        this.calculator = calculator;
+    }
+
+    @Transactional(readOnly = true)
+    public PayrollSimulationResponse simulate(PayrollSimulationRequest req) {
+        long started = System.nanoTime();
+        // transient run: only identifies the period, never saved
+        RunCalculator calc = calculator.forRun(new PayrollRun(req.getYear(), req.getMonth()));
+        List<Adjustment> adjustments = compile(req.getAdjustments());
+
+        PaiseTotals total = new PaiseTotals();
+        // sorted by department like the department-cost report, not in cursor order
+        Map<String, PaiseTotals> byDept = new TreeMap<>();
+        PayAmounts amounts = new PayAmounts();
+        try (Stream<EmployeePayBasis> rows = empRepo.streamPayBasis()) {
+            Iterator<EmployeePayBasis> it = rows.iterator();
+            while (it.hasNext()) {
+                EmployeePayBasis e = it.next();
+                long basic = adjust(Money.toPaise(e.baseSalary()), e, adjustments);
+                calc.compute(e.id(), e.department(), e.designation(), basic, amounts);
+
+                total.add(amounts);
+                String dept = e.department();
+                if (dept == null || dept.trim().isEmpty()) dept = "UNKNOWN";
+                byDept.computeIfAbsent(dept, d -> new PaiseTotals()).add(amounts);
+            }
+        }
+
+        List<DepartmentCostRow> departments = new ArrayList<>(byDept.size());
+        byDept.forEach((dept, t) -> departments.add(t.toRow(dept)));
+        return new PayrollSimulationResponse(total.toSummary(req.getYear(), req.getMonth()), departments,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    private static List<Adjustment> compile(List<SalaryAdjustment> in) {
+        List<Adjustment> out = new ArrayList<>();
+        if (in == null) return out;
+        for (SalaryAdjustment a : in) {
+            if (a.getPercent() == null) continue;
+            out.add(new Adjustment(CompiledPayRules.normalise(a.getDepartment()),
+                    CompiledPayRules.normalise(a.getDesignation()),
+                    Money.percentToPpm(a.getPercent())));
+        }
+        return out;
+    }
+
+    /** Apply every matching adjustment in order (compounded). */
+    private static long adjust(long basic, EmployeePayBasis e, List<Adjustment> adjustments) {
+        if (adjustments.isEmpty()) return basic;
+        String dept = CompiledPayRules.normalise(e.department());
+        String desig = CompiledPayRules.normalise(e.designation());
+        for (Adjustment a : adjustments) {
+            if (a.matches(dept, desig)) {
+                basic = Math.addExact(basic, Money.percentOf(basic, a.ppm()));
+            }
+        }
+        return basic;
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.dto.PayrollVarianceResponse;
+import com.example.dto.PayrollVarianceRow;
+import com.example.dto.VarianceItemRow;
+import com.example.entity.PayrollRun;
+import com.example.exception.BadRequestException;
+import com.example.exception.ResourceNotFoundException;
+import com.example.repo.PayrollItemRepository;
+import com.example.repo.PayrollRunRepository;
+
+/**
+ * Month-over-month variance: joiners, leavers and employees whose net pay moved by more than a
+ * threshold. Both runs are read from cursors in employee id order and merge-joined in one pass,
+ * so neither run is held in memory; only the reported rows are kept.
+ */
+@Service
+public class PayrollVarianceService {
+
+    private final PayrollRunRepository runRepo;
+    private final PayrollItemRepository itemRepo;
+
+    @Autowired
+    public PayrollVarianceService(PayrollRunRepository runRepo, PayrollItemRepository itemRepo) {
+        this.runRepo = runRepo;
+        this.itemRepo = itemRepo;
+    }
+
+    /** Variance of the year/month run against the base year/month run (default: the month before). */
+    @Transactional(readOnly = true)
+    public PayrollVarianceResponse variance(int year, int month, Integer baseYear, Integer baseMonth,
+                                            BigDecimal thresholdPercent) {
+        if ((baseYear == null) != (baseMonth == null)) {
+            throw new BadRequestException("baseYear and baseMonth go together");
+        }
+        int by = baseYear != null ? baseYear : (month == 1 ? year - 1 : year);
+        int bm = baseMonth != null ? baseMonth : (month == 1 ? 12 : month - 1);
+        return variance(findRun(by, bm), findRun(year, month), thresholdPercent);
+    }
+
+    /**
+     * Merge-join of both runs by employee id. Employees in both runs are reported when
+     * |compare - base| > threshold% of |base| (any change when base is zero).
+     */
+    @Transactional(readOnly = true)
+    public PayrollVarianceResponse variance(PayrollRun base, PayrollRun compare, BigDecimal thresholdPercent) {
+        if (thresholdPercent == null || thresholdPercent.signum() < 0) {
+            throw new BadRequestException("thresholdPercent must be >= 0");
+        }
+        long thresholdPpm = Money.percentToPpm(thresholdPercent);
+
+        List<PayrollVarianceRow> rows = new ArrayList<>();
+        long baseTotal = 0, compareTotal = 0;
+        long joinersDelta = 0, leaversDelta = 0, changedDelta = 0, withinDelta = 0;
+        int joiners = 0, leavers = 0, changed = 0, within = 0;
+
+        try (Stream<VarianceItemRow> baseRows = itemRepo.streamNetByEmployee(base.getId());
+             Stream<VarianceItemRow> compareRows = itemRepo.streamNetByEmployee(compare.getId())) {
+            Iterator<VarianceItemRow> bi = baseRows.iterator();
+            Iterator<VarianceItemRow> ci = compareRows.iterator();
+            VarianceItemRow b = bi.hasNext() ? bi.next() : null;
+            VarianceItemRow c = ci.hasNext() ? ci.next() : null;
+
+            while (b != null || c != null) {
+                int cmp = b == null ? 1 : c == null ? -1 : Long.compare(b.employeeId(), c.employeeId());
+                if (cmp < 0) {
+                    long net = Money.toPaise(b.netSalary());
+                    baseTotal += net;
+                    leavers++;
+                    leaversDelta -= net;
+                    rows.add(row(b, "LEAVER", net, null));
+                    b = bi.hasNext() ? bi.next() : null;
+                } else if (cmp > 0) {
+                    long net = Money.toPaise(c.netSalary());
+                    compareTotal += net;
+                    joiners++;
+                    joinersDelta += net;
+                    rows.add(row(c, "JOINER", null, net));
+                    c = ci.hasNext() ? ci.next() : null;
+                } else {
+                    long before = Money.toPaise(b.netSalary());
+                    long after = Money.toPaise(c.netSalary());
+                    baseTotal += before;
+                    compareTotal += after;
+                    long delta = after - before;
+                    if (exceeds(delta, before, thresholdPpm)) {
+                        changed++;
+                        changedDelta += delta;
+                        rows.add(row(c, "CHANGED", before, after));
+                    } else {
+                        within++;
+                        withinDelta += delta;
+                    }
+                    b = bi.hasNext() ? bi.next() : null;
+                    c = ci.hasNext() ? ci.next() : null;
+                }
+            }
+        }
+
+        PayrollVarianceResponse res = new PayrollVarianceResponse();
+        res.setBaseRunId(base.getId());
+        res.setBasePeriod(period(base));
+        res.setCompareRunId(compare.getId());
+        res.setComparePeriod(period(compare));
+        res.setThresholdPercent(thresholdPercent);
+        res.setJoiners(joiners);
+        res.setLeavers(leavers);
+        res.setChanged(changed);
+        res.setWithinThreshold(within);
+        res.setBaseTotalNet(Money.toRupees(baseTotal));
+        res.setCompareTotalNet(Money.toRupees(compareTotal));
+        res.setTotalDelta(Money.toRupees(compareTotal - baseTotal));
+        res.setJoinersDelta(Money.toRupees(joinersDelta));
+        res.setLeaversDelta(Money.toRupees(leaversDelta));
+        res.setChangedDelta(Money.toRupees(changedDelta));
+        res.setWithinThresholdDelta(Money.toRupees(withinDelta));
+        res.setRows(rows);
+        return res;
+    }
+
+    /** |delta| > ppm/1e6 * |base|, in exact integer arithmetic. */
+    static boolean exceeds(long delta, long base, long thresholdPpm) {
+        if (base == 0) return delta != 0;
+        return Math.multiplyExact(Math.abs(delta), Money.PPM) > Math.multiplyExact(Math.abs(base), thresholdPpm);
+    }
+
+    /** before / after are null for an employee missing from that run. */
+    private static PayrollVarianceRow row(VarianceItemRow r, String change, Long before, Long after) {
+        long from = before != null ? before : 0;
+        long to = after != null ? after : 0;
+        BigDecimal percent = from == 0 ? null
+                : BigDecimal.valueOf(to - from).multiply(BigDecimal.valueOf(100))
+                        .divide(BigDecimal.valueOf(Math.abs(from)), 2, RoundingMode.HALF_UP);
+        String name = ((r.firstName() != null ? r.firstName() : "") + " "
+                + (r.lastName() != null ? r.lastName() : "")).trim();
+        return new PayrollVarianceRow(r.employeeId(), name, r.department(), change,
+                before != null ? Money.toRupees(before) : null,
+                after != null ? Money.toRupees(after) : null,
+                Money.toRupees(to - from), percent);
+    }
+
+    private static String period(PayrollRun run) {
+        return String.format("%d-%02d", run.getYear(), run.getMonth());
+    }
+
+    private PayrollRun findRun(int year, int month) {
+        return runRepo.findByYearAndMonth(year, month)
+                .orElseThrow(() -> new ResourceNotFoundException("Payroll run not found for " + year + "-" + month));
+    }
+}
@@ -0,0 +1,240 @@
+package com.example.service;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.config.PayrollProperties;
+import com.example.dto.PayrollExportRow;
+import com.example.entity.PayrollPayslip;
+import com.example.entity.PayrollRun;
+import com.example.exception.ResourceNotFoundException;
+import com.example.repo.PayrollItemRepository;
+import com.example.repo.PayrollPayslipRepository;
+import com.example.repo.PayrollRunRepository;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Payslip documents (HTML) of LOCKED runs. They are rendered once when the run is locked: items
+ * are read from a cursor and rendered on {@code payroll.workers} threads with at most
+ * {@code 2 * workers} documents in flight, and their rows are written in flushed batches that
+ * are then detached, so memory does not grow with the run. Documents go to
+ * the {@link PayslipStore}; downloads are served straight from its files.
+ */
+@Service
+public class PayslipService {
+
+    /** A stored payslip document; {@code hash} is its SHA-256. */
+    public record PayslipFile(Path path, String hash, long size, String filename) {
+
+        /** Strong ETag: the content hash. */
+        public String etag() {
+            return '"' + hash + '"';
+        }
+
+        /** True if an If-None-Match header value matches this document ({@code *} or any listed tag). */
+        public boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null) return false;
+            for (String tag : ifNoneMatch.split(",")) {
+                String t = tag.trim();
+                if (t.startsWith("W/")) t = t.substring(2); // If-None-Match uses the weak comparison
+                if (t.equals("*") || t.equals(etag())) return true;
+            }
+            return false;
+        }
+    }
+
+    private record Rendered(long employeeId, String hash, long size) { }
+
+    private final PayrollRunRepository runRepo;
+    private final PayrollItemRepository itemRepo;
+    private final PayrollPayslipRepository payslipRepo;
+    private final PayslipStore store;
+    private final EntityManager em;
+    private final int batchSize;
+    private final int maxInFlight;
+    private final ThreadPoolExecutor pool;
+
+    @Autowired
+    public PayslipService(PayrollRunRepository runRepo,
+                          PayrollItemRepository itemRepo,
+                          PayrollPayslipRepository payslipRepo,
+                          PayslipStore store,
+                          PayrollProperties props,
+                          EntityManager em) {
+        this.runRepo = runRepo;
+        this.itemRepo = itemRepo;
+        this.payslipRepo = payslipRepo;
+        this.store = store;
+        this.em = em;
+        this.batchSize = Math.max(1, props.getBatchSize());
+
+        int workers = Math.max(1, props.getWorkers());
+        this.maxInFlight = workers * 2;
+        AtomicInteger seq = new AtomicInteger();
+        // generate() keeps at most maxInFlight documents submitted, so the queue never overflows
+        this.pool = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxInFlight),
+                r -> {
+                    Thread t = new Thread(r, "payslip-worker-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    /**
+     * Render and store the payslip of every item of the run, replacing earlier payslip rows of
+     * the run. Stored files are kept: they are immutable and may be shared by identical documents.
+     *
+     * @return number of payslips
+     */
+    @Transactional
+    public int generate(PayrollRun run) {
+        payslipRepo.deleteByRunId(run.getId());
+
+        Semaphore slots = new Semaphore(maxInFlight);
+        Queue<Rendered> done = new ConcurrentLinkedQueue<>();
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        List<PayrollPayslip> batch = new ArrayList<>(batchSize);
+        int submitted = 0;
+
+        try (Stream<PayrollExportRow> rows = itemRepo.streamExportRows(run.getId())) {
+            Iterator<PayrollExportRow> it = rows.iterator();
+            while (it.hasNext() && failure.get() == null) {
+                PayrollExportRow r = it.next();
+                acquire(slots, 1);
+                pool.execute(() -> {
+                    try {
+                        byte[] doc = render(run.getYear(), run.getMonth(), r);
+                        done.add(new Rendered(r.employeeId(), store.put(doc), doc.length));
+                    } catch (RuntimeException ex) {
+                        failure.compareAndSet(null, ex);
+                    } finally {
+                        slots.release();
+                    }
+                });
+                submitted++;
+                save(run, done, batch, false);
+            }
+        } finally {
+            acquire(slots, maxInFlight); // every submitted document finished
+        }
+        if (failure.get() != null) throw failure.get();
+        save(run, done, batch, true);
+        return submitted;
+    }
+
+    /** The stored payslip of an employee; only LOCKED runs have one. */
+    @Transactional(readOnly = true)
+    public PayslipFile find(int year, int month, Long employeeId) {
+        PayrollRun run = runRepo.findByYearAndMonth(year, month)
+                .orElseThrow(() -> new ResourceNotFoundException("Run not found for " + year + "-" + month));
+        PayrollPayslip slip = payslipRepo.findByRunIdAndEmployeeId(run.getId(), employeeId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "No payslip document for " + year + "-" + month + " (available once the run is locked)"));
+        Path path = store.path(slip.getContentHash());
+        if (!Files.isRegularFile(path)) {
+            throw new ResourceNotFoundException("Payslip document missing from the store: " + slip.getContentHash());
+        }
+        return new PayslipFile(path, slip.getContentHash(), slip.getSize(), String.format("payslip-%d-%02d.html", year, month));
+    }
+
+    /**
+     * Move finished documents into the batch; when full (or whatever is left when {@code flush})
+     * save and flush it as one JDBC batch, then detach it so the persistence context stays small.
+     */
+    private void save(PayrollRun run, Queue<Rendered> done, List<PayrollPayslip> batch, boolean flush) {
+        for (Rendered r; (r = done.poll()) != null; ) {
+            batch.add(new PayrollPayslip(run, r.employeeId(), r.hash(), r.size()));
+        }
+        if (batch.size() >= batchSize || (flush && !batch.isEmpty())) {
+            payslipRepo.saveAll(batch);
+            payslipRepo.flush();
+            em.clear();
+            batch.clear();
+        }
+    }
+
+    private static void acquire(Semaphore slots, int permits) {
+        try {
+            slots.acquire(permits);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Payslip generation interrupted", ex);
+        }
+    }
+
+    /**
+     * The payslip as a self-contained HTML page. Depends only on the item, so re-rendering the
+     * same item gives the same bytes (and hash).
+     */
+    static byte[] render(int year, int month, PayrollExportRow r) {
+        String name = ((r.firstName() != null ? r.firstName() : "") + " "
+                + (r.lastName() != null ? r.lastName() : "")).trim();
+        String period = String.format("%d-%02d", year, month);
+
+        StringBuilder sb = new StringBuilder(1024);
+        sb.append("<!DOCTYPE html>\n<html><head><meta charset=\"utf-8\"><title>Payslip ").append(period)
+          .append("</title></head>\n<body>\n<h1>Payslip ").append(period).append("</h1>\n<table>\n");
+        row(sb, "Employee", name);
+        row(sb, "Employee ID", String.valueOf(r.employeeId()));
+        row(sb, "Department", r.department());
+        row(sb, "Designation", r.designation());
+        row(sb, "Basic salary", amount(r.basicSalary()));
+        row(sb, "Bonus", amount(r.bonus()));
+        row(sb, "Deductions", amount(r.deductions()));
+        row(sb, "Unpaid days", String.valueOf(r.unpaidDays()));
+        row(sb, "Net salary", amount(r.netSalary()));
+        sb.append("</table>\n</body></html>\n");
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void row(StringBuilder sb, String label, String value) {
+        sb.append("<tr><th>").append(label).append("</th><td>");
+        escape(sb, value);
+        sb.append("</td></tr>\n");
+    }
+
+    private static String amount(BigDecimal v) {
+        return v != null ? v.toPlainString() : "";
+    }
+
+    private static void escape(StringBuilder sb, String s) {
+        if (s == null) return;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '<' -> sb.append("&lt;");
+                case '>' -> sb.append("&gt;");
+                case '&' -> sb.append("&amp;");
+                case '"' -> sb.append("&quot;");
+                case '\'' -> sb.append("&#39;");
+                default -> sb.append(c);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+}
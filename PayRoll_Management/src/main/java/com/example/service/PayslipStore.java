@@ -0,0 +1,76 @@
+package com.example.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.example.config.PayrollProperties;
+
+/**
+ * Content-addressed file store for payslip documents: a document is written once to
+ * {@code <root>/<first 2 hex digits>/<sha-256>} and never changed afterwards, so its hash is a
+ * strong ETag and writing the same document again is a no-op. Files are written to a temporary
+ * name and renamed, so readers never see a partial document. Safe for concurrent use.
+ */
+@Component
+public class PayslipStore {
+
+    private final Path root;
+
+    @Autowired
+    public PayslipStore(PayrollProperties props) {
+        this(Paths.get(props.getPayslipDir()));
+    }
+
+    PayslipStore(Path root) {
+        this.root = root.toAbsolutePath();
+    }
+
+    /** Store the document if it is not there yet; returns its hex SHA-256. */
+    public String put(byte[] content) {
+        String hash = sha256(content);
+        Path target = path(hash);
+        if (Files.exists(target)) return hash;
+        try {
+            Files.createDirectories(target.getParent());
+            Path tmp = Files.createTempFile(target.getParent(), hash, ".tmp");
+            try {
+                Files.write(tmp, content);
+                Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException ex) {
+                // written concurrently by another thread: same hash, same content
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot store payslip " + hash, ex);
+        }
+        return hash;
+    }
+
+    /** Location of a stored document (which may not exist). */
+    public Path path(String hash) {
+        if (hash == null || hash.length() != 64 || !hash.chars().allMatch(c -> (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f'))) {
+            throw new IllegalArgumentException("Not a SHA-256 hash: " + hash);
+        }
+        return root.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex); // required on every JVM
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.example.service;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Mergeable quantile sketch with relative accuracy (the DDSketch scheme): a value v > 0 is
+ * counted in bucket {@code ceil(log_gamma(v))} with {@code gamma = (1 + a) / (1 - a)}, so any
+ * quantile is returned within a relative error {@code a} of an actual value of that rank,
+ * whatever the distribution. Negative values use a mirrored set of buckets; values within
+ * {@link #ZERO_THRESHOLD} of zero are counted apart.
+ *
+ * Memory is one counter per occupied bucket range (a few hundred for salaries at 1%), merging
+ * two sketches adds their counters, and {@link #toBytes()} gives a compact form for storage.
+ * Not thread-safe.
+ */
+public final class QuantileSketch {
+
+    public static final double DEFAULT_RELATIVE_ACCURACY = 0.01;
+
+    static final double ZERO_THRESHOLD = 1e-9;
+
+    private static final byte FORMAT = 1;
+
+    private final double relativeAccuracy;
+    private final double gamma;
+    private final double logGamma;
+
+    private final Store positive = new Store();
+    private final Store negative = new Store();
+    private long zeroCount;
+    private long count;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public QuantileSketch() {
+        this(DEFAULT_RELATIVE_ACCURACY);
+    }
+
+    public QuantileSketch(double relativeAccuracy) {
+        if (!(relativeAccuracy > 0 && relativeAccuracy < 1)) {
+            throw new IllegalArgumentException("relativeAccuracy must be in (0, 1): " + relativeAccuracy);
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+    }
+
+    public void add(double value) {
+        if (!Double.isFinite(value)) {
+            throw new IllegalArgumentException("Not a finite value: " + value);
+        }
+        if (value > ZERO_THRESHOLD) {
+            positive.add(index(value), 1);
+        } else if (value < -ZERO_THRESHOLD) {
+            negative.add(index(-value), 1);
+        } else {
+            zeroCount++;
+        }
+        count++;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /** Add the counts of {@code other}, which must have the same relative accuracy. */
+    public void merge(QuantileSketch other) {
+        if (other.relativeAccuracy != relativeAccuracy) {
+            throw new IllegalArgumentException("Cannot merge sketches of different accuracy");
+        }
+        if (other.count == 0) return;
+        positive.addAll(other.positive);
+        negative.addAll(other.negative);
+        zeroCount += other.zeroCount;
+        count += other.count;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * Estimate of the value of rank {@code floor(q * (count - 1))} in sorted order (q = 0.5 is the
+     * lower median), within the relative accuracy and clamped to [min, max].
+     */
+    public double quantile(double q) {
+        if (q < 0 || q > 1) throw new IllegalArgumentException("q must be in [0, 1]: " + q);
+        if (count == 0) throw new IllegalStateException("Empty sketch");
+
+        long rank = (long) Math.floor(q * (count - 1));
+        long seen = 0;
+        // most negative first: highest negative bucket index downwards
+        for (int i = negative.counts.length - 1; i >= 0; i--) {
+            seen += negative.counts[i];
+            if (seen > rank) return clamp(-value(negative.offset + i));
+        }
+        seen += zeroCount;
+        if (seen > rank) return clamp(0);
+        for (int i = 0; i < positive.counts.length; i++) {
+            seen += positive.counts[i];
+            if (seen > rank) return clamp(value(positive.offset + i));
+        }
+        return max;
+    }
+
+    /**
+     * Counts in {@code bins} equal-width bins between min and max, each bucket counted at its
+     * estimated value; the last bin includes max.
+     */
+    public long[] histogram(int bins) {
+        if (bins < 1) throw new IllegalArgumentException("bins must be >= 1: " + bins);
+        long[] out = new long[bins];
+        if (count == 0) return out;
+        double width = (max - min) / bins;
+        for (int i = 0; i < negative.counts.length; i++) {
+            if (negative.counts[i] != 0) out[bin(-value(negative.offset + i), bins, width)] += negative.counts[i];
+        }
+        if (zeroCount != 0) out[bin(0, bins, width)] += zeroCount;
+        for (int i = 0; i < positive.counts.length; i++) {
+            if (positive.counts[i] != 0) out[bin(value(positive.offset + i), bins, width)] += positive.counts[i];
+        }
+        return out;
+    }
+
+    public long count() { return count; }
+
+    public double min() { return count == 0 ? Double.NaN : min; }
+
+    public double max() { return count == 0 ? Double.NaN : max; }
+
+    public double relativeAccuracy() { return relativeAccuracy; }
+
+    /** Compact binary form (format byte, accuracy, counters, then each store as varints). */
+    public byte[] toBytes() {
+        ByteBuffer buf = ByteBuffer.allocate(1 + 8 * 5 + positive.maxBytes() + negative.maxBytes());
+        buf.put(FORMAT);
+        buf.putDouble(relativeAccuracy);
+        buf.putLong(count);
+        buf.putLong(zeroCount);
+        buf.putDouble(min);
+        buf.putDouble(max);
+        positive.write(buf);
+        negative.write(buf);
+        return Arrays.copyOf(buf.array(), buf.position());
+    }
+
+    public static QuantileSketch fromBytes(byte[] bytes) {
+        ByteBuffer buf = ByteBuffer.wrap(bytes);
+        byte format = buf.get();
+        if (format != FORMAT) throw new IllegalArgumentException("Unknown sketch format: " + format);
+        QuantileSketch s = new QuantileSketch(buf.getDouble());
+        s.count = buf.getLong();
+        s.zeroCount = buf.getLong();
+        s.min = buf.getDouble();
+        s.max = buf.getDouble();
+        s.positive.read(buf);
+        s.negative.read(buf);
+        return s;
+    }
+
+    private int index(double magnitude) {
+        return (int) Math.ceil(Math.log(magnitude) / logGamma);
+    }
+
+    /** Bucket i holds (gamma^(i-1), gamma^i]; this estimate is within the relative accuracy of both ends. */
+    private double value(int index) {
+        return 2 * Math.pow(gamma, index) / (gamma + 1);
+    }
+
+    private double clamp(double v) {
+        return Math.max(min, Math.min(max, v));
+    }
+
+    private int bin(double v, int bins, double width) {
+        if (width <= 0) return 0;
+        int b = (int) ((clamp(v) - min) / width);
+        return Math.min(bins - 1, Math.max(0, b));
+    }
+
+    /** Dense counters for a contiguous range of bucket indexes, grown on demand. */
+    private static final class Store {
+        long[] counts = new long[0];
+        int offset;
+
+        void add(int index, long n) {
+            if (counts.length == 0) {
+                counts = new long[64];
+                offset = index - 32;
+            } else if (index < offset || index >= offset + counts.length) {
+                grow(index);
+            }
+            counts[index - offset] += n;
+        }
+
+        void addAll(Store other) {
+            for (int i = 0; i < other.counts.length; i++) {
+                if (other.counts[i] != 0) add(other.offset + i, other.counts[i]);
+            }
+        }
+
+        private void grow(int index) {
+            int lo = Math.min(offset, index);
+            int hi = Math.max(offset + counts.length - 1, index);
+            int newLo = index < offset ? lo - 32 : lo;
+            int newHi = index > offset + counts.length - 1 ? hi + 32 : hi;
+            long[] grown = new long[newHi - newLo + 1];
+            System.arraycopy(counts, 0, grown, offset - newLo, counts.length);
+            counts = grown;
+            offset = newLo;
+        }
+
+        int maxBytes() {
+            return 8 + counts.length * 10;
+        }
+
+        /** Occupied range only: first index, length, then the counters as unsigned varints. */
+        void write(ByteBuffer buf) {
+            int first = 0;
+            int last = counts.length - 1;
+            while (first <= last && counts[first] == 0) first++;
+            while (last >= first && counts[last] == 0) last--;
+            int length = last - first + 1;
+            buf.putInt(offset + first);
+            buf.putInt(length);
+            for (int i = first; i <= last; i++) {
+                long v = counts[i];
+                while ((v & ~0x7FL) != 0) {
+                    buf.put((byte) ((v & 0x7F) | 0x80));
+                    v >>>= 7;
+                }
+                buf.put((byte) v);
+            }
+        }
+
+        void read(ByteBuffer buf) {
+            offset = buf.getInt();
+            counts = new long[buf.getInt()];
+            for (int i = 0; i < counts.length; i++) {
+                long v = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = buf.get();
+                    v |= (long) (b & 0x7F) << shift;
+                    shift += 7;
+                } while ((b & 0x80) != 0);
+                counts[i] = v;
+            }
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.service;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.config.PayrollProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Bounded in-process cache of report results keyed by (report, year, month).
+ * Entries expire after {@code payroll.report-cache-ttl}; beyond {@code payroll.report-cache-max-entries}
+ * the oldest entries are evicted. Concurrent misses for the same key share one computation.
+ * {@link PayrollService} invalidates a month whenever its run is processed, locked or deleted.
+ *
+ * Metrics: {@code payroll.report.cache.requests} (tags report, result=hit|miss|coalesced),
+ * {@code payroll.report.cache.load} (timer, tag report) and {@code payroll.report.cache.size}.
+ */
+@Component
+public class ReportCache {
+
+    private record Key(String report, int year, int month) { }
+
+    private static final class Entry {
+        final CompletableFuture<Object> value = new CompletableFuture<>();
+        volatile long loadedAt;
+    }
+
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LongSupplier ticker;
+    private final MeterRegistry registry;
+
+    @Autowired
+    public ReportCache(PayrollProperties props, MeterRegistry registry) {
+        this(props.getReportCacheMaxEntries(), props.getReportCacheTtl(), registry, System::nanoTime);
+    }
+
+    ReportCache(int maxEntries, Duration ttl, MeterRegistry registry, LongSupplier ticker) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.ttlNanos = ttl.toNanos();
+        this.registry = registry;
+        this.ticker = ticker;
+        registry.gauge("payroll.report.cache.size", entries, Map::size);
+    }
+
+    /**
+     * Cached result of {@code report} for the month, computing it with {@code loader} on a miss.
+     * A failed load is not cached; every caller waiting on it gets the exception.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String report, int year, int month, Supplier<T> loader) {
+        Key key = new Key(report, year, month);
+        while (true) {
+            Entry e = entries.get(key);
+            if (e != null && e.value.isDone() && expired(e)) {
+                entries.remove(key, e);
+                continue;
+            }
+            if (e != null) {
+                count(report, e.value.isDone() ? "hit" : "coalesced");
+                return (T) join(e.value);
+            }
+
+            Entry mine = new Entry();
+            Entry raced = entries.putIfAbsent(key, mine);
+            if (raced != null) continue;
+
+            count(report, "miss");
+            evictIfFull();
+            Timer.Sample sample = Timer.start(registry);
+            try {
+                T value = loader.get();
+                mine.loadedAt = ticker.getAsLong();
+                mine.value.complete(value);
+                return value;
+            } catch (RuntimeException | Error ex) {
+                entries.remove(key, mine);
+                mine.value.completeExceptionally(ex);
+                throw ex;
+            } finally {
+                sample.stop(registry.timer("payroll.report.cache.load", "report", report));
+            }
+        }
+    }
+
+    /**
+     * Drop every report of the month. When called inside a transaction it is repeated after commit,
+     * so a report computed concurrently from the not yet committed state is not kept.
+     */
+    public void invalidate(int year, int month) {
+        entries.keySet().removeIf(k -> k.year() == year && k.month() == month);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    entries.keySet().removeIf(k -> k.year() == year && k.month() == month);
+                }
+            });
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private boolean expired(Entry e) {
+        return ticker.getAsLong() - e.loadedAt > ttlNanos;
+    }
+
+    /** Drop expired entries, then the oldest loaded ones, until there is room; loads in flight are kept. */
+    private void evictIfFull() {
+        if (entries.size() <= maxEntries) return;
+        entries.entrySet().removeIf(en -> en.getValue().value.isDone() && expired(en.getValue()));
+        while (entries.size() > maxEntries) {
+            Map.Entry<Key, Entry> oldest = entries.entrySet().stream()
+                    .filter(en -> en.getValue().value.isDone())
+                    .min(Comparator.comparingLong(en -> en.getValue().loadedAt))
+                    .orElse(null);
+            if (oldest == null) return;
+            entries.remove(oldest.getKey(), oldest.getValue());
+        }
+    }
+
+    private void count(String report, String result) {
+        Counter.builder("payroll.report.cache.requests")
+                .tag("report", report)
+                .tag("result", result)
+                .register(registry)
+                .increment();
+    }
+
+    private static Object join(CompletableFuture<Object> value) {
+        try {
+            return value.join();
+        } catch (CompletionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException re) throw re;
+            if (cause instanceof Error err) throw err;
+            throw ex;
+        }
+    }
+}
@@ -1,90 +1,218 @@
 package com.example.service;
 
 import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
-import java.util.LinkedHashMap;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 import com.example.dto.DepartmentCostRow;
+import com.example.dto.PayrollAggregateCheck;
 import com.example.dto.PayrollSummaryResponse;
-import com.example.entity.PayrollItem;
+import com.example.dto.PayrollTrendMonth;
+import com.example.dto.SalaryDistributionResponse;
+import com.example.dto.PayrollTrendResponse;
+import com.example.dto.PeriodDepartmentRow;
 import com.example.entity.PayrollRun;
+import com.example.entity.PayrollRunStatus;
+import com.example.exception.BadRequestException;
 import com.example.exception.ResourceNotFoundException;
 import com.example.repo.PayrollItemRepository;
 import com.example.repo.PayrollRunRepository;
 
 import jakarta.transaction.Transactional;
 
+/**
+ * Payroll reports. Processed runs are read from their materialised aggregates
+ * ({@link PayrollAggregateService}); runs without them are aggregated by the database on the fly.
+ * Results are cached per month in {@link ReportCache}; a cache hit does not touch the database,
+ * so these methods do not open a transaction themselves.
+ */
 @Service
 public class ReportService {
 
+    static final int MAX_TREND_MONTHS = 36;
+
+    /** Department rows of LOCKED runs (their items can never change), one entry per locked month. */
+    private final Map<Long, List<DepartmentCostRow>> lockedRuns = new ConcurrentHashMap<>();
+
     private final PayrollRunRepository runRepo;
     private final PayrollItemRepository itemRepo;
+    private final PayrollAggregateService aggregateService;
+    private final ReportCache cache;
+    private final SalaryDistributionService distributionService;
 
     @Autowired
-    public ReportService(PayrollRunRepository runRepo, PayrollItemRepository itemRepo) {
+    public ReportService(PayrollRunRepository runRepo,
+                         PayrollItemRepository itemRepo,
+                         PayrollAggregateService aggregateService,
+                         ReportCache cache,
+                         SalaryDistributionService distributionService) {
         this.runRepo = runRepo;
         this.itemRepo = itemRepo;
+        this.aggregateService = aggregateService;
+        this.cache = cache;
+        this.distributionService = distributionService;
     }
 
-    @Transactional
     public PayrollSummaryResponse payrollSummary(int year, int month) {
-        PayrollRun run = runRepo.findByYearAndMonth(year, month)
-                .orElseThrow(() -> new ResourceNotFoundException("Payroll run not found for " + year + "-" + month));
-        List<PayrollItem> items = itemRepo.findByRun(run);
-
-        BigDecimal totalBasic = BigDecimal.ZERO;
-        BigDecimal totalDeductions = BigDecimal.ZERO;
-        BigDecimal totalBonus = BigDecimal.ZERO;
-        BigDecimal totalNet = BigDecimal.ZERO;
-
-        for (PayrollItem it : items) {
-            totalBasic = totalBasic.add(it.getBasicSalary());
-            totalDeductions = totalDeductions.add(it.getDeductions());
-            totalBonus = totalBonus.add(it.getBonus());
-            totalNet = totalNet.add(it.getNetSalary());
+        return cache.get("payroll-summary", year, month, () -> loadPayrollSummary(year, month));
+    }
+
+    public List<DepartmentCostRow> departmentCost(int year, int month) {
+        return cache.get("department-cost", year, month, () -> loadDepartmentCost(year, month));
+    }
+
+    /**
+     * Net salary percentiles and histograms of a month's run. LOCKED runs are answered from their
+     * stored sketches (written at lock time; runs locked before that get them on first request),
+     * other runs with one streaming pass over the items.
+     */
+    public SalaryDistributionResponse salaryDistribution(int year, int month, int bins) {
+        PayrollRun run = findRun(year, month);
+        if (run.getStatus() != PayrollRunStatus.LOCKED) {
+            return distributionService.toResponse(run, distributionService.build(run.getId()), bins, false);
         }
 
-        PayrollSummaryResponse res = new PayrollSummaryResponse();
-        res.setYear(year);
-        res.setMonth(month);
-        res.setEmployeeCount(items.size());
-        res.setTotalBasic(totalBasic);
-        res.setTotalDeductions(totalDeductions);
-        res.setTotalBonus(totalBonus);
-        res.setTotalNet(totalNet);
-        return res;
+        List<SalaryDistributionService.GroupSketch> sketches = distributionService.load(run.getId());
+        if (!sketches.isEmpty()) {
+            return distributionService.toResponse(run, sketches, bins, true);
+        }
+        sketches = distributionService.build(run.getId());
+        if (!sketches.isEmpty()) {
+            try {
+                distributionService.store(run, sketches);
+            } catch (DataIntegrityViolationException ex) {
+                // a concurrent request stored the same sketches first
+            }
+        }
+        return distributionService.toResponse(run, sketches, bins, false);
+    }
+
+    /** Month-by-month totals from January of {@code year} up to {@code month}, with running YTD sums. */
+    public PayrollTrendResponse yearToDate(int year, int month) {
+        return trend(YearMonth.of(year, 1), YearMonth.of(year, month));
+    }
+
+    /**
+     * Month-by-month totals of the PROCESSED and LOCKED runs from..to (inclusive), with YTD sums.
+     * The department totals of all runs needed are read with one grouped query; runs before
+     * {@code from} in the same year only feed the YTD sums. LOCKED runs are served from memory
+     * once read.
+     */
+    public PayrollTrendResponse trend(YearMonth from, YearMonth to) {
+        if (from.isAfter(to)) {
+            throw new BadRequestException("from (" + from + ") is after to (" + to + ")");
+        }
+        if (ChronoUnit.MONTHS.between(from, to) >= MAX_TREND_MONTHS) {
+            throw new BadRequestException("At most " + MAX_TREND_MONTHS + " months per trend report");
+        }
+
+        YearMonth start = YearMonth.of(from.getYear(), 1);
+        List<PayrollRun> runs = runRepo.findInPeriod(period(start), period(to),
+                EnumSet.of(PayrollRunStatus.PROCESSED, PayrollRunStatus.LOCKED));
+
+        Map<Long, List<DepartmentCostRow>> byRun = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (PayrollRun run : runs) {
+            List<DepartmentCostRow> cached = lockedRuns.get(run.getId());
+            if (cached != null) byRun.put(run.getId(), cached);
+            else missing.add(run.getId());
+        }
+        if (!missing.isEmpty()) {
+            for (PeriodDepartmentRow r : itemRepo.departmentCostByRunIds(missing)) {
+                byRun.computeIfAbsent(r.runId(), id -> new ArrayList<>()).add(new DepartmentCostRow(
+                        r.department(), r.employeeCount(),
+                        r.totalBasic(), r.totalDeductions(), r.totalBonus(), r.totalNet()));
+            }
+            for (PayrollRun run : runs) {
+                if (run.getStatus() == PayrollRunStatus.LOCKED && !lockedRuns.containsKey(run.getId())) {
+                    lockedRuns.put(run.getId(), List.copyOf(byRun.getOrDefault(run.getId(), List.of())));
+                }
+            }
+        }
+
+        List<PayrollTrendMonth> months = new ArrayList<>();
+        Map<String, DepartmentCostRow> departments = new TreeMap<>();
+        PayrollTrendMonth prev = null;
+        for (PayrollRun run : runs) {
+            PayrollTrendMonth m = new PayrollTrendMonth(run.getYear(), run.getMonth(), run.getStatus());
+            boolean inRange = !YearMonth.of(run.getYear(), run.getMonth()).isBefore(from);
+            for (DepartmentCostRow d : byRun.getOrDefault(run.getId(), List.of())) {
+                m.setEmployeeCount(m.getEmployeeCount() + d.getEmployeeCount());
+                m.setTotalBasic(m.getTotalBasic().add(d.getTotalBasic()));
+                m.setTotalDeductions(m.getTotalDeductions().add(d.getTotalDeductions()));
+                m.setTotalBonus(m.getTotalBonus().add(d.getTotalBonus()));
+                m.setTotalNet(m.getTotalNet().add(d.getTotalNet()));
+                if (inRange) addTo(departments, d);
+            }
+            m.setDepartments(byRun.getOrDefault(run.getId(), List.of()));
+
+            boolean sameYear = prev != null && prev.getYear() == m.getYear();
+            m.setYtdBasic(m.getTotalBasic().add(sameYear ? prev.getYtdBasic() : BigDecimal.ZERO));
+            m.setYtdDeductions(m.getTotalDeductions().add(sameYear ? prev.getYtdDeductions() : BigDecimal.ZERO));
+            m.setYtdBonus(m.getTotalBonus().add(sameYear ? prev.getYtdBonus() : BigDecimal.ZERO));
+            m.setYtdNet(m.getTotalNet().add(sameYear ? prev.getYtdNet() : BigDecimal.ZERO));
+            prev = m;
+
+            if (inRange) months.add(m);
+        }
+        return new PayrollTrendResponse(from.toString(), to.toString(), months, new ArrayList<>(departments.values()));
+    }
+
+    private static int period(YearMonth ym) {
+        return ym.getYear() * 100 + ym.getMonthValue();
+    }
+
+    private static void addTo(Map<String, DepartmentCostRow> totals, DepartmentCostRow d) {
+        DepartmentCostRow t = totals.computeIfAbsent(d.getDepartment(), k -> new DepartmentCostRow(
+                k, 0, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO));
+        t.setEmployeeCount(t.getEmployeeCount() + d.getEmployeeCount());
+        t.setTotalBasic(t.getTotalBasic().add(d.getTotalBasic()));
+        t.setTotalDeductions(t.getTotalDeductions().add(d.getTotalDeductions()));
+        t.setTotalBonus(t.getTotalBonus().add(d.getTotalBonus()));
+        t.setTotalNet(t.getTotalNet().add(d.getTotalNet()));
     }
 
+    private PayrollSummaryResponse loadPayrollSummary(int year, int month) {
+        PayrollRun run = findRun(year, month);
+
+        return aggregateService.summary(run).orElseGet(() -> {
+            PayrollSummaryResponse res = itemRepo.summarizeByRunId(run.getId());
+            res.setYear(year);
+            res.setMonth(month);
+            return res;
+        });
+    }
+
+    private List<DepartmentCostRow> loadDepartmentCost(int year, int month) {
+        PayrollRun run = findRun(year, month);
+        // shared between callers while cached
+        return List.copyOf(aggregateService.departmentCost(run)
+                .orElseGet(() -> itemRepo.departmentCostByRunId(run.getId())));
+    }
+
+    /** Compare the materialised aggregates of a month's run with a recompute; optionally rebuild them. */
     @Transactional
-    public List<DepartmentCostRow> departmentCost(int year, int month) {
-        PayrollRun run = runRepo.findByYearAndMonth(year, month)
-                .orElseThrow(() -> new ResourceNotFoundException("Payroll run not found for " + year + "-" + month));
-        List<PayrollItem> items = itemRepo.findByRun(run);
-
-        Map<String, DepartmentCostRow> map = new LinkedHashMap<>();
-        for (PayrollItem it : items) {
-            String dept = it.getEmployee() != null ? it.getEmployee().getDepartment() : "UNKNOWN";
-            if (dept == null || dept.trim().isEmpty()) dept = "UNKNOWN";
-            DepartmentCostRow row = map.computeIfAbsent(dept, d -> {
-                DepartmentCostRow r = new DepartmentCostRow();
-                r.setDepartment(d);
-                r.setTotalBasic(BigDecimal.ZERO);
-                r.setTotalDeductions(BigDecimal.ZERO);
-                r.setTotalBonus(BigDecimal.ZERO);
-                r.setTotalNet(BigDecimal.ZERO);
-                return r;
-            });
-            row.setTotalBasic(row.getTotalBasic().add(it.getBasicSalary()));
-            row.setTotalDeductions(row.getTotalDeductions().add(it.getDeductions()));
-            row.setTotalBonus(row.getTotalBonus().add(it.getBonus()));
-            row.setTotalNet(row.getTotalNet().add(it.getNetSalary()));
+    public PayrollAggregateCheck checkAggregates(int year, int month, boolean repair) {
+        PayrollAggregateCheck res = aggregateService.check(findRun(year, month), repair);
+        if (res.isRepaired()) {
+            cache.invalidate(year, month);
         }
+        return res;
+    }
 
-        return new ArrayList<>(map.values());
+    private PayrollRun findRun(int year, int month) {
+        return runRepo.findByYearAndMonth(year, month)
+                .orElseThrow(() -> new ResourceNotFoundException("Payroll run not found for " + year + "-" + month));
     }
 }
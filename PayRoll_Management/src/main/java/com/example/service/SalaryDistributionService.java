@@ -0,0 +1,155 @@
+package com.example.service;
+
+import java.math.BigDecimal;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.dto.HistogramBin;
+import com.example.dto.NetSalaryRow;
+import com.example.dto.SalaryDistributionGroup;
+import com.example.dto.SalaryDistributionResponse;
+import com.example.entity.PayrollRun;
+import com.example.entity.PayrollSalarySketch;
+import com.example.repo.PayrollItemRepository;
+import com.example.repo.PayrollSalarySketchRepository;
+
+/**
+ * Net salary distribution of a run: one {@link QuantileSketch} per department and designation,
+ * built in a single streaming pass over the items. Department and overall figures are merges of
+ * the group sketches. LOCKED runs keep their sketches in {@link PayrollSalarySketch}.
+ */
+@Service
+public class SalaryDistributionService {
+
+    /** Sketch of one department/designation group, values in paise. */
+    public record GroupSketch(String department, String designation, QuantileSketch sketch) { }
+
+    private final PayrollItemRepository itemRepo;
+    private final PayrollSalarySketchRepository sketchRepo;
+
+    @Autowired
+    public SalaryDistributionService(PayrollItemRepository itemRepo, PayrollSalarySketchRepository sketchRepo) {
+        this.itemRepo = itemRepo;
+        this.sketchRepo = sketchRepo;
+    }
+
+    /** One pass over the run's items; memory depends on the number of groups, not of items. */
+    @Transactional(readOnly = true)
+    public List<GroupSketch> build(Long runId) {
+        Map<String, GroupSketch> groups = new TreeMap<>();
+        try (Stream<NetSalaryRow> rows = itemRepo.streamNetSalaries(runId)) {
+            Iterator<NetSalaryRow> it = rows.iterator();
+            while (it.hasNext()) {
+                NetSalaryRow r = it.next();
+                String dept = label(r.department());
+                String desig = label(r.designation());
+                // the first spelling seen labels the group
+                groups.computeIfAbsent(groupKey(dept) + '\u0000' + groupKey(desig),
+                                k -> new GroupSketch(dept, desig, new QuantileSketch()))
+                        .sketch().add(Money.toPaise(r.netSalary()));
+            }
+        }
+        return new ArrayList<>(groups.values());
+    }
+
+    /** Stored sketches of the run; empty if none were stored. */
+    @Transactional(readOnly = true)
+    public List<GroupSketch> load(Long runId) {
+        List<GroupSketch> out = new ArrayList<>();
+        for (PayrollSalarySketch s : sketchRepo.findByRunId(runId)) {
+            out.add(new GroupSketch(s.getDepartment(), s.getDesignation(), QuantileSketch.fromBytes(s.getSketch())));
+        }
+        return out;
+    }
+
+    /** Replace the stored sketches of the run. */
+    @Transactional
+    public void store(PayrollRun run, List<GroupSketch> sketches) {
+        sketchRepo.deleteByRunId(run.getId());
+        List<PayrollSalarySketch> rows = new ArrayList<>(sketches.size());
+        for (GroupSketch g : sketches) {
+            rows.add(new PayrollSalarySketch(run, g.department(), g.designation(), g.sketch().count(), g.sketch().toBytes()));
+        }
+        sketchRepo.saveAll(rows);
+    }
+
+    /** Percentiles and histograms ({@code bins} bins) of each group, each department and the whole run. */
+    public SalaryDistributionResponse toResponse(PayrollRun run, List<GroupSketch> sketches, int bins, boolean stored) {
+        QuantileSketch overall = new QuantileSketch();
+        Map<String, GroupSketch> byDept = new TreeMap<>(); // by groupKey, like the groups
+        List<SalaryDistributionGroup> groups = new ArrayList<>(sketches.size());
+        for (GroupSketch g : sketches) {
+            overall.merge(g.sketch());
+            byDept.computeIfAbsent(groupKey(g.department()), k -> new GroupSketch(g.department(), null, new QuantileSketch()))
+                    .sketch().merge(g.sketch());
+            groups.add(group(g.department(), g.designation(), g.sketch(), bins));
+        }
+        List<SalaryDistributionGroup> departments = new ArrayList<>(byDept.size());
+        byDept.values().forEach(d -> departments.add(group(d.department(), null, d.sketch(), bins)));
+
+        SalaryDistributionResponse res = new SalaryDistributionResponse();
+        res.setYear(run.getYear());
+        res.setMonth(run.getMonth());
+        res.setStatus(run.getStatus());
+        res.setRelativeAccuracy(QuantileSketch.DEFAULT_RELATIVE_ACCURACY);
+        res.setFromStoredSketches(stored);
+        res.setOverall(group(null, null, overall, bins));
+        res.setDepartments(departments);
+        res.setGroups(groups);
+        return res;
+    }
+
+    private static SalaryDistributionGroup group(String department, String designation, QuantileSketch s, int bins) {
+        SalaryDistributionGroup g = new SalaryDistributionGroup();
+        g.setDepartment(department);
+        g.setDesignation(designation);
+        g.setCount(s.count());
+        g.setHistogram(List.of());
+        if (s.count() == 0) return g;
+
+        g.setMin(rupees(s.min()));
+        g.setP50(rupees(s.quantile(0.5)));
+        g.setP90(rupees(s.quantile(0.9)));
+        g.setP99(rupees(s.quantile(0.99)));
+        g.setMax(rupees(s.max()));
+
+        long[] counts = s.histogram(bins);
+        double width = (s.max() - s.min()) / bins;
+        List<HistogramBin> histogram = new ArrayList<>(bins);
+        for (int i = 0; i < bins; i++) {
+            double from = s.min() + i * width;
+            double to = i == bins - 1 ? s.max() : from + width;
+            histogram.add(new HistogramBin(rupees(from), rupees(to), counts[i]));
+        }
+        g.setHistogram(histogram);
+        return g;
+    }
+
+    private static BigDecimal rupees(double paise) {
+        return Money.toRupees(Math.round(paise));
+    }
+
+    /**
+     * Grouping key that is equal whenever MySQL's default (case- and accent-insensitive) collation
+     * compares the labels as equal, so the stored groups never collide on the unique
+     * (run, department, designation) index: "Sales", "sales " and "SALÉS" are one group.
+     */
+    static String groupKey(String label) {
+        String folded = Normalizer.normalize(label.trim(), Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return folded.toLowerCase(Locale.ROOT);
+    }
+
+    private static String label(String s) {
+        return s == null || s.trim().isEmpty() ? "UNKNOWN" : s;
+    }
+}
@@ -10,16 +10,19 @@ import com.example.entity.User;
 import com.example.exception.ConflictException;
 import com.example.exception.ResourceNotFoundException;
 import com.example.repo.UserRepository;
+import com.example.security.UserStatusCache;
 
 @Service
 public class UserAdminService {
 	private final UserRepository userRepo;
     private final PasswordEncoder encoder;
+    private final UserStatusCache statusCache;
 
     @Autowired
-    public UserAdminService(UserRepository userRepo, PasswordEncoder encoder) {
+    public UserAdminService(UserRepository userRepo, PasswordEncoder encoder, UserStatusCache statusCache) {
         this.userRepo = userRepo;
         this.encoder = encoder;
+        this.statusCache = statusCache;
     }
 
     public User create(CreateUserRequest req) {
@@ -35,11 +38,14 @@ public class UserAdminService {
         return userRepo.save(u);
     }
 
+    /** Enable or disable an account; requests with the user's existing tokens see it immediately. */
     public User updateStatus(Long id, UserStatusUpdateRequest req) {
         User u = userRepo.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found: " + id));
         u.setEnabled(req.isEnabled());
-        return userRepo.save(u);
+        User saved = userRepo.save(u);
+        statusCache.invalidate(id);
+        return saved;
     }
 }
 
@@ -0,0 +1,24 @@
+package com.example.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class SequenceInitializerTest {
+
+    @Test
+    void align_raisesEverySequencePastTheExistingIds() {
+        JdbcTemplate jdbc = mock(JdbcTemplate.class);
+        new SequenceInitializer(jdbc, mock(EntityManagerFactory.class)).align();
+
+        verify(jdbc).update(eq("update payroll_item_seq set next_val = greatest(next_val,"
+                + " (select coalesce(max(id), 0) from payroll_items) + ?)"), eq(100));
+        verify(jdbc).update(eq("update payroll_payslip_seq set next_val = greatest(next_val,"
+                + " (select coalesce(max(id), 0) from payroll_payslips) + ?)"), eq(100));
+        verifyNoMoreInteractions(jdbc);
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.security;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.example.entity.Role;
+import com.example.entity.User;
+import com.example.repo.UserRepository;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomUserDetailsServiceTest {
+
+    @Mock
+    private UserRepository userRepo;
+
+    @InjectMocks
+    private CustomUserDetailsService service;
+
+    @Test
+    void login_withWeakerHash_storesRehashedPassword() {
+        User u = user(new BCryptPasswordEncoder(4).encode("secret"));
+        when(userRepo.findByUsername("emp1")).thenReturn(Optional.of(u));
+
+        authenticate(new BCryptPasswordEncoder(5));
+
+        ArgumentCaptor<User> saved = ArgumentCaptor.forClass(User.class);
+        verify(userRepo).save(saved.capture());
+        assertTrue(saved.getValue().getPassword().startsWith("$2a$05$"));
+        assertTrue(new BCryptPasswordEncoder(5).matches("secret", saved.getValue().getPassword()));
+    }
+
+    @Test
+    void login_withCurrentStrength_doesNotRehash() {
+        User u = user(new BCryptPasswordEncoder(4).encode("secret"));
+        when(userRepo.findByUsername("emp1")).thenReturn(Optional.of(u));
+
+        authenticate(new BCryptPasswordEncoder(4));
+
+        verify(userRepo, never()).save(any());
+    }
+
+    private void authenticate(BCryptPasswordEncoder encoder) {
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setUserDetailsService(service);
+        provider.setPasswordEncoder(encoder);
+        provider.setUserDetailsPasswordService(service);
+        assertTrue(provider.authenticate(new UsernamePasswordAuthenticationToken("emp1", "secret")).isAuthenticated());
+    }
+
+    private static User user(String hash) {
+        User u = new User();
+        u.setId(2L);
+        u.setUsername("emp1");
+        u.setPassword(hash);
+        u.setRole(Role.EMPLOYEE);
+        u.setEnabled(true);
+        return u;
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthFilterTest {
+
+    @Mock private UserDetailsService userDetailsService;
+    @Mock private TokenBlacklistService blacklist;
+    @Mock private UserStatusCache statusCache;
+
+    private static final String SECRET = "test-secret-test-secret-test-secret-42";
+
+    private final JwtService jwtService = new JwtService(SECRET, 60, 100, Clock.systemUTC());
+    private JwtAuthFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new JwtAuthFilter(jwtService, userDetailsService, blacklist, statusCache, true);
+        SecurityContextHolder.clearContext();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private Authentication run(String token) throws Exception {
+        MockHttpServletRequest req = new MockHttpServletRequest("GET", "/api/v1/profile");
+        req.setServletPath("/api/v1/profile");
+        req.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(req, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    @Test
+    void tokenWithUid_authenticatesFromClaims_withoutLoadingTheUser() throws Exception {
+        when(statusCache.isEnabled(7L)).thenReturn(true);
+
+        Authentication auth = run(jwtService.generateToken(7L, "asha", "ADMIN"));
+
+        assertEquals("asha", auth.getName());
+        assertEquals(new JwtPrincipal(7L, "asha", "ADMIN"), auth.getPrincipal());
+        assertEquals(List.of("ROLE_ADMIN"), auth.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void disabledUser_isNotAuthenticated() throws Exception {
+        when(statusCache.isEnabled(7L)).thenReturn(false);
+
+        assertNull(run(jwtService.generateToken(7L, "asha", "ADMIN")));
+    }
+
+    @Test
+    void tokenWithoutUid_fallsBackToUserLookup() throws Exception {
+        // issued before tokens carried a uid claim
+        String legacy = Jwts.builder()
+                .subject("ravi")
+                .claim("role", "EMPLOYEE")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+        when(userDetailsService.loadUserByUsername("ravi")).thenReturn(
+                new User("ravi", "x", List.of(new SimpleGrantedAuthority("ROLE_EMPLOYEE"))));
+
+        assertEquals("ravi", run(legacy).getName());
+        verifyNoInteractions(statusCache);
+    }
+}
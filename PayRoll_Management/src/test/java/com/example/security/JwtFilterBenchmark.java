@@ -0,0 +1,71 @@
+package com.example.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token check done by {@link JwtAuthFilter} per request: the former isValid + extractUsername
+ * (two parser builds, two HMAC checks and JSON parses) against one {@link JwtService#verify}
+ * with the claims cache disabled and enabled. The user lookup that follows is not included.
+ *
+ * Run: mvn test-compile, then execute main() with the test classpath.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtFilterBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark";
+
+    private SecretKey key;
+    private JwtService uncached;
+    private JwtService cached;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        uncached = new JwtService(SECRET, 120, 0, Clock.systemUTC());
+        cached = new JwtService(SECRET, 120, 10_000, Clock.systemUTC());
+        token = cached.generateToken(42L, "benchmark.user", "EMPLOYEE");
+    }
+
+    @Benchmark
+    public String twoParses() {
+        // what the filter used to do
+        try {
+            Jwts.parser().verifyWith(key).build().parseSignedClaims(token);
+        } catch (Exception e) {
+            return null;
+        }
+        return Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload().getSubject();
+    }
+
+    @Benchmark
+    public String singleParse() {
+        Claims claims = uncached.verify(token);
+        return claims != null ? claims.getSubject() : null;
+    }
+
+    @Benchmark
+    public String cachedClaims() {
+        Claims claims = cached.verify(token);
+        return claims != null ? claims.getSubject() : null;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(JwtFilterBenchmark.class.getSimpleName()).build()).run();
+    }
+}
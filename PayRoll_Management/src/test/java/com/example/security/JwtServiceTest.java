@@ -0,0 +1,81 @@
+package com.example.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtServiceTest {
+
+    private static final String SECRET = "test-secret-test-secret-test-secret-42";
+
+    /** Clock the test moves forward. */
+    static final class TestClock extends Clock {
+        Instant now = Instant.parse("2025-03-01T10:00:00Z");
+
+        void advance(Duration d) { now = now.plus(d); }
+
+        @Override public ZoneId getZone() { return ZoneOffset.UTC; }
+        @Override public Clock withZone(ZoneId zone) { return this; }
+        @Override public Instant instant() { return now; }
+    }
+
+    private final TestClock clock = new TestClock();
+
+    @Test
+    void verify_returnsClaims_andCachesUntilExpiry() {
+        JwtService jwt = new JwtService(SECRET, 60, 100, clock);
+        String token = jwt.generateToken(7L, "asha", "EMPLOYEE");
+
+        Claims claims = jwt.verify(token);
+        assertEquals("asha", claims.getSubject());
+        assertEquals("EMPLOYEE", claims.get("role"));
+        assertEquals(7L, JwtService.userId(claims));
+        assertEquals(1, jwt.cachedTokens());
+        assertSame(claims, jwt.verify(token));
+        assertEquals("asha", jwt.extractUsername(token));
+
+        clock.advance(Duration.ofMinutes(61));
+        assertNull(jwt.verify(token));
+        assertEquals(0, jwt.cachedTokens());
+        assertThrows(JwtException.class, () -> jwt.extractUsername(token));
+    }
+
+    @Test
+    void verify_rejectsForgedAndMalformedTokens_withoutCachingThem() {
+        JwtService jwt = new JwtService(SECRET, 60, 100, clock);
+        JwtService other = new JwtService(SECRET.replace('4', '5'), 60, 100, clock);
+
+        assertNull(jwt.verify(other.generateToken(1L, "admin", "ADMIN")));
+        assertNull(jwt.verify("not.a.token"));
+        assertNull(jwt.verify(""));
+        assertNull(jwt.verify(null));
+        assertFalse(jwt.isValid("garbage"));
+        assertEquals(0, jwt.cachedTokens());
+    }
+
+    @Test
+    void verify_cacheStaysBounded() {
+        JwtService jwt = new JwtService(SECRET, 60, 8, clock);
+        for (int i = 0; i < 50; i++) {
+            String token = jwt.generateToken((long) i, "user" + i, "EMPLOYEE");
+            assertEquals("user" + i, jwt.verify(token).getSubject());
+            assertTrue(jwt.cachedTokens() <= 8);
+        }
+    }
+
+    @Test
+    void verify_withCacheDisabled_stillVerifies() {
+        JwtService jwt = new JwtService(SECRET, 60, 0, clock);
+        String token = jwt.generateToken(3L, "ravi", "ADMIN");
+        assertEquals("ADMIN", jwt.extractRole(token));
+        assertEquals(0, jwt.cachedTokens());
+    }
+}
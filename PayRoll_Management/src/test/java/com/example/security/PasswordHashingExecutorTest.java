@@ -0,0 +1,71 @@
+package com.example.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import com.example.exception.TooManyRequestsException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashingExecutorTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final PasswordHashingExecutor hasher = new PasswordHashingExecutor(1, 1, Duration.ofSeconds(2), registry);
+
+    @AfterEach
+    void tearDown() {
+        hasher.shutdown();
+    }
+
+    @Test
+    void run_returnsResult_andRecordsTimings() {
+        assertEquals("hashed", hasher.run(() -> "hashed"));
+        assertEquals(1, registry.timer("auth.hash.time").count());
+        assertEquals(1, registry.timer("auth.hash.wait").count());
+    }
+
+    @Test
+    void run_rethrowsTheTaskException() {
+        assertThrows(BadCredentialsException.class, () -> hasher.run(() -> {
+            throw new BadCredentialsException("Bad credentials");
+        }));
+    }
+
+    @Test
+    void saturatedPool_rejectsAtOnce_withRetryAfter() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> hasher.run(() -> {
+            started.countDown();
+            await(release);
+            return "first";
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> hasher.run(() -> "second"));
+        while (registry.get("auth.hash.queue").gauge().value() < 1) Thread.onSpinWait();
+
+        TooManyRequestsException ex = assertThrows(TooManyRequestsException.class, () -> hasher.run(() -> "third"));
+        assertEquals(Duration.ofSeconds(2), ex.getRetryAfter());
+        assertEquals(1, registry.counter("auth.hash.rejected").count());
+
+        release.countDown();
+        assertEquals("first", running.get(5, TimeUnit.SECONDS));
+        assertEquals("second", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBlacklistServiceTest {
+
+    /** Clock the test moves forward. */
+    static final class TestClock extends Clock {
+        Instant now = Instant.parse("2025-03-01T10:00:00Z");
+
+        @Override public ZoneId getZone() { return ZoneOffset.UTC; }
+        @Override public Clock withZone(ZoneId zone) { return this; }
+        @Override public Instant instant() { return now; }
+    }
+
+    private final TestClock clock = new TestClock();
+
+    @Test
+    void blacklist_untilExpiry_thenBucketIsDropped() {
+        TokenBlacklistService svc = new TokenBlacklistService(Duration.ofMinutes(1), 1000, clock);
+        svc.blacklist("token-a", clock.now.plusSeconds(90));
+        svc.blacklist("token-b", clock.now.plusSeconds(600));
+        svc.blacklist("token-a", clock.now.plusSeconds(90)); // logged out twice
+
+        assertTrue(svc.isBlacklisted("token-a"));
+        assertTrue(svc.isBlacklisted("token-b"));
+        assertFalse(svc.isBlacklisted("token-c"));
+        assertEquals(2, svc.size());
+
+        clock.now = clock.now.plusSeconds(180);
+        svc.cleanup();
+        assertEquals(1, svc.size());
+        assertFalse(svc.isBlacklisted("token-a"));
+        assertTrue(svc.isBlacklisted("token-b"));
+    }
+
+    @Test
+    void bucketBeyondCapacity_filterGrows_withoutLosingRevocations() {
+        TokenBlacklistService svc = new TokenBlacklistService(Duration.ofMinutes(15), 64, clock);
+        IntStream.range(0, 5_000).forEach(i -> svc.blacklist("revoked-" + i, clock.now.plusSeconds(60 + i % 600)));
+
+        assertEquals(5_000, svc.size());
+        IntStream.range(0, 5_000).forEach(i -> assertTrue(svc.isBlacklisted("revoked-" + i)));
+        IntStream.range(0, 5_000).forEach(i -> assertFalse(svc.isBlacklisted("live-" + i)));
+    }
+
+    @Test
+    void cleanup_dropsOnlyExpiredBuckets_withTheirFilters() {
+        TokenBlacklistService svc = new TokenBlacklistService(Duration.ofMinutes(15), 64, clock);
+        IntStream.range(0, 1_000).forEach(i -> svc.blacklist("early-" + i, clock.now.plusSeconds(60)));
+        IntStream.range(0, 1_000).forEach(i -> svc.blacklist("late-" + i, clock.now.plusSeconds(3_600)));
+
+        clock.now = clock.now.plusSeconds(1_800);
+        svc.cleanup();
+        assertEquals(1_000, svc.size());
+        IntStream.range(0, 1_000).forEach(i -> assertFalse(svc.isBlacklisted("early-" + i)));
+        IntStream.range(0, 1_000).forEach(i -> assertTrue(svc.isBlacklisted("late-" + i)));
+    }
+
+    @Test
+    void bloomFilter_falsePositiveRate_isAboutOnePercent() {
+        TokenBlacklistService.BloomFilter f = new TokenBlacklistService.BloomFilter(10_000);
+        IntStream.range(0, 10_000).forEach(i -> f.add(TokenBlacklistService.hash("in-" + i)));
+
+        IntStream.range(0, 10_000).forEach(i -> assertTrue(f.mightContain(TokenBlacklistService.hash("in-" + i))));
+        long falsePositives = IntStream.range(0, 100_000).filter(i -> f.mightContain(TokenBlacklistService.hash("out-" + i))).count();
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.security;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Revocation checks under concurrency with 200k revoked tokens (a mass logout): the former
+ * map of raw tokens against {@link TokenBlacklistService}. "checkLegacyMap" and "checkStore" run 4 threads checking live
+ * tokens; "mixed" adds a thread revoking tokens meanwhile; "sweep" is the periodic cleanup after
+ * half of the revocations expired.
+ *
+ * Run: mvn test-compile, then execute main() with the test classpath.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TokenRevocationBenchmark {
+
+    private static final int REVOKED = 200_000;
+    private static final int LIVE = 1_024;
+
+    private Map<String, Instant> legacy;
+    private TokenBlacklistService store;
+    private String[] live;
+    private final AtomicLong next = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        legacy = new ConcurrentHashMap<>();
+        store = new TokenBlacklistService(Duration.ofMinutes(30), 10_000);
+        Instant now = Instant.now();
+        for (int i = 0; i < REVOKED; i++) {
+            String token = token("revoked", i);
+            Instant exp = now.plusSeconds(600 + i % 7_200);
+            legacy.put(token, exp);
+            store.blacklist(token, exp);
+        }
+        live = new String[LIVE];
+        for (int i = 0; i < LIVE; i++) live[i] = token("live", i);
+    }
+
+    /** Roughly the size of a real token. */
+    private static String token(String kind, long i) {
+        return "eyJhbGciOiJIUzI1NiJ9.eyJzdWIiOiJ1c2VyLSIsInVpZCI6MTIzNDUsInJvbGUiOiJFTVBMT1lFRSJ9." + kind + "-" + i
+                + "-Qm9Qq4yq3o0vYkNnX1cY0mVtI2y3xq0o8o8c2k3l0m4";
+    }
+
+    /** A fresh copy, as the filter gets from the header: no cached String hash. */
+    private String randomLive() {
+        return new String(live[ThreadLocalRandom.current().nextInt(LIVE)]);
+    }
+
+    @Benchmark
+    @Group("checkLegacyMap")
+    @GroupThreads(4)
+    public boolean checkLegacyMap() {
+        Instant exp = legacy.get(randomLive());
+        return exp != null && exp.isAfter(Instant.now());
+    }
+
+    @Benchmark
+    @Group("checkStore")
+    @GroupThreads(4)
+    public boolean checkStore() {
+        return store.isBlacklisted(randomLive());
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(3)
+    public boolean mixedCheck() {
+        return store.isBlacklisted(randomLive());
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public void mixedRevoke() {
+        store.blacklist(token("more", next.incrementAndGet()), Instant.now().plusSeconds(3_600));
+    }
+
+    /** Cleanup once half the revocations expired: whole buckets dropped with their filters. */
+    @State(Scope.Thread)
+    public static class Sweep {
+        TokenBlacklistService store;
+
+        @Setup(Level.Invocation)
+        public void setUp() {
+            store = new TokenBlacklistService(Duration.ofMinutes(30), 10_000);
+            Instant now = Instant.now();
+            for (int i = 0; i < 20_000; i++) {
+                store.blacklist("t-" + i, i % 2 == 0 ? now.minusSeconds(120) : now.plusSeconds(3_600));
+            }
+        }
+    }
+
+    @Benchmark
+    public int sweep(Sweep s) {
+        s.store.cleanup();
+        return s.store.size();
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(TokenRevocationBenchmark.class.getSimpleName()).build()).run();
+    }
+}
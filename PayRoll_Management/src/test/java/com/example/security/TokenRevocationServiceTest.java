@@ -0,0 +1,125 @@
+package com.example.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+
+import com.example.dto.RevokedTokenRow;
+import com.example.entity.RevokedToken;
+import com.example.repo.RevokedTokenRepository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/** Two nodes (each with its own in-memory store) sharing one revocation table. */
+class TokenRevocationServiceTest {
+
+    private final TokenBlacklistServiceTest.TestClock clock = new TokenBlacklistServiceTest.TestClock();
+    private final List<RevokedToken> table = new ArrayList<>();
+    private long nextId = 1;
+
+    private TokenBlacklistService storeA, storeB;
+    private TokenRevocationService nodeA, nodeB;
+
+    @BeforeEach
+    void setUp() {
+        storeA = new TokenBlacklistService(Duration.ofMinutes(1), 1000, clock);
+        storeB = new TokenBlacklistService(Duration.ofMinutes(1), 1000, clock);
+        nodeA = new TokenRevocationService(sharedRepo(), storeA, 2, 10, clock);
+        nodeB = new TokenRevocationService(sharedRepo(), storeB, 2, 10, clock);
+    }
+
+    @Test
+    void logoutOnOneNode_reachesTheOther_atItsNextPoll() {
+        nodeA.revoke("token-a", clock.now.plusSeconds(600));
+
+        assertTrue(storeA.isBlacklisted("token-a"));
+        assertFalse(storeB.isBlacklisted("token-a"));
+
+        assertEquals(1, nodeB.poll());
+        assertTrue(storeB.isBlacklisted("token-a"));
+        assertEquals(0, nodeA.poll()); // its own revocation is already known
+
+        nodeB.revoke("token-a", clock.now.plusSeconds(600)); // logged out twice: unique row
+        assertEquals(1, table.size());
+    }
+
+    @Test
+    void restartedNode_loadsUnexpiredRevocations_inPages() {
+        for (int i = 0; i < 5; i++) nodeA.revoke("live-" + i, clock.now.plusSeconds(600));
+        nodeA.revoke("expiring", clock.now.plusSeconds(30));
+        clock.now = clock.now.plusSeconds(60);
+
+        TokenBlacklistService store = new TokenBlacklistService(Duration.ofMinutes(1), 1000, clock);
+        TokenRevocationService restarted = new TokenRevocationService(sharedRepo(), store, 2, 10, clock);
+        restarted.load();
+
+        assertEquals(5, store.size());
+        assertTrue(store.isBlacklisted("live-4"));
+        assertFalse(store.isBlacklisted("expiring"));
+        assertEquals(5, restarted.watermark());
+
+        nodeA.purgeExpired();
+        assertEquals(5, table.size());
+    }
+
+    @Test
+    void revocationCommittedBelowTheWatermark_isPickedUpByTheOverlap() {
+        nodeA.revoke("first", clock.now.plusSeconds(600));
+        long slowId = nextId++; // allocated by a logout whose transaction commits later
+        nodeA.revoke("third", clock.now.plusSeconds(600));
+        nodeB.poll();
+        assertEquals(3, nodeB.watermark());
+
+        RevokedToken slow = row("second", clock.now.toEpochMilli() + 600_000);
+        slow.setId(slowId);
+        table.add(slow);
+
+        assertEquals(1, nodeB.poll());
+        assertTrue(storeB.isBlacklisted("second"));
+    }
+
+    private RevokedToken row(String token, long expiresAt) {
+        TokenDigest d = TokenDigest.of(token);
+        return new RevokedToken(d.hi(), d.lo(), TokenBlacklistService.hash(token), expiresAt);
+    }
+
+    /** Repository of one node, backed by the shared table. */
+    private RevokedTokenRepository sharedRepo() {
+        RevokedTokenRepository repo = mock(RevokedTokenRepository.class);
+        when(repo.save(any(RevokedToken.class))).thenAnswer(inv -> {
+            RevokedToken t = inv.getArgument(0);
+            boolean duplicate = table.stream()
+                    .anyMatch(r -> r.getDigestHi() == t.getDigestHi() && r.getDigestLo() == t.getDigestLo());
+            if (duplicate) throw new DataIntegrityViolationException("uk_revoked_tokens_digest");
+            t.setId(nextId++);
+            table.add(t);
+            return t;
+        });
+        when(repo.feed(anyLong(), anyLong(), any(Pageable.class))).thenAnswer(inv -> {
+            long after = inv.getArgument(0);
+            long now = inv.getArgument(1);
+            Pageable page = inv.getArgument(2);
+            return table.stream()
+                    .filter(r -> r.getId() > after && r.getExpiresAt() > now)
+                    .sorted(Comparator.comparing(RevokedToken::getId))
+                    .limit(page.getPageSize())
+                    .map(r -> new RevokedTokenRow(r.getId(), r.getTokenHash(), r.getDigestHi(), r.getDigestLo(), r.getExpiresAt()))
+                    .toList();
+        });
+        when(repo.deleteExpired(anyLong())).thenAnswer(inv -> {
+            long now = inv.getArgument(0);
+            int before = table.size();
+            table.removeIf(r -> r.getExpiresAt() <= now);
+            return before - table.size();
+        });
+        return repo;
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.security;
+
+import com.example.repo.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserStatusCacheTest {
+
+    @Mock private UserRepository userRepo;
+
+    private final AtomicLong now = new AtomicLong();
+
+    private UserStatusCache cache(int maxEntries) {
+        return new UserStatusCache(userRepo, maxEntries, Duration.ofSeconds(60), now::get);
+    }
+
+    @Test
+    void isEnabled_loadsOnce_untilInvalidated() {
+        UserStatusCache cache = cache(100);
+        when(userRepo.findEnabledById(5L)).thenReturn(Optional.of(true), Optional.of(false));
+
+        assertTrue(cache.isEnabled(5L));
+        assertTrue(cache.isEnabled(5L));
+        verify(userRepo, times(1)).findEnabledById(5L);
+
+        cache.invalidate(5L);
+        assertFalse(cache.isEnabled(5L));
+        verify(userRepo, times(2)).findEnabledById(5L);
+    }
+
+    @Test
+    void isEnabled_reloadsAfterTtl_andTreatsUnknownUsersAsDisabled() {
+        UserStatusCache cache = cache(100);
+        when(userRepo.findEnabledById(5L)).thenReturn(Optional.of(true), Optional.empty());
+
+        assertTrue(cache.isEnabled(5L));
+        now.addAndGet(Duration.ofSeconds(61).toNanos());
+        assertFalse(cache.isEnabled(5L));
+    }
+
+    @Test
+    void isEnabled_staysBounded() {
+        UserStatusCache cache = cache(8);
+        when(userRepo.findEnabledById(anyLong())).thenReturn(Optional.of(true));
+        for (long id = 1; id <= 50; id++) {
+            assertTrue(cache.isEnabled(id));
+            assertTrue(cache.size() <= 8);
+        }
+    }
+
+    @Test
+    void slowLoad_blocksNeitherOtherUsers_norKeepsAValueInvalidatedMeanwhile() throws Exception {
+        UserStatusCache cache = cache(100);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(userRepo.findEnabledById(5L)).thenAnswer(inv -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.of(true); // read before the user was disabled
+        }).thenReturn(Optional.of(false));
+        when(userRepo.findEnabledById(21L)).thenReturn(Optional.of(true)); // same hash bin as 5
+
+        CompletableFuture<Boolean> slow = CompletableFuture.supplyAsync(() -> cache.isEnabled(5L));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        assertTimeoutPreemptively(Duration.ofSeconds(2), () -> assertTrue(cache.isEnabled(21L)));
+
+        cache.invalidate(5L); // user disabled while the first load was running
+        release.countDown();
+        assertTrue(slow.get(5, TimeUnit.SECONDS));
+        assertFalse(cache.isEnabled(5L));
+    }
+}
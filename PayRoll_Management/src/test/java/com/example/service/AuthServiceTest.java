@@ -9,6 +9,8 @@ import com.example.entity.User;
 import com.example.repo.EmployeeRepository;
 import com.example.repo.UserRepository;
 import com.example.security.JwtService;
+import com.example.security.PasswordHashingExecutor;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -20,6 +22,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -46,6 +49,14 @@ class AuthServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private PasswordHashingExecutor hasher;
+
+    @BeforeEach
+    void runHashingInline() {
+        lenient().when(hasher.run(any())).thenAnswer(inv -> inv.<Supplier<?>>getArgument(0).get());
+    }
+
     @Test
     void testLoginSuccess() {
         AuthRequest req = new AuthRequest("admin", "pass");
@@ -58,7 +69,7 @@ class AuthServiceTest {
         Authentication auth = new UsernamePasswordAuthenticationToken("admin", "pass");
         when(authenticationManager.authenticate(any())).thenReturn(auth);
         when(userRepository.findByUsername("admin")).thenReturn(Optional.of(u));
-        when(jwtService.generateToken("admin", "ADMIN")).thenReturn("jwtToken");
+        when(jwtService.generateToken(1L, "admin", "ADMIN")).thenReturn("jwtToken");
 
         AuthResponse res = authService.login(req);
 
@@ -85,8 +96,7 @@ class AuthServiceTest {
         when(passwordEncoder.encode("pass")).thenReturn("encoded");
         when(userRepository.save(any(User.class))).thenReturn(u);
         when(employeeRepository.save(any(Employee.class))).thenAnswer(inv -> inv.getArgument(0));
-        when(jwtService.generateToken("emp1", "EMPLOYEE")).thenReturn("jwtToken");
-        when(authenticationManager.authenticate(any())).thenReturn(mock(Authentication.class));
+        when(jwtService.generateToken(2L, "emp1", "EMPLOYEE")).thenReturn("jwtToken");
 
         AuthResponse res = authService.register(req);
 
@@ -94,6 +104,8 @@ class AuthServiceTest {
         assertEquals("emp1", res.getUsername());
         assertEquals("jwtToken", res.getAccessToken());
         assertEquals("EMPLOYEE", res.getRole());
+        verify(passwordEncoder, times(1)).encode("pass");
+        verify(authenticationManager, never()).authenticate(any()); // no second BCrypt round
     }
 
     @Test
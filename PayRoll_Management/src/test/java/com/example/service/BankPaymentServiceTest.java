@@ -0,0 +1,100 @@
+package com.example.service;
+
+import com.example.dto.BankPaymentRow;
+import com.example.entity.PayrollRun;
+import com.example.entity.PayrollRunStatus;
+import com.example.exception.ConflictException;
+import com.example.repo.PayrollItemRepository;
+import com.example.repo.PayrollRunRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BankPaymentServiceTest {
+
+    @Mock private PayrollRunRepository runRepo;
+    @Mock private PayrollItemRepository itemRepo;
+
+    @InjectMocks private BankPaymentService bankPaymentService;
+
+    private static PayrollRun lockedRun() {
+        PayrollRun run = new PayrollRun(2025, 3);
+        run.setId(9L);
+        run.setStatus(PayrollRunStatus.LOCKED);
+        return run;
+    }
+
+    @Test
+    void write_recordsControlTotalsAndChecksum() throws Exception {
+        when(itemRepo.streamBankPayments(9L)).thenReturn(Stream.of(
+                new BankPaymentRow(1L, "Asha", "Rao, Jr.", "012345678901", "HDFC0001234", new BigDecimal("48500.05")),
+                new BankPaymentRow(2L, "Ravi", null, null, "HDFC0001234", new BigDecimal("1000.00")),          // no account
+                new BankPaymentRow(3L, "Meera", "K", "123456789", "hdfc0001234", new BigDecimal("1000.00")),   // bad IFSC
+                new BankPaymentRow(4L, "Zoë", "Das", "123456789", "SBIN0ABC123", new BigDecimal("0.00")),      // nothing to pay
+                new BankPaymentRow(5L, "Zoë", "Das", "123456789", "SBIN0ABC123", new BigDecimal("21000.50"))));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BankPaymentService.BankFileSummary summary = bankPaymentService.write(lockedRun(), Channels.newChannel(out));
+
+        String file = out.toString(StandardCharsets.US_ASCII);
+        String[] lines = file.split("\r\n");
+        assertEquals(4, lines.length);
+        assertEquals("H,PAYROLL,2025-03,9,INR", lines[0]);
+        assertEquals("D,1,1,ASHA RAO  JR.,012345678901,HDFC0001234,48500.05", lines[1]);
+        assertEquals("D,2,5,ZO  DAS,123456789,SBIN0ABC123,21000.50", lines[2]);
+
+        String hashed = lines[0] + "\r\n" + lines[1] + "\r\n" + lines[2] + "\r\n";
+        String sha = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(hashed.getBytes(StandardCharsets.US_ASCII)));
+        assertEquals("T,2,69500.55,3," + sha, lines[3]);
+
+        assertEquals(2, summary.payments());
+        assertEquals(6_950_055L, summary.totalPaise());
+        assertEquals(3, summary.skipped());
+        assertEquals(sha, summary.sha256());
+    }
+
+    @Test
+    void write_largeRun_streamsThroughTheBuffer() throws Exception {
+        long n = 200_000;
+        when(itemRepo.streamBankPayments(9L)).thenReturn(LongStream.rangeClosed(1, n).mapToObj(id ->
+                new BankPaymentRow(id, "Employee", "No " + id, "1000" + (100000 + id), "ICIC0000042", new BigDecimal("1234.56"))));
+
+        long[] bytes = new long[1];
+        WritableByteChannel sink = new WritableByteChannel() {
+            @Override public int write(ByteBuffer src) { int r = src.remaining(); src.position(src.limit()); bytes[0] += r; return r; }
+            @Override public boolean isOpen() { return true; }
+            @Override public void close() { }
+        };
+
+        BankPaymentService.BankFileSummary summary = bankPaymentService.write(lockedRun(), sink);
+        assertEquals(n, summary.payments());
+        assertEquals(n * 123_456L, summary.totalPaise());
+        assertTrue(bytes[0] > n * 50);
+    }
+
+    @Test
+    void findLockedRun_processedRun_conflict() {
+        PayrollRun run = lockedRun();
+        run.setStatus(PayrollRunStatus.PROCESSED);
+        when(runRepo.findById(9L)).thenReturn(Optional.of(run));
+
+        assertThrows(ConflictException.class, () -> bankPaymentService.findLockedRun(9L));
+    }
+}
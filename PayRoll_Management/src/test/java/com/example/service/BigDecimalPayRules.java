@@ -0,0 +1,79 @@
+package com.example.service;
+
+import com.example.entity.Employee;
+import com.example.entity.PayRule;
+import com.example.entity.PayRuleComponent;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * The BigDecimal pay calculation that {@link Money} replaced, kept as the reference for
+ * {@link MoneyTest} and {@link MoneyBenchmark}: same rules, same matching, same chain cache,
+ * BigDecimal arithmetic with HALF_UP rounding of every term to 2 decimals. A chain without a
+ * deduction gets the 5% default.
+ */
+final class BigDecimalPayRules {
+
+    private record Rule(String department, String designation, PayRuleComponent component,
+                        UnaryOperator<BigDecimal> term) { }
+
+    private static final Rule DEFAULT_DEDUCTION = new Rule(null, null, PayRuleComponent.DEDUCTION,
+            basic -> basic.multiply(PayRuleEngine.DEFAULT_DEDUCTION_PERCENT.movePointLeft(2)).setScale(2, RoundingMode.HALF_UP));
+
+    private final List<Rule> rules = new ArrayList<>();
+    private final Map<String, List<Rule>> chains = new HashMap<>();
+
+    BigDecimalPayRules(List<PayRule> defs) {
+        for (PayRule r : defs) {
+            UnaryOperator<BigDecimal> term;
+            switch (r.getKind()) {
+                case FIXED -> {
+                    BigDecimal fixed = r.getAmount().setScale(2, RoundingMode.HALF_UP);
+                    term = basic -> fixed;
+                }
+                case PERCENT_OF_BASIC -> {
+                    BigDecimal rate = r.getAmount().movePointLeft(2);
+                    BigDecimal cap = r.getCap();
+                    term = cap == null
+                            ? basic -> basic.multiply(rate).setScale(2, RoundingMode.HALF_UP)
+                            : basic -> basic.multiply(rate).setScale(2, RoundingMode.HALF_UP).min(cap);
+                }
+                default -> throw new IllegalArgumentException(String.valueOf(r.getKind()));
+            }
+            rules.add(new Rule(CompiledPayRules.normalise(r.getDepartment()),
+                    CompiledPayRules.normalise(r.getDesignation()), r.getComponent(), term));
+        }
+    }
+
+    /** {basic, deductions, bonus, net, deduction shortfall}; deductions are capped at basic + bonus. */
+    BigDecimal[] compute(Employee e) {
+        BigDecimal basic = e.getBaseSalary() != null ? e.getBaseSalary() : BigDecimal.ZERO;
+        List<Rule> chain = chains.computeIfAbsent(e.getDepartment() + "\u0000" + e.getDesignation(), k -> {
+            String dept = CompiledPayRules.normalise(e.getDepartment());
+            String desig = CompiledPayRules.normalise(e.getDesignation());
+            List<Rule> matching = new ArrayList<>(rules.stream()
+                    .filter(r -> (r.department() == null || r.department().equals(dept))
+                              && (r.designation() == null || r.designation().equals(desig)))
+                    .toList());
+            if (matching.stream().noneMatch(r -> r.component() == PayRuleComponent.DEDUCTION)) {
+                matching.add(DEFAULT_DEDUCTION);
+            }
+            return matching;
+        });
+        BigDecimal deductions = BigDecimal.ZERO;
+        BigDecimal bonus = BigDecimal.ZERO;
+        for (Rule r : chain) {
+            if (r.component() == PayRuleComponent.DEDUCTION) deductions = deductions.add(r.term().apply(basic));
+            else bonus = bonus.add(r.term().apply(basic));
+        }
+        BigDecimal gross = basic.add(bonus);
+        BigDecimal taken = deductions.min(gross.max(BigDecimal.ZERO));
+        return new BigDecimal[] { basic, taken, bonus, gross.subtract(taken), deductions.subtract(taken) };
+    }
+}
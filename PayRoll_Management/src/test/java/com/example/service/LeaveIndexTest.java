@@ -0,0 +1,64 @@
+package com.example.service;
+
+import com.example.dto.LeaveInterval;
+import com.example.entity.Employee;
+import com.example.entity.PayrollItem;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeaveIndexTest {
+
+    private static final YearMonth FEB_2024 = YearMonth.of(2024, 2);   // 29 days
+
+    @Test
+    void build_clipsToMonthAndMergesOverlaps() {
+        LeaveIndex index = LeaveIndex.build(FEB_2024, List.of(
+            leave(1L, "2024-01-28", "2024-02-02"),   // clipped → Feb 1-2
+            leave(1L, "2024-02-02", "2024-02-04"),   // overlaps → Feb 1-4
+            leave(1L, "2024-02-05", "2024-02-05"),   // adjacent → Feb 1-5
+            leave(1L, "2024-02-10", "2024-02-11"),   // separate → +2
+            leave(2L, "2024-02-20", "2024-03-10"),   // clipped → Feb 20-29
+            leave(3L, "2024-03-01", "2024-03-02")    // outside the month
+        ));
+
+        assertEquals(7, index.unpaidDays(1L));
+        assertEquals(10, index.unpaidDays(2L));
+        assertEquals(0, index.unpaidDays(3L));
+        assertEquals(0, index.unpaidDays(null));
+        assertEquals(2, index.size());
+        assertEquals(29, index.daysInMonth());
+    }
+
+    @Test
+    void runCalculator_deductsLossOfPayAndAppliesRulesToEarnedBasic() {
+        LeaveIndex index = LeaveIndex.build(FEB_2024, List.of(leave(5L, "2024-02-01", "2024-02-03")));
+        PayrollCalculator.RunCalculator calc = new PayrollCalculator.RunCalculator(
+            PayRuleEngine.compile(List.of(PayRuleEngine.defaultRule())), index);
+
+        Employee e = new Employee(); e.setId(5L); e.setBaseSalary(new BigDecimal("29000"));
+        PayrollItem item = new PayrollItem();
+        calc.compute(item, e);
+
+        // LOP 29000 * 3/29 = 3000; 5% of earned 26000 = 1300 → deductions 4300, net 24700
+        assertEquals(3, item.getUnpaidDays());
+        assertEquals(0, new BigDecimal("29000").compareTo(item.getBasicSalary()));
+        assertEquals(0, new BigDecimal("4300").compareTo(item.getDeductions()));
+        assertEquals(0, new BigDecimal("24700").compareTo(item.getNetSalary()));
+
+        Employee other = new Employee(); other.setId(6L); other.setBaseSalary(new BigDecimal("29000"));
+        PayrollItem full = new PayrollItem();
+        calc.compute(full, other);
+        assertEquals(0, full.getUnpaidDays());
+        assertEquals(0, new BigDecimal("27550").compareTo(full.getNetSalary()));
+    }
+
+    private static LeaveInterval leave(Long employeeId, String from, String to) {
+        return new LeaveInterval(employeeId, LocalDate.parse(from), LocalDate.parse(to));
+    }
+}
@@ -11,6 +11,7 @@ import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -69,6 +70,19 @@ class LeaveServiceTest {
 
         LeaveRequest out = leaveService.setStatus(99L, LeaveStatus.APPROVED);
         assertEquals(LeaveStatus.APPROVED, out.getStatus());
+        assertNotNull(out.getDecidedAt());
+    }
+
+    @Test
+    void setStatus_unchanged_keepsDecidedAt() {
+        LeaveRequest lr = new LeaveRequest(); lr.setId(99L);
+        lr.setStatus(LeaveStatus.APPROVED);
+        LocalDateTime decided = LocalDateTime.of(2025, 1, 5, 10, 0);
+        lr.setDecidedAt(decided);
+        when(leaveRepo.findById(99L)).thenReturn(Optional.of(lr));
+        when(leaveRepo.save(any())).thenAnswer(inv -> inv.getArgument(0));
+
+        assertEquals(decided, leaveService.setStatus(99L, LeaveStatus.APPROVED).getDecidedAt());
     }
 
     @Test
@@ -0,0 +1,117 @@
+package com.example.service;
+
+import com.example.entity.Employee;
+import com.example.entity.PayRule;
+import com.example.entity.PayRuleComponent;
+import com.example.entity.PayRuleKind;
+import com.example.entity.PayrollItem;
+import com.example.service.PayrollCalculator.RunCalculator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fixed-point (long paise, {@link Money}) versus BigDecimal arithmetic for 10k employees:
+ * computing items with PF / professional tax / allowance rules, and summing items the way the
+ * reports do. Reported as employees/s; run with {@code -prof gc} to compare allocation rates.
+ *
+ * Run: mvn test-compile, then execute main() with the test classpath.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MoneyBenchmark {
+
+    private static final int EMPLOYEES = 10_000;
+
+    private RunCalculator paise;
+    private BigDecimalPayRules bigDecimal;
+    private Employee[] employees;
+    private PayrollItem[] items;
+    private final PayrollItem item = new PayrollItem();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PayRule pf = new PayRule("PF", PayRuleComponent.DEDUCTION, PayRuleKind.PERCENT_OF_BASIC, new BigDecimal("12"));
+        pf.setCap(new BigDecimal("1800"));
+        PayRule pt = new PayRule("PT", PayRuleComponent.DEDUCTION, PayRuleKind.FIXED, new BigDecimal("200"));
+        PayRule hra = new PayRule("HRA", PayRuleComponent.ALLOWANCE, PayRuleKind.PERCENT_OF_BASIC, new BigDecimal("10"));
+        List<PayRule> defs = List.of(pf, pt, hra);
+        paise = new RunCalculator(PayRuleEngine.compile(defs));
+        bigDecimal = new BigDecimalPayRules(defs);
+
+        employees = new Employee[EMPLOYEES];
+        items = new PayrollItem[EMPLOYEES];
+        for (int i = 0; i < EMPLOYEES; i++) {
+            Employee e = new Employee();
+            e.setDepartment(i % 2 == 0 ? "ENG" : "HR");
+            e.setBaseSalary(BigDecimal.valueOf(2_000_000 + (i * 3_717L) % 8_000_000, 2));
+            employees[i] = e;
+            items[i] = new PayrollItem();
+            paise.compute(items[i], e);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EMPLOYEES)
+    public BigDecimal computePaise() {
+        BigDecimal last = null;
+        for (Employee e : employees) {
+            paise.compute(item, e);
+            last = item.getNetSalary();
+        }
+        return last;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EMPLOYEES)
+    public BigDecimal computeBigDecimal() {
+        BigDecimal last = null;
+        for (Employee e : employees) {
+            BigDecimal[] r = bigDecimal.compute(e);
+            item.setBasicSalary(r[0]);
+            item.setDeductions(r[1]);
+            item.setBonus(r[2]);
+            item.setNetSalary(r[3]);
+            last = item.getNetSalary();
+        }
+        return last;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EMPLOYEES)
+    public long sumPaise() {
+        long basic = 0, deductions = 0, bonus = 0, net = 0;
+        for (PayrollItem it : items) {
+            basic += Money.toPaise(it.getBasicSalary());
+            deductions += Money.toPaise(it.getDeductions());
+            bonus += Money.toPaise(it.getBonus());
+            net += Money.toPaise(it.getNetSalary());
+        }
+        return basic + deductions + bonus + net;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EMPLOYEES)
+    public BigDecimal sumBigDecimal() {
+        BigDecimal basic = BigDecimal.ZERO, deductions = BigDecimal.ZERO, bonus = BigDecimal.ZERO, net = BigDecimal.ZERO;
+        for (PayrollItem it : items) {
+            basic = basic.add(it.getBasicSalary());
+            deductions = deductions.add(it.getDeductions());
+            bonus = bonus.add(it.getBonus());
+            net = net.add(it.getNetSalary());
+        }
+        return basic.add(deductions).add(bonus).add(net);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(MoneyBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.service;
+
+import com.example.entity.Employee;
+import com.example.entity.PayRule;
+import com.example.entity.PayRuleComponent;
+import com.example.entity.PayRuleKind;
+import com.example.entity.PayrollItem;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    private static final String[] DEPARTMENTS = { "ENG", "HR", "SALES", null, " " };
+    private static final String[] DESIGNATIONS = { "Developer", "Lead", null };
+
+    @Test
+    void toPaise_roundsHalfUpToTwoDecimals() {
+        assertEquals(12345L, Money.toPaise(new BigDecimal("123.45")));
+        assertEquals(12300L, Money.toPaise(new BigDecimal("123")));
+        assertEquals(13L, Money.toPaise(new BigDecimal("0.125")));
+        assertEquals(12L, Money.toPaise(new BigDecimal("0.1249")));
+        assertEquals(-13L, Money.toPaise(new BigDecimal("-0.125")));
+        assertEquals(0L, Money.toPaise(null));
+        assertEquals(new BigDecimal("123.45"), Money.toRupees(12345L));
+    }
+
+    @Test
+    void percentOf_roundsHalfUpAwayFromZero() {
+        long fivePercent = Money.percentToPpm(new BigDecimal("5"));
+        assertEquals(50_000L, fivePercent);
+        assertEquals(5_000L, Money.percentOf(100_000L, fivePercent));  // 5% of 1000.00
+        assertEquals(1L, Money.percentOf(10L, fivePercent));           // 0.5 paise → 1
+        assertEquals(0L, Money.percentOf(9L, fivePercent));            // 0.45 paise → 0
+        assertEquals(-1L, Money.percentOf(-10L, fivePercent));
+        assertEquals(123_456L, Money.percentToPpm(new BigDecimal("12.34564")));
+    }
+
+    @Test
+    void percentOf_overflowThrows() {
+        assertThrows(ArithmeticException.class, () -> Money.percentOf(Long.MAX_VALUE / 2, Money.PPM));
+    }
+
+    /** Property: for random amounts and rates the paise path equals the BigDecimal path. */
+    @Test
+    void percentOf_matchesBigDecimal_forRandomInputs() {
+        Random rnd = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            BigDecimal amount = BigDecimal.valueOf(rnd.nextLong(-1_000_000_000L, 10_000_000_000L), 2);
+            BigDecimal percent = BigDecimal.valueOf(rnd.nextLong(0, 1_000_001L), 4); // 0..100.0000
+            BigDecimal expected = amount.multiply(percent.movePointLeft(2)).setScale(2, RoundingMode.HALF_UP);
+
+            long actual = Money.percentOf(Money.toPaise(amount), Money.percentToPpm(percent));
+            assertEquals(expected, Money.toRupees(actual), () -> amount + " x " + percent + "%");
+        }
+    }
+
+    /** Property: random rule sets and employees give the same item as the BigDecimal calculation. */
+    @Test
+    void runCalculator_matchesBigDecimalCalculation_forRandomRulesAndEmployees() {
+        Random rnd = new Random(7);
+        for (int set = 0; set < 200; set++) {
+            List<PayRule> defs = randomRules(rnd);
+            PayrollCalculator.RunCalculator fixedPoint = new PayrollCalculator.RunCalculator(PayRuleEngine.compile(defs));
+            BigDecimalPayRules reference = new BigDecimalPayRules(defs);
+
+            for (int i = 0; i < 500; i++) {
+                Employee e = new Employee();
+                e.setDepartment(DEPARTMENTS[rnd.nextInt(DEPARTMENTS.length)]);
+                e.setDesignation(DESIGNATIONS[rnd.nextInt(DESIGNATIONS.length)]);
+                e.setBaseSalary(rnd.nextInt(20) == 0 ? null : BigDecimal.valueOf(rnd.nextLong(0, 50_000_000L), 2));
+
+                PayrollItem item = new PayrollItem();
+                fixedPoint.compute(item, e);
+                BigDecimal[] expected = reference.compute(e);
+
+                assertEquals(0, expected[0].compareTo(item.getBasicSalary()));
+                assertEquals(0, expected[1].compareTo(item.getDeductions()));
+                assertEquals(0, expected[2].compareTo(item.getBonus()));
+                assertEquals(0, expected[3].compareTo(item.getNetSalary()));
+                assertEquals(0, expected[4].compareTo(item.getDeductionShortfall()));
+            }
+        }
+    }
+
+    private static List<PayRule> randomRules(Random rnd) {
+        int n = 1 + rnd.nextInt(8);
+        List<PayRule> defs = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            boolean percent = rnd.nextBoolean();
+            PayRule r = new PayRule("r" + i,
+                    rnd.nextBoolean() ? PayRuleComponent.DEDUCTION : PayRuleComponent.ALLOWANCE,
+                    percent ? PayRuleKind.PERCENT_OF_BASIC : PayRuleKind.FIXED,
+                    percent ? BigDecimal.valueOf(rnd.nextLong(0, 300_001L), 4)      // 0..30.0000 %
+                            : BigDecimal.valueOf(rnd.nextLong(0, 1_000_000L), 2));
+            if (percent && rnd.nextInt(3) == 0) r.setCap(BigDecimal.valueOf(rnd.nextLong(0, 500_000L), 2));
+            if (rnd.nextInt(3) == 0) r.setDepartment(DEPARTMENTS[rnd.nextInt(3)].toLowerCase());
+            if (rnd.nextInt(3) == 0) r.setDesignation(DESIGNATIONS[rnd.nextInt(2)]);
+            defs.add(r);
+        }
+        return defs;
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.service;
+
+import com.example.entity.Employee;
+import com.example.entity.PayRule;
+import com.example.entity.PayRuleComponent;
+import com.example.entity.PayRuleKind;
+import com.example.entity.PayrollItem;
+import com.example.service.PayrollCalculator.RunCalculator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pay rule evaluation for 10k employees: rules compiled once per run ({@link PayRuleEngine})
+ * versus interpreting the rule definitions for every employee (match strings, switch on the
+ * kind, derive the rate). Reported as employees/s.
+ *
+ * Run: mvn test-compile, then execute main() with the test classpath.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PayRuleBenchmark {
+
+    private static final String[] DEPARTMENTS = { "ENG", "HR", "SALES", "FINANCE", "OPS" };
+    private static final String[] DESIGNATIONS = { "Intern", "Developer", "Lead", "Manager" };
+
+    @Param({"4", "16", "64"})
+    public int rules;
+
+    private static final int EMPLOYEES = 10_000;
+
+    private List<PayRule> definitions;
+    private RunCalculator compiled;
+    private Employee[] employees;
+    private final PayrollItem item = new PayrollItem();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        definitions = new ArrayList<>();
+        for (int i = 0; i < rules; i++) {
+            boolean percent = i % 2 == 0;
+            PayRule r = new PayRule("rule-" + i,
+                    i % 3 == 0 ? PayRuleComponent.ALLOWANCE : PayRuleComponent.DEDUCTION,
+                    percent ? PayRuleKind.PERCENT_OF_BASIC : PayRuleKind.FIXED,
+                    percent ? BigDecimal.valueOf(1 + i % 12) : BigDecimal.valueOf(100 + i));
+            if (i % 4 == 1) r.setDepartment(DEPARTMENTS[i % DEPARTMENTS.length].toLowerCase(Locale.ROOT));
+            if (i % 5 == 2) r.setDesignation(DESIGNATIONS[i % DESIGNATIONS.length]);
+            if (percent && i % 3 == 1) r.setCap(new BigDecimal("1800"));
+            definitions.add(r);
+        }
+        compiled = new RunCalculator(PayRuleEngine.compile(definitions));
+
+        employees = new Employee[EMPLOYEES];
+        for (int i = 0; i < EMPLOYEES; i++) {
+            Employee e = new Employee();
+            e.setDepartment(DEPARTMENTS[i % DEPARTMENTS.length]);
+            e.setDesignation(DESIGNATIONS[i % DESIGNATIONS.length]);
+            e.setBaseSalary(BigDecimal.valueOf(20_000 + (i * 37L) % 80_000));
+            employees[i] = e;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EMPLOYEES)
+    public BigDecimal compiled() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (Employee e : employees) {
+            compiled.compute(item, e);
+            total = total.add(item.getNetSalary());
+        }
+        return total;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EMPLOYEES)
+    public BigDecimal interpreted() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (Employee e : employees) {
+            total = total.add(interpret(definitions, e));
+        }
+        return total;
+    }
+
+    /** Net salary by walking the rule definitions, as a per-call interpreter would. */
+    static BigDecimal interpret(List<PayRule> defs, Employee e) {
+        BigDecimal basic = e.getBaseSalary();
+        BigDecimal deductions = BigDecimal.ZERO;
+        BigDecimal allowances = BigDecimal.ZERO;
+        for (PayRule r : defs) {
+            if (!matches(r.getDepartment(), e.getDepartment()) || !matches(r.getDesignation(), e.getDesignation())) {
+                continue;
+            }
+            BigDecimal v;
+            switch (r.getKind()) {
+                case FIXED -> v = r.getAmount().setScale(2, RoundingMode.HALF_UP);
+                case PERCENT_OF_BASIC -> {
+                    v = basic.multiply(r.getAmount().movePointLeft(2)).setScale(2, RoundingMode.HALF_UP);
+                    if (r.getCap() != null) v = v.min(r.getCap());
+                }
+                default -> throw new IllegalStateException();
+            }
+            if (r.getComponent() == PayRuleComponent.DEDUCTION) deductions = deductions.add(v);
+            else allowances = allowances.add(v);
+        }
+        return basic.add(allowances).subtract(deductions);
+    }
+
+    private static boolean matches(String rule, String value) {
+        if (rule == null || rule.isBlank()) return true;
+        return value != null && rule.trim().equalsIgnoreCase(value.trim());
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(PayRuleBenchmark.class.getSimpleName()).build()).run();
+    }
+}
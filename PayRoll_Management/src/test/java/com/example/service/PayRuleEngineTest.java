@@ -0,0 +1,136 @@
+package com.example.service;
+
+import com.example.entity.Employee;
+import com.example.entity.PayRule;
+import com.example.entity.PayRuleComponent;
+import com.example.entity.PayRuleKind;
+import com.example.entity.PayrollItem;
+import com.example.exception.BadRequestException;
+import com.example.repo.PayRuleRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PayRuleEngineTest {
+
+    @Mock private PayRuleRepository ruleRepo;
+
+    @InjectMocks private PayRuleEngine engine;
+
+    @Test
+    void compile_noRules_defaultsToFivePercentDeduction() {
+        when(ruleRepo.findByActiveTrueOrderByPriorityAscIdAsc()).thenReturn(List.of());
+
+        PayrollItem item = compute(engine.compile(), employee("ENG", "Developer", "1000"));
+        assertEquals(0, new BigDecimal("50").compareTo(item.getDeductions()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(item.getBonus()));
+        assertEquals(0, new BigDecimal("950").compareTo(item.getNetSalary()));
+    }
+
+    @Test
+    void compile_singleAllowanceRule_keepsDefaultDeduction() {
+        PayRule hra = rule("HRA", PayRuleComponent.ALLOWANCE, PayRuleKind.FIXED, "100");
+        hra.setDepartment("ENG");
+        when(ruleRepo.findByActiveTrueOrderByPriorityAscIdAsc()).thenReturn(List.of(hra));
+        CompiledPayRules rules = engine.compile();
+
+        // ENG: 5% of 1000 still deducted, plus the allowance; HR: only the default
+        PayrollItem eng = compute(rules, employee("ENG", "Developer", "1000"));
+        assertEquals(0, new BigDecimal("50").compareTo(eng.getDeductions()));
+        assertEquals(0, new BigDecimal("100").compareTo(eng.getBonus()));
+        assertEquals(0, new BigDecimal("1050").compareTo(eng.getNetSalary()));
+        PayrollItem hr = compute(rules, employee("HR", "Developer", "1000"));
+        assertEquals(0, new BigDecimal("50").compareTo(hr.getDeductions()));
+        assertEquals(0, new BigDecimal("950").compareTo(hr.getNetSalary()));
+    }
+
+    @Test
+    void compile_zeroPercentDeductionRule_optsOutOfDefault() {
+        PayRule none = rule("No deduction", PayRuleComponent.DEDUCTION, PayRuleKind.PERCENT_OF_BASIC, "0");
+        none.setDepartment("HR");
+
+        CompiledPayRules rules = PayRuleEngine.compile(List.of(none));
+        assertEquals(0, BigDecimal.ZERO.compareTo(compute(rules, employee("HR", "Lead", "1000")).getDeductions()));
+        assertEquals(0, new BigDecimal("50").compareTo(compute(rules, employee("ENG", "Lead", "1000")).getDeductions()));
+    }
+
+    @Test
+    void compile_appliesMatchingRulesWithCaps() {
+        PayRule pf = rule("PF", PayRuleComponent.DEDUCTION, PayRuleKind.PERCENT_OF_BASIC, "12");
+        pf.setCap(new BigDecimal("1800"));
+        PayRule pt = rule("Professional tax", PayRuleComponent.DEDUCTION, PayRuleKind.FIXED, "200");
+        PayRule hra = rule("HRA", PayRuleComponent.ALLOWANCE, PayRuleKind.PERCENT_OF_BASIC, "10");
+        hra.setDepartment(" eng ");                       // matched trimmed, case-insensitive
+        PayRule bonus = rule("Lead bonus", PayRuleComponent.ALLOWANCE, PayRuleKind.FIXED, "500");
+        bonus.setDepartment("ENG");
+        bonus.setDesignation("Lead");
+
+        CompiledPayRules rules = PayRuleEngine.compile(List.of(pf, pt, hra, bonus));
+
+        // ENG lead, 20000: PF 2400 capped at 1800 + PT 200; HRA 2000 + bonus 500
+        PayrollItem lead = compute(rules, employee("ENG", "LEAD", "20000"));
+        assertEquals(0, new BigDecimal("2000").compareTo(lead.getDeductions()));
+        assertEquals(0, new BigDecimal("2500").compareTo(lead.getBonus()));
+        assertEquals(0, new BigDecimal("20500").compareTo(lead.getNetSalary()));
+
+        // HR, 10000: PF 1200 + PT 200, no allowances
+        PayrollItem hr = compute(rules, employee("HR", "Lead", "10000"));
+        assertEquals(0, new BigDecimal("1400").compareTo(hr.getDeductions()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(hr.getBonus()));
+    }
+
+    @Test
+    void compute_stackedDeductions_clampNetAtZero_andReportShortfall() {
+        PayRule pf = rule("PF", PayRuleComponent.DEDUCTION, PayRuleKind.PERCENT_OF_BASIC, "60");
+        PayRule loan = rule("Loan", PayRuleComponent.DEDUCTION, PayRuleKind.PERCENT_OF_BASIC, "50");
+        PayRule pt = rule("Professional tax", PayRuleComponent.DEDUCTION, PayRuleKind.FIXED, "500");
+        PayRule hra = rule("HRA", PayRuleComponent.ALLOWANCE, PayRuleKind.FIXED, "100");
+
+        // 1000 basic + 100 allowance; 600 + 500 + 500 = 1600 due, only 1100 can be taken
+        PayrollItem item = compute(PayRuleEngine.compile(List.of(pf, loan, pt, hra)), employee("ENG", "Dev", "1000"));
+        assertEquals(0, new BigDecimal("1100").compareTo(item.getDeductions()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(item.getNetSalary()));
+        assertEquals(0, new BigDecimal("500").compareTo(item.getDeductionShortfall()));
+    }
+
+    @Test
+    void chainFor_cachedPerDepartmentAndDesignation() {
+        CompiledPayRules rules = PayRuleEngine.compile(List.of(PayRuleEngine.defaultRule()));
+        assertSame(rules.chainFor("ENG", "Dev"), rules.chainFor("ENG", "Dev"));
+        assertNotSame(rules.chainFor("ENG", "Dev"), rules.chainFor("HR", "Dev"));
+        assertNotNull(rules.chainFor(null, null));
+    }
+
+    @Test
+    void compile_invalidRule_throws() {
+        PayRule bad = rule("Bad", PayRuleComponent.DEDUCTION, PayRuleKind.PERCENT_OF_BASIC, "150");
+        assertThrows(BadRequestException.class, () -> PayRuleEngine.compile(List.of(bad)));
+    }
+
+    private static PayrollItem compute(CompiledPayRules rules, Employee e) {
+        PayrollItem item = new PayrollItem();
+        new PayrollCalculator.RunCalculator(rules).compute(item, e);
+        return item;
+    }
+
+    private static Employee employee(String dept, String designation, String salary) {
+        Employee e = new Employee();
+        e.setDepartment(dept);
+        e.setDesignation(designation);
+        e.setBaseSalary(new BigDecimal(salary));
+        return e;
+    }
+
+    private static PayRule rule(String name, PayRuleComponent component, PayRuleKind kind, String amount) {
+        return new PayRule(name, component, kind, new BigDecimal(amount));
+    }
+}
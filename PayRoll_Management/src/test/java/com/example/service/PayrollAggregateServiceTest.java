@@ -0,0 +1,113 @@
+package com.example.service;
+
+import com.example.dto.DepartmentCostRow;
+import com.example.dto.PayrollAggregateCheck;
+import com.example.dto.PayrollSummaryResponse;
+import com.example.entity.PayrollDepartmentTotals;
+import com.example.entity.PayrollRun;
+import com.example.entity.PayrollRunTotals;
+import com.example.repo.PayrollDepartmentTotalsRepository;
+import com.example.repo.PayrollItemRepository;
+import com.example.repo.PayrollRunRepository;
+import com.example.repo.PayrollRunTotalsRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PayrollAggregateServiceTest {
+
+    @Mock private PayrollRunRepository runRepo;
+    @Mock private PayrollItemRepository itemRepo;
+    @Mock private PayrollRunTotalsRepository totalsRepo;
+    @Mock private PayrollDepartmentTotalsRepository deptRepo;
+
+    @InjectMocks private PayrollAggregateService aggregateService;
+
+    private static PayrollRun run() {
+        PayrollRun run = new PayrollRun(2025, 1);
+        run.setId(10L);
+        return run;
+    }
+
+    private static DepartmentCostRow row(String dept, int count, String basic, String net) {
+        return new DepartmentCostRow(dept, count, new BigDecimal(basic), new BigDecimal("10"), BigDecimal.ZERO, new BigDecimal(net));
+    }
+
+    @Test
+    void refresh_replacesRowsAndSumsRunTotals() {
+        PayrollRun run = run();
+        when(runRepo.getReferenceById(10L)).thenReturn(run);
+        when(itemRepo.departmentCostByRunId(10L)).thenReturn(List.of(
+            row("ENG", 2, "300.50", "280.50"), row("HR", 1, "100.25", "90.25")));
+
+        aggregateService.refresh(10L);
+
+        InOrder order = inOrder(deptRepo, totalsRepo);
+        order.verify(deptRepo).deleteByRunId(10L);
+        order.verify(totalsRepo).deleteByRunId(10L);
+
+        ArgumentCaptor<List<PayrollDepartmentTotals>> depts = ArgumentCaptor.forClass(List.class);
+        verify(deptRepo).saveAll(depts.capture());
+        assertEquals(2, depts.getValue().size());
+        assertEquals("ENG", depts.getValue().get(0).getDepartment());
+        assertEquals(2, depts.getValue().get(0).getEmployeeCount());
+
+        ArgumentCaptor<PayrollRunTotals> totals = ArgumentCaptor.forClass(PayrollRunTotals.class);
+        verify(totalsRepo).save(totals.capture());
+        assertSame(run, totals.getValue().getRun());
+        assertEquals(3, totals.getValue().getEmployeeCount());
+        assertEquals(0, new BigDecimal("400.75").compareTo(totals.getValue().getTotalBasic()));
+        assertEquals(0, new BigDecimal("20").compareTo(totals.getValue().getTotalDeductions()));
+        assertEquals(0, new BigDecimal("370.75").compareTo(totals.getValue().getTotalNet()));
+        // the run totals come from the department rows, not from a second scan of the items
+        verify(itemRepo, never()).summarizeByRunId(any());
+    }
+
+    @Test
+    void check_reportsDifferencesAndRepairs() {
+        PayrollRun run = run();
+        PayrollRunTotals stored = new PayrollRunTotals(run);
+        stored.setEmployeeCount(2);
+        stored.setTotalBasic(new BigDecimal("300"));
+        stored.setTotalDeductions(new BigDecimal("20"));
+        stored.setTotalNet(new BigDecimal("280"));
+
+        when(itemRepo.summarizeByRunId(10L)).thenReturn(new PayrollSummaryResponse(2L,
+            new BigDecimal("300"), new BigDecimal("20"), BigDecimal.ZERO, new BigDecimal("280")));
+        when(totalsRepo.findByRunId(10L)).thenReturn(Optional.of(stored));
+        when(deptRepo.findRowsByRunId(10L)).thenReturn(List.of(row("ENG", 1, "200", "190"), row("OPS", 1, "100", "90")));
+        when(itemRepo.departmentCostByRunId(10L)).thenReturn(List.of(row("ENG", 1, "200", "190"), row("HR", 1, "100", "90")));
+        when(runRepo.getReferenceById(10L)).thenReturn(run);
+
+        PayrollAggregateCheck res = aggregateService.check(run, true);
+        assertFalse(res.isConsistent());
+        assertTrue(res.isRepaired());
+        assertEquals(List.of("department HR: missing", "department OPS: no longer has items"), res.getDifferences());
+        verify(totalsRepo).save(any(PayrollRunTotals.class));
+    }
+
+    @Test
+    void check_consistent_doesNotRepair() {
+        PayrollRun run = run();
+        when(itemRepo.summarizeByRunId(10L)).thenReturn(new PayrollSummaryResponse(0L,
+            BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO));
+        when(totalsRepo.findByRunId(10L)).thenReturn(Optional.of(new PayrollRunTotals(run)));
+        when(deptRepo.findRowsByRunId(10L)).thenReturn(List.of());
+        when(itemRepo.departmentCostByRunId(10L)).thenReturn(List.of());
+
+        PayrollAggregateCheck res = aggregateService.check(run, true);
+        assertTrue(res.isConsistent());
+        assertFalse(res.isRepaired());
+        verify(totalsRepo, never()).save(any());
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.service;
+
+import com.example.config.PayrollProperties;
+import com.example.entity.Employee;
+import com.example.entity.PayrollItem;
+import com.example.entity.PayrollRun;
+import com.example.repo.EmployeeRepository;
+import com.example.repo.PayrollItemRepository;
+import com.example.repo.PayrollRunCheckpointRepository;
+import com.example.repo.PayrollRunRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PayrollChunkProcessorTest {
+
+    @Mock private PayrollRunRepository runRepo;
+    @Mock private EmployeeRepository empRepo;
+    @Mock private PayrollItemRepository itemRepo;
+    @Mock private PayrollRunCheckpointRepository checkpointRepo;
+    @Spy private PayrollProperties props = new PayrollProperties();
+    @Mock private EntityManager em;
+
+    @InjectMocks private PayrollChunkProcessor processor;
+
+    // no stored rules → default 5% deduction
+    private final PayrollCalculator.RunCalculator calc =
+            new PayrollCalculator.RunCalculator(PayRuleEngine.compile(List.of(PayRuleEngine.defaultRule())));
+
+    @Test
+    void processChunk_computesFivePercentDeduction() {
+        PayrollRun run = new PayrollRun(2025, 1);
+        run.setId(10L);
+        Employee e1 = new Employee(); e1.setId(1L); e1.setBaseSalary(new BigDecimal("1000"));
+
+        when(runRepo.getReferenceById(10L)).thenReturn(run);
+        when(itemRepo.findEmployeeIdsByRunIdInRange(10L, 1L, 100L)).thenReturn(Set.of());
+        when(empRepo.streamChunk(1L, 100L)).thenReturn(Stream.of(e1));
+
+        assertEquals(1, processor.processChunk(10L, 1L, 100L, calc).written());
+        // deduction = 5% of 1000 = 50 → net = 950
+        verify(itemRepo).saveAll(argThat((List<PayrollItem> batch) -> batch.size() == 1
+            && batch.get(0).getRun() == run
+            && batch.get(0).getComputedAt() != null
+            && new BigDecimal("950").compareTo(batch.get(0).getNetSalary()) == 0));
+    }
+
+    @Test
+    void processChunk_skipsExistingAndWritesInBatches() {
+        PayrollRun run = new PayrollRun(2025, 1);
+        props.setBatchSize(2);
+
+        Employee e1 = new Employee(); e1.setId(1L); e1.setBaseSalary(new BigDecimal("1000"));
+        Employee e2 = new Employee(); e2.setId(2L); e2.setBaseSalary(new BigDecimal("2000"));
+        Employee e3 = new Employee(); e3.setId(3L); e3.setBaseSalary(new BigDecimal("3000"));
+        Employee e4 = new Employee(); e4.setId(4L);   // no base salary → zero item
+
+        when(runRepo.getReferenceById(10L)).thenReturn(run);
+        when(itemRepo.findEmployeeIdsByRunIdInRange(10L, 1L, 4L)).thenReturn(Set.of(2L));
+        when(empRepo.streamChunk(1L, 4L)).thenReturn(Stream.of(e1, e2, e3, e4));
+
+        PayrollChunkProcessor.ChunkResult result = processor.processChunk(10L, 1L, 4L, calc);
+        assertEquals(4, result.scanned());
+        assertEquals(3, result.written());
+
+        // 3 new items with batch size 2 → one full batch + one partial batch
+        verify(itemRepo).saveAll(argThat((List<PayrollItem> b) -> b.size() == 2
+            && b.get(0).getEmployee() == e1 && b.get(1).getEmployee() == e3));
+        verify(itemRepo).saveAll(argThat((List<PayrollItem> b) -> b.size() == 1
+            && b.get(0).getEmployee() == e4 && b.get(0).getNetSalary().signum() == 0));
+        verify(itemRepo, times(2)).flush();
+        // persistence context cleared after every batch
+        verify(em, times(2)).clear();
+        verify(checkpointRepo).save(argThat(c -> c.getRun() == run
+            && c.getFromEmployeeId() == 1L && c.getToEmployeeId() == 4L
+            && c.getEmployeesScanned() == 4 && c.getItemsWritten() == 3));
+    }
+
+    @Test
+    void processChunk_closesEmployeeStream() {
+        PayrollRun run = new PayrollRun(2025, 1);
+        AtomicBoolean closed = new AtomicBoolean();
+        Employee e1 = new Employee(); e1.setId(1L); e1.setBaseSalary(new BigDecimal("1000"));
+
+        when(runRepo.getReferenceById(10L)).thenReturn(run);
+        when(itemRepo.findEmployeeIdsByRunIdInRange(10L, 1L, 1L)).thenReturn(Set.of(1L));
+        when(empRepo.streamChunk(1L, 1L)).thenReturn(Stream.of(e1).onClose(() -> closed.set(true)));
+
+        assertEquals(0, processor.processChunk(10L, 1L, 1L, calc).written());
+        assertTrue(closed.get());
+        verify(itemRepo, never()).saveAll(any());
+    }
+}
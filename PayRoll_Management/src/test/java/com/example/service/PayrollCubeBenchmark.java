@@ -0,0 +1,81 @@
+package com.example.service;
+
+import com.example.dto.PayrollFactRow;
+import com.example.dto.PivotRequest;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pivots over three years of locked runs (36 runs x 20k items = 720k items) held in
+ * {@link PayrollCube}: net by department and designation, and average basic per period for
+ * one filtered department. Reported as ms per pivot.
+ *
+ * Run: mvn test-compile, then execute main() with the test classpath.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PayrollCubeBenchmark {
+
+    private static final String[] DEPARTMENTS = { "ENG", "HR", "SALES", "FINANCE", "OPS", "LEGAL", "SUPPORT", "ADMIN" };
+    private static final String[] DESIGNATIONS = { "Intern", "Developer", "Senior", "Lead", "Manager", "Director" };
+    private static final int ITEMS_PER_RUN = 20_000;
+
+    private PayrollCube cube;
+    private PivotRequest byDeptAndDesignation;
+    private PivotRequest filteredByPeriod;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random rnd = new Random(11);
+        PayrollCubeTest.FakeLoader loader = new PayrollCubeTest.FakeLoader();
+        long id = 1;
+        for (int year = 2023; year <= 2025; year++) {
+            for (int month = 1; month <= 12; month++) {
+                PayrollFactRow[] rows = new PayrollFactRow[ITEMS_PER_RUN];
+                for (int i = 0; i < rows.length; i++) {
+                    BigDecimal basic = BigDecimal.valueOf(20_000 + rnd.nextInt(180_000), 0);
+                    rows[i] = new PayrollFactRow(DEPARTMENTS[i % DEPARTMENTS.length], DESIGNATIONS[(i / 7) % DESIGNATIONS.length],
+                            basic, basic.movePointLeft(1), BigDecimal.ZERO, basic.subtract(basic.movePointLeft(1)), i % 30 == 0 ? 2 : 0);
+                }
+                loader.lock(id++, year, month, rows);
+            }
+        }
+        cube = new PayrollCube(loader);
+
+        byDeptAndDesignation = new PivotRequest();
+        byDeptAndDesignation.setGroupBy(List.of("department", "designation"));
+        byDeptAndDesignation.setMeasures(List.of("net", "deductions"));
+
+        filteredByPeriod = new PivotRequest();
+        filteredByPeriod.setGroupBy(List.of("period"));
+        filteredByPeriod.setMeasures(List.of("basic"));
+        filteredByPeriod.setAggregate("avg");
+        filteredByPeriod.setDepartments(List.of("ENG"));
+
+        cube.pivot(byDeptAndDesignation); // load
+    }
+
+    @Benchmark
+    public Object netByDepartmentAndDesignation() {
+        return cube.pivot(byDeptAndDesignation);
+    }
+
+    @Benchmark
+    public Object averageBasicPerPeriodForOneDepartment() {
+        return cube.pivot(filteredByPeriod);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(PayrollCubeBenchmark.class.getSimpleName()).build()).run();
+    }
+}
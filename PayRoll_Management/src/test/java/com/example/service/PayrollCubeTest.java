@@ -0,0 +1,127 @@
+package com.example.service;
+
+import com.example.dto.PayrollFactRow;
+import com.example.dto.PivotRequest;
+import com.example.dto.PivotResponse;
+import com.example.dto.PivotRow;
+import com.example.entity.PayrollRun;
+import com.example.entity.PayrollRunStatus;
+import com.example.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PayrollCubeTest {
+
+    /** Loader over in-memory runs; counts how often each run is read. */
+    static class FakeLoader extends PayrollCubeLoader {
+        final List<PayrollRun> runs = new ArrayList<>();
+        final Map<Long, List<PayrollFactRow>> items = new HashMap<>();
+        final Map<Long, Integer> loads = new HashMap<>();
+
+        FakeLoader() { super(null, null); }
+
+        void lock(long id, int year, int month, PayrollFactRow... rows) {
+            PayrollRun run = new PayrollRun(year, month);
+            run.setId(id);
+            run.setStatus(PayrollRunStatus.LOCKED);
+            runs.add(run);
+            items.put(id, List.of(rows));
+        }
+
+        @Override
+        public List<PayrollRun> lockedRuns() { return List.copyOf(runs); }
+
+        @Override
+        public void load(Long runId, Consumer<PayrollFactRow> sink) {
+            loads.merge(runId, 1, Integer::sum);
+            items.get(runId).forEach(sink);
+        }
+    }
+
+    private static PayrollFactRow item(String dept, String desig, String basic, String net, int unpaidDays) {
+        return new PayrollFactRow(dept, desig, new BigDecimal(basic), BigDecimal.ZERO, BigDecimal.ZERO, new BigDecimal(net), unpaidDays);
+    }
+
+    private static PivotRequest request(List<String> groupBy, List<String> measures, String aggregate) {
+        PivotRequest req = new PivotRequest();
+        req.setGroupBy(groupBy);
+        req.setMeasures(measures);
+        req.setAggregate(aggregate);
+        return req;
+    }
+
+    private final FakeLoader loader = new FakeLoader();
+    private final PayrollCube cube = new PayrollCube(loader);
+
+    {
+        loader.lock(1L, 2024, 12, item("ENG", "Dev", "1000", "900", 0), item("HR", "Lead", "2000", "1800", 2));
+        loader.lock(2L, 2025, 1, item("ENG", "Dev", "1100", "990", 1), item("ENG", "Lead", "3000", "2700", 0), item(" ", null, "500", "500", 0));
+    }
+
+    @Test
+    void pivot_groupsByDepartment() {
+        PivotResponse res = cube.pivot(request(List.of("department"), List.of("net", "unpaidDays"), "sum"));
+
+        assertEquals(List.of("net", "unpaidDays"), res.getMeasures());
+        assertEquals(2, res.getRunsScanned());
+        assertEquals(5, res.getItemsScanned());
+        List<PivotRow> rows = res.getRows();
+        assertEquals(List.of(List.of("ENG"), List.of("HR"), List.of("UNKNOWN")), rows.stream().map(PivotRow::key).toList());
+        assertEquals(3, rows.get(0).count());
+        assertEquals(0, new BigDecimal("4590.00").compareTo(rows.get(0).values().get(0)));
+        assertEquals(0, BigDecimal.ONE.compareTo(rows.get(0).values().get(1)));
+    }
+
+    @Test
+    void pivot_filtersAndGroupsByPeriodAndDesignation() {
+        PivotRequest req = request(List.of("period", "designation"), List.of("basic"), "avg");
+        req.setDepartments(List.of("ENG"));
+        req.setFrom("2025-01");
+
+        List<PivotRow> rows = cube.pivot(req).getRows();
+        assertEquals(2, rows.size());
+        assertEquals(List.of("2025-01", "Dev"), rows.get(0).key());
+        assertEquals(List.of("2025-01", "Lead"), rows.get(1).key());
+        assertEquals(0, new BigDecimal("3000.00").compareTo(rows.get(1).values().get(0)));
+    }
+
+    @Test
+    void pivot_minMaxAndGrandTotal() {
+        PivotRow max = cube.pivot(request(List.of(), List.of("net"), "max")).getRows().get(0);
+        assertEquals(List.of(), max.key());
+        assertEquals(5, max.count());
+        assertEquals(0, new BigDecimal("2700.00").compareTo(max.values().get(0)));
+
+        PivotRow min = cube.pivot(request(List.of("year"), List.of("net"), "min")).getRows().get(1);
+        assertEquals(List.of("2025"), min.key());
+        assertEquals(0, new BigDecimal("500.00").compareTo(min.values().get(0)));
+    }
+
+    @Test
+    void runLocked_loadsOnlyTheNewRun() {
+        cube.pivot(request(List.of(), List.of("net"), "sum"));
+        loader.lock(3L, 2025, 2, item("ENG", "Dev", "1100", "1100", 0));
+
+        // not visible until the lock is signalled
+        assertEquals(5, cube.pivot(request(List.of(), List.of("net"), "sum")).getItemsScanned());
+        cube.runLocked();
+        assertEquals(6, cube.pivot(request(List.of(), List.of("net"), "sum")).getItemsScanned());
+
+        assertEquals(3, cube.runsLoaded());
+        assertEquals(Map.of(1L, 1, 2L, 1, 3L, 1), loader.loads);
+    }
+
+    @Test
+    void pivot_unknownDimension_badRequest() {
+        assertThrows(BadRequestException.class, () -> cube.pivot(request(List.of("employee"), List.of("net"), "sum")));
+        assertThrows(BadRequestException.class, () -> cube.pivot(request(List.of(), List.of("net"), "median")));
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.service;
+
+import com.example.dto.PayrollExportRow;
+import com.example.exception.ResourceNotFoundException;
+import com.example.repo.PayrollItemRepository;
+import com.example.repo.PayrollRunRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PayrollExportServiceTest {
+
+    @Mock private PayrollRunRepository runRepo;
+    @Mock private PayrollItemRepository itemRepo;
+
+    @InjectMocks private PayrollExportService exportService;
+
+    private static PayrollExportRow row(long id, String first, String last, String dept) {
+        return new PayrollExportRow(id, id + 100, first, last, dept, "Dev",
+                new BigDecimal("1000.00"), new BigDecimal("50.00"), BigDecimal.ZERO, new BigDecimal("950.00"), 1);
+    }
+
+    @Test
+    void writeCsv_writesHeaderAndEscapedRows() throws Exception {
+        when(itemRepo.streamExportRows(7L)).thenReturn(Stream.of(
+                row(1, "Asha", "Rao", "ENG"),
+                row(2, "Ravi \"R\"", null, "Sales, North"),
+                row(3, "=HYPERLINK(1)", "X", null)));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(3, exportService.writeCsv(7L, out, false));
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(PayrollExportService.HEADER, lines[0]);
+        assertEquals("1,101,Asha Rao,ENG,Dev,1000.00,50.00,0,950.00,1", lines[1]);
+        assertEquals("2,102,\"Ravi \"\"R\"\"\",\"Sales, North\",Dev,1000.00,50.00,0,950.00,1", lines[2]);
+        assertEquals("3,103,'=HYPERLINK(1) X,,Dev,1000.00,50.00,0,950.00,1", lines[3]);
+    }
+
+    @Test
+    void writeCsv_gzip_roundTrips() throws Exception {
+        when(itemRepo.streamExportRows(7L)).thenReturn(Stream.of(row(1, "Asha", "Rao", "ENG")));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.writeCsv(7L, out, true);
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            String csv = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            assertEquals(PayrollExportService.HEADER + "\r\n1,101,Asha Rao,ENG,Dev,1000.00,50.00,0,950.00,1\r\n", csv);
+        }
+    }
+
+    @Test
+    void findRun_unknown_throws() {
+        when(runRepo.findById(9L)).thenReturn(Optional.empty());
+        assertThrows(ResourceNotFoundException.class, () -> exportService.findRun(9L));
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.service;
+
+import com.example.dto.PayrollJobStatus;
+import com.example.entity.PayrollRun;
+import com.example.exception.ConflictException;
+import com.example.exception.ResourceNotFoundException;
+import com.example.repo.EmployeeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PayrollJobServiceTest {
+
+    @Mock private PayrollService payrollService;
+    @Mock private EmployeeRepository empRepo;
+
+    @InjectMocks private PayrollJobService jobService;
+
+    @AfterEach
+    void tearDown() {
+        jobService.shutdown();
+    }
+
+    @Test
+    void run_reportsProgressAndCompletes() {
+        PayrollJob job = new PayrollJob("j1", 10L);
+        when(empRepo.count()).thenReturn(100L);
+        when(payrollService.processRun(eq(10L), same(job))).thenAnswer(inv -> {
+            job.chunkDone(new PayrollChunkProcessor.ChunkResult(1, 50, 50, 48));
+            return new PayrollRun();
+        });
+
+        jobService.run(job);
+
+        PayrollJobStatus s = job.snapshot();
+        assertEquals(PayrollJob.State.COMPLETED, s.getState());
+        assertEquals(100, s.getTotal());
+        assertEquals(50, s.getProcessed());
+        assertEquals(48, s.getItemsWritten());
+        assertTrue(s.getItemsPerSecond() > 0);
+        assertNull(s.getEtaSeconds());
+    }
+
+    @Test
+    void run_failure_recordsError() {
+        PayrollJob job = new PayrollJob("j1", 10L);
+        when(payrollService.processRun(eq(10L), same(job))).thenThrow(new RuntimeException("db down"));
+
+        jobService.run(job);
+
+        assertEquals(PayrollJob.State.FAILED, job.getState());
+        assertEquals(1, job.snapshot().getErrors().size());
+        assertEquals("db down", job.snapshot().getErrors().get(0));
+    }
+
+    @Test
+    void run_cancelled_endsCancelled() {
+        PayrollJob job = new PayrollJob("j1", 10L);
+        when(payrollService.processRun(eq(10L), same(job))).thenThrow(new CancellationException());
+
+        jobService.run(job);
+        assertEquals(PayrollJob.State.CANCELLED, job.getState());
+
+        PayrollJob queued = new PayrollJob("j2", 10L);
+        queued.cancel();
+        jobService.run(queued);
+        assertEquals(PayrollJob.State.CANCELLED, queued.getState());
+        verify(payrollService, times(1)).processRun(anyLong(), any());
+    }
+
+    @Test
+    void submit_rejectsSecondJobForSameRun() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(payrollService.processRun(eq(10L), any())).thenAnswer(inv -> {
+            release.await(5, TimeUnit.SECONDS);
+            return new PayrollRun();
+        });
+
+        PayrollJobStatus first = jobService.submit(10L);
+        assertEquals(10L, first.getRunId());
+        assertThrows(ConflictException.class, () -> jobService.submit(10L));
+
+        release.countDown();
+        for (int i = 0; i < 100 && jobService.status(first.getJobId()).getState() != PayrollJob.State.COMPLETED; i++) {
+            Thread.sleep(20);
+        }
+        assertEquals(PayrollJob.State.COMPLETED, jobService.status(first.getJobId()).getState());
+    }
+
+    @Test
+    void lock_whileJobRuns_conflicts_untilItFinishes() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(payrollService.processRun(eq(10L), any())).thenAnswer(inv -> {
+            release.await(5, TimeUnit.SECONDS);
+            return new PayrollRun();
+        });
+        PayrollRun locked = new PayrollRun(2025, 1);
+        when(payrollService.lockRun(10L)).thenReturn(locked);
+
+        PayrollJobStatus job = jobService.submit(10L);
+        assertThrows(ConflictException.class, () -> jobService.lock(10L));
+        verify(payrollService, never()).lockRun(any());
+
+        release.countDown();
+        for (int i = 0; i < 100 && jobService.status(job.getJobId()).getState() != PayrollJob.State.COMPLETED; i++) {
+            Thread.sleep(20);
+        }
+        assertSame(locked, jobService.lock(10L));
+    }
+
+    @Test
+    void reprocessAndDelete_whileJobRuns_conflict_untilItFinishes() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(payrollService.processRun(eq(10L), any())).thenAnswer(inv -> {
+            release.await(5, TimeUnit.SECONDS);
+            return new PayrollRun();
+        });
+        when(payrollService.reprocessChanged(10L)).thenReturn(3);
+
+        PayrollJobStatus job = jobService.submit(10L);
+        assertThrows(ConflictException.class, () -> jobService.reprocessChanged(10L));
+        assertThrows(ConflictException.class, () -> jobService.deleteRun(10L));
+        verify(payrollService, never()).reprocessChanged(any());
+        verify(payrollService, never()).deleteRun(any());
+
+        release.countDown();
+        for (int i = 0; i < 100 && jobService.status(job.getJobId()).getState() != PayrollJob.State.COMPLETED; i++) {
+            Thread.sleep(20);
+        }
+        assertEquals(3, jobService.reprocessChanged(10L));
+        jobService.deleteRun(10L);
+        verify(payrollService).deleteRun(10L);
+    }
+
+    @Test
+    void status_unknownJob_throwsNotFound() {
+        assertThrows(ResourceNotFoundException.class, () -> jobService.status("nope"));
+    }
+}
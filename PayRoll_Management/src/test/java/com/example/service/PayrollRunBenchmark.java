@@ -0,0 +1,105 @@
+package com.example.service;
+
+import com.example.config.PayrollProperties;
+import com.example.entity.Employee;
+import com.example.entity.PayrollRun;
+import com.example.service.PayrollCalculator.RunCalculator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Throughput of {@link PayrollRunExecutor} for 10k / 100k / 1M synthetic employees.
+ * Chunks compute real items in memory; each flushed batch parks for {@code batchIoMicros}
+ * to stand in for the JDBC round trip. The "employees" counter is reported as employees/s.
+ *
+ * Run: mvn test-compile, then execute main() with the test classpath.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PayrollRunBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int employees;
+
+    @Param({"1", "4", "16"})
+    public int workers;
+
+    @Param({"0", "500"})
+    public int batchIoMicros;
+
+    private PayrollRunExecutor executor;
+    private final RunCalculator calculator = new RunCalculator(PayRuleEngine.compile(List.of(PayRuleEngine.defaultRule())));
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Processed {
+        public long employees;
+    }
+
+    /** Chunk processor that computes items for synthetic employees instead of reading the DB. */
+    static class SyntheticChunkProcessor extends PayrollChunkProcessor {
+        private final PayrollRun run = new PayrollRun(2025, 1);
+        private final int batchSize;
+        private final long batchIoNanos;
+        final LongAdder netTotal = new LongAdder();
+
+        SyntheticChunkProcessor(PayrollProperties props, int batchIoMicros) {
+            super(null, null, null, null, props, null);
+            this.batchSize = props.getBatchSize();
+            this.batchIoNanos = TimeUnit.MICROSECONDS.toNanos(batchIoMicros);
+        }
+
+        @Override
+        public ChunkResult processChunk(Long runId, long fromId, long toId, RunCalculator calculator) {
+            long net = 0;
+            int inBatch = 0;
+            for (long id = fromId; id <= toId; id++) {
+                Employee e = new Employee();
+                e.setId(id);
+                e.setBaseSalary(BigDecimal.valueOf(30_000 + id % 50_000));
+                net += buildItem(run, e, calculator).getNetSalary().longValue();
+                if (++inBatch == batchSize) {
+                    inBatch = 0;
+                    if (batchIoNanos > 0) LockSupport.parkNanos(batchIoNanos);
+                }
+            }
+            netTotal.add(net);
+            int n = (int) (toId - fromId + 1);
+            return new ChunkResult(fromId, toId, n, n);
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PayrollProperties props = new PayrollProperties();
+        props.setWorkers(workers);
+        executor = new PayrollRunExecutor(new SyntheticChunkProcessor(props, batchIoMicros), props);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Benchmark
+    public int processRun(Processed processed) {
+        int written = executor.execute(1L, 1L, employees, calculator);
+        processed.employees += written;
+        return written;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(PayrollRunBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.service;
+
+import com.example.config.PayrollProperties;
+import com.example.entity.PayrollRun;
+import com.example.entity.PayrollRunCheckpoint;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PayrollRunExecutorTest {
+
+    @Mock private PayrollChunkProcessor chunkProcessor;
+
+    private PayrollRunExecutor executor;
+    private final PayrollCalculator.RunCalculator calc =
+            new PayrollCalculator.RunCalculator(PayRuleEngine.compile(List.of()));
+
+    @BeforeEach
+    void setUp() {
+        PayrollProperties props = new PayrollProperties();
+        props.setWorkers(3);
+        props.setChunkSize(10);
+        executor = new PayrollRunExecutor(chunkProcessor, props);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void execute_coversRangeInChunksAndSumsWrites() {
+        when(chunkProcessor.processChunk(eq(7L), anyLong(), anyLong(), any())).thenAnswer(inv -> chunk(inv.getArgument(1), inv.getArgument(2)));
+
+        // ids 1..95 → 10 chunks, the last one short
+        assertEquals(95, executor.execute(7L, 1L, 95L, calc));
+        verify(chunkProcessor).processChunk(7L, 1L, 10L, calc);
+        verify(chunkProcessor).processChunk(7L, 81L, 90L, calc);
+        verify(chunkProcessor).processChunk(7L, 91L, 95L, calc);
+        verify(chunkProcessor, times(10)).processChunk(eq(7L), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void execute_interrupted_cancelsRunningChunks_andReturns() throws Exception {
+        CountDownLatch started = new CountDownLatch(3);
+        AtomicInteger interruptedChunks = new AtomicInteger();
+        when(chunkProcessor.processChunk(eq(7L), anyLong(), anyLong(), any())).thenAnswer(inv -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException ex) {
+                interruptedChunks.incrementAndGet();
+            }
+            return chunk(inv.getArgument(1), inv.getArgument(2));
+        });
+        AtomicReference<Throwable> thrown = new AtomicReference<>();
+        Thread caller = new Thread(() -> {
+            try {
+                executor.execute(7L, 1L, 1000L, calc);
+            } catch (Throwable t) {
+                thrown.set(t);
+            }
+        });
+        caller.start();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        caller.interrupt(); // as PayrollJobService.shutdown() does
+        caller.join(5_000);
+        assertFalse(caller.isAlive(), "execute() kept spinning after the interrupt");
+        assertTrue(thrown.get().getMessage().contains("interrupted"));
+        verify(chunkProcessor, timeout(5_000).times(3)).processChunk(eq(7L), anyLong(), anyLong(), any());
+        for (int i = 0; i < 100 && interruptedChunks.get() < 3; i++) Thread.sleep(20);
+        assertEquals(3, interruptedChunks.get());
+    }
+
+    @Test
+    void execute_chunkFailure_propagatesAfterDraining() {
+        when(chunkProcessor.processChunk(eq(7L), anyLong(), anyLong(), any())).thenAnswer(inv -> chunk(inv.getArgument(1), inv.getArgument(2)));
+        when(chunkProcessor.processChunk(7L, 21L, 30L, calc)).thenThrow(new IllegalStateException("boom"));
+        List<String> failed = new CopyOnWriteArrayList<>();
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class,
+            () -> executor.execute(7L, 1L, 1000L, calc, List.of(), new PayrollRunExecutor.Progress() {
+                @Override public void chunkFailed(long fromId, long toId, RuntimeException error) {
+                    failed.add(fromId + "-" + toId);
+                }
+            }));
+        assertEquals("boom", ex.getMessage());
+        assertEquals(List.of("21-30"), failed);
+    }
+
+    @Test
+    void execute_cancelled_stopsSubmittingAndThrows() {
+        when(chunkProcessor.processChunk(eq(7L), anyLong(), anyLong(), any())).thenAnswer(inv -> chunk(inv.getArgument(1), inv.getArgument(2)));
+        AtomicInteger done = new AtomicInteger();
+        PayrollRunExecutor.Progress cancelAfterFirst = new PayrollRunExecutor.Progress() {
+            @Override public void chunkDone(PayrollChunkProcessor.ChunkResult result) { done.incrementAndGet(); }
+            @Override public boolean isCancelled() { return done.get() > 0; }
+        };
+
+        assertThrows(CancellationException.class, () -> executor.execute(7L, 1L, 1000L, calc, List.of(), cancelAfterFirst));
+        // 100 chunks in the range; only those already submitted (at most 2 * workers) ran
+        verify(chunkProcessor, atMost(7)).processChunk(eq(7L), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void execute_skipsCheckpointedChunksOnAlignedBoundaries() {
+        when(chunkProcessor.processChunk(eq(7L), anyLong(), anyLong(), any())).thenAnswer(inv -> chunk(inv.getArgument(1), inv.getArgument(2)));
+        PayrollRun run = new PayrollRun(2025, 1);
+        List<PayrollRunCheckpoint> committed = List.of(
+            new PayrollRunCheckpoint(run, 11, 20, 10, 10),
+            new PayrollRunCheckpoint(run, 31, 40, 10, 10),
+            new PayrollRunCheckpoint(run, 41, 43, 3, 3));   // tail chunk of an attempt when max id was 43
+        List<Long> skipped = new CopyOnWriteArrayList<>();
+
+        // min id 13 still starts at the aligned chunk 11..20
+        int written = executor.execute(7L, 13L, 45L, calc, committed, new PayrollRunExecutor.Progress() {
+            @Override public void chunkSkipped(PayrollRunCheckpoint c) { skipped.add(c.getFromEmployeeId()); }
+        });
+
+        assertEquals(List.of(11L, 31L), skipped);
+        assertEquals(15, written);
+        verify(chunkProcessor).processChunk(7L, 21L, 30L, calc);
+        verify(chunkProcessor).processChunk(7L, 41L, 45L, calc);   // grew since the checkpoint → redone
+        verifyNoMoreInteractions(chunkProcessor);
+    }
+
+    private static PayrollChunkProcessor.ChunkResult chunk(long from, long to) {
+        int n = (int) (to - from + 1);
+        return new PayrollChunkProcessor.ChunkResult(from, to, n, n);
+    }
+}
@@ -4,9 +4,12 @@ import com.example.dto.PayrollItemDTO;
 import com.example.entity.Employee;
 import com.example.entity.PayrollItem;
 import com.example.entity.PayrollRun;
+import com.example.entity.PayrollRunCheckpoint;
 import com.example.entity.PayrollRunStatus;
+import com.example.exception.ConflictException;
 import com.example.repo.EmployeeRepository;
 import com.example.repo.PayrollItemRepository;
+import com.example.repo.PayrollRunCheckpointRepository;
 import com.example.repo.PayrollRunRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,6 +17,7 @@ import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,9 +31,20 @@ class PayrollServiceTest {
     @Mock private PayrollRunRepository runRepo;
     @Mock private EmployeeRepository empRepo;
     @Mock private PayrollItemRepository itemRepo;
+    @Mock private PayrollRunCheckpointRepository checkpointRepo;
+    @Mock private PayrollRunExecutor runExecutor;
+    @Mock private PayrollCalculator calculator;
+    @Mock private PayrollAggregateService aggregateService;
+    @Mock private ReportCache reportCache;
+    @Mock private SalaryDistributionService distributionService;
+    @Mock private PayrollCube cube;
+    @Mock private PayslipService payslipService;
 
     @InjectMocks private PayrollService payrollService;
 
+    private final PayrollCalculator.RunCalculator calc =
+            new PayrollCalculator.RunCalculator(PayRuleEngine.compile(List.of(PayRuleEngine.defaultRule())));
+
     @Test
     void createRun_success() {
         when(runRepo.findByYearAndMonth(2025, 1)).thenReturn(Optional.empty());
@@ -47,25 +62,121 @@ class PayrollServiceTest {
     }
 
     @Test
-    void processRun_createsItemsAndSetsProcessed() {
+    void processRun_executesChunksAndSetsProcessed() {
         PayrollRun run = new PayrollRun(2025,1);
         run.setId(10L);
         run.setStatus(PayrollRunStatus.DRAFT);
 
-        Employee e1 = new Employee(); e1.setId(1L); e1.setBaseSalary(new BigDecimal("1000"));
         when(runRepo.findById(10L)).thenReturn(Optional.of(run));
-        when(empRepo.findAll()).thenReturn(List.of(e1));
-        when(itemRepo.findByRunAndEmployee(run, e1)).thenReturn(Optional.empty());
-        when(itemRepo.save(any(PayrollItem.class))).thenAnswer(inv -> inv.getArgument(0));
-        when(runRepo.save(any(PayrollRun.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(empRepo.findMinId()).thenReturn(1L);
+        when(empRepo.findMaxId()).thenReturn(42L);
+        when(checkpointRepo.findByRunId(10L)).thenReturn(List.of());
+        when(runRepo.markProcessed(10L)).thenReturn(1);
+        when(calculator.forRun(run)).thenReturn(calc);
 
         PayrollRun out = payrollService.processRun(10L);
         assertEquals(PayrollRunStatus.PROCESSED, out.getStatus());
-        // deduction = 5% of 1000 = 50 → net = 950
-        // verified indirectly via item creation; for direct check, you can capture argument:
-        verify(itemRepo).save(argThat(it ->
-            new BigDecimal("950").compareTo(it.getNetSalary()) == 0
-        ));
+        // rules compiled once for the whole run
+        verify(calculator, times(1)).forRun(run);
+        verify(runExecutor).execute(10L, 1L, 42L, calc, List.of(), PayrollRunExecutor.Progress.NONE);
+        // checkpoints only matter while the run is unfinished
+        verify(checkpointRepo).deleteByRunId(10L);
+        // report aggregates rebuilt once the run is complete, cached reports dropped
+        verify(aggregateService).refresh(10L);
+        verifyNoInteractions(distributionService);
+        verify(reportCache).invalidate(2025, 1);
+    }
+
+    @Test
+    void processRun_resumesFromCheckpoints() {
+        PayrollRun run = new PayrollRun(2025,1);
+        run.setId(10L);
+        List<PayrollRunCheckpoint> committed = List.of(new PayrollRunCheckpoint(run, 1, 5000, 4990, 4990));
+
+        when(runRepo.findById(10L)).thenReturn(Optional.of(run));
+        when(empRepo.findMinId()).thenReturn(1L);
+        when(empRepo.findMaxId()).thenReturn(9000L);
+        when(checkpointRepo.findByRunId(10L)).thenReturn(committed);
+        when(runRepo.markProcessed(10L)).thenReturn(1);
+        when(calculator.forRun(run)).thenReturn(calc);
+
+        payrollService.processRun(10L);
+        verify(runExecutor).execute(10L, 1L, 9000L, calc, committed, PayrollRunExecutor.Progress.NONE);
+    }
+
+    @Test
+    void processRun_chunkFailure_leavesRunDraft() {
+        PayrollRun run = new PayrollRun(2025,1);
+        run.setId(10L);
+        run.setStatus(PayrollRunStatus.DRAFT);
+
+        when(runRepo.findById(10L)).thenReturn(Optional.of(run));
+        when(empRepo.findMinId()).thenReturn(1L);
+        when(empRepo.findMaxId()).thenReturn(42L);
+        when(checkpointRepo.findByRunId(10L)).thenReturn(List.of());
+        when(calculator.forRun(run)).thenReturn(calc);
+        when(runExecutor.execute(10L, 1L, 42L, calc, List.of(), PayrollRunExecutor.Progress.NONE))
+            .thenThrow(new RuntimeException("db down"));
+
+        assertThrows(RuntimeException.class, () -> payrollService.processRun(10L));
+        assertEquals(PayrollRunStatus.DRAFT, run.getStatus());
+        verify(runRepo, never()).markProcessed(any());
+        // committed chunks keep their checkpoints for the next attempt
+        verify(checkpointRepo, never()).deleteByRunId(any());
+        verify(aggregateService, never()).refresh(any());
+    }
+
+    @Test
+    void processRun_lockedWhileRunning_keepsLockAndThrows() {
+        PayrollRun run = new PayrollRun(2025,1);
+        run.setId(10L);
+        run.setStatus(PayrollRunStatus.PROCESSED);
+
+        when(runRepo.findById(10L)).thenReturn(Optional.of(run));
+        when(empRepo.findMinId()).thenReturn(1L);
+        when(empRepo.findMaxId()).thenReturn(42L);
+        when(checkpointRepo.findByRunId(10L)).thenReturn(List.of());
+        when(calculator.forRun(run)).thenReturn(calc);
+        when(runRepo.markProcessed(10L)).thenReturn(0); // LOCKED by the time the chunks finished
+
+        assertThrows(ConflictException.class, () -> payrollService.processRun(10L));
+        verify(runRepo, never()).save(any());
+        verify(aggregateService, never()).refresh(any());
+    }
+
+    @Test
+    void lockRun_draft_conflict() {
+        PayrollRun run = new PayrollRun(2025,1);
+        run.setId(10L);
+        when(runRepo.findById(10L)).thenReturn(Optional.of(run));
+
+        assertThrows(ConflictException.class, () -> payrollService.lockRun(10L));
+        verify(runRepo, never()).save(any());
+        verifyNoInteractions(payslipService, distributionService, cube);
+    }
+
+    @Test
+    void deleteRun_draft_removesCheckpointsItemsAndRun() {
+        PayrollRun run = new PayrollRun(2025,1);
+        run.setId(10L);
+        when(runRepo.findById(10L)).thenReturn(Optional.of(run));
+
+        payrollService.deleteRun(10L);
+        verify(checkpointRepo).deleteByRunId(10L);
+        verify(aggregateService).delete(10L);
+        verify(itemRepo).deleteByRun(run);
+        verify(runRepo).delete(run);
+        verify(reportCache).invalidate(2025, 1);
+    }
+
+    @Test
+    void deleteRun_processed_conflict() {
+        PayrollRun run = new PayrollRun(2025,1);
+        run.setStatus(PayrollRunStatus.PROCESSED);
+        when(runRepo.findById(10L)).thenReturn(Optional.of(run));
+
+        assertThrows(ConflictException.class, () -> payrollService.deleteRun(10L));
+        verify(runRepo, never()).delete(any());
     }
 
     @Test
@@ -79,6 +190,53 @@ class PayrollServiceTest {
         assertTrue(ex.getMessage().contains("locked"));
     }
 
+    @Test
+    void reprocessChanged_recomputesOnlyStaleItems() {
+        PayrollRun run = new PayrollRun(2025,1);
+        run.setId(10L);
+        run.setStatus(PayrollRunStatus.PROCESSED);
+        Employee e = new Employee(); e.setId(2L); e.setBaseSalary(new BigDecimal("2000"));
+        PayrollItem stale = new PayrollItem();
+        stale.setEmployee(e);
+        stale.setNetSalary(new BigDecimal("950"));   // computed from the old salary of 1000
+
+        when(runRepo.findById(10L)).thenReturn(Optional.of(run));
+        when(itemRepo.findStaleByRunId(10L, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31))).thenReturn(List.of(stale));
+        when(calculator.forRun(run)).thenReturn(calc);
+
+        assertEquals(1, payrollService.reprocessChanged(10L));
+        assertEquals(0, new BigDecimal("1900").compareTo(stale.getNetSalary()));
+        assertNotNull(stale.getComputedAt());
+        verify(runExecutor, never()).execute(any(), anyLong(), anyLong(), any(), any(), any());
+        verify(aggregateService).refresh(10L);
+    }
+
+    @Test
+    void lockRun_refreshesAggregates() {
+        PayrollRun run = new PayrollRun(2025,1);
+        run.setId(10L);
+        run.setStatus(PayrollRunStatus.PROCESSED);
+        when(runRepo.findById(10L)).thenReturn(Optional.of(run));
+        when(runRepo.save(any(PayrollRun.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        assertEquals(PayrollRunStatus.LOCKED, payrollService.lockRun(10L).getStatus());
+        verify(aggregateService).refresh(10L);
+        verify(distributionService).store(eq(run), any());
+        verify(payslipService).generate(run);
+        verify(reportCache).invalidate(2025, 1);
+        verify(cube).runLocked();
+    }
+
+    @Test
+    void reprocessChanged_draft_conflict() {
+        PayrollRun run = new PayrollRun(2025,1);
+        run.setStatus(PayrollRunStatus.DRAFT);
+        when(runRepo.findById(10L)).thenReturn(Optional.of(run));
+
+        assertThrows(ConflictException.class, () -> payrollService.reprocessChanged(10L));
+        verify(itemRepo, never()).findStaleByRunId(any(), any(), any());
+    }
+
     @Test
     void itemsDto_returnsMappedDTOs() {
         // itemsDto uses itemRepo.findAllByRunIdWithEmployee(runId)
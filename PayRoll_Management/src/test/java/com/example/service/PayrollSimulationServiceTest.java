@@ -0,0 +1,79 @@
+package com.example.service;
+
+import com.example.dto.DepartmentCostRow;
+import com.example.dto.EmployeePayBasis;
+import com.example.dto.PayrollSimulationRequest;
+import com.example.dto.PayrollSimulationResponse;
+import com.example.dto.SalaryAdjustment;
+import com.example.repo.EmployeeRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PayrollSimulationServiceTest {
+
+    @Mock private EmployeeRepository empRepo;
+    @Mock private PayrollCalculator calculator;
+
+    @InjectMocks private PayrollSimulationService simulationService;
+
+    @Test
+    void simulate_appliesAdjustmentsAndTotalsByDepartment() {
+        AtomicBoolean closed = new AtomicBoolean();
+        when(calculator.forRun(any())).thenReturn(
+            new PayrollCalculator.RunCalculator(PayRuleEngine.compile(List.of(PayRuleEngine.defaultRule()))));
+        when(empRepo.streamPayBasis()).thenReturn(Stream.of(
+            new EmployeePayBasis(1L, "ENG", "Dev", new BigDecimal("1000.00")),
+            new EmployeePayBasis(2L, "eng ", "Lead", new BigDecimal("2000.00")),
+            new EmployeePayBasis(3L, "HR", "Dev", new BigDecimal("1000.00")),
+            new EmployeePayBasis(4L, null, "Dev", null)
+        ).onClose(() -> closed.set(true)));
+
+        PayrollSimulationRequest req = new PayrollSimulationRequest(2025, 1,
+            List.of(new SalaryAdjustment("Eng", null, new BigDecimal("7"))));
+        PayrollSimulationResponse res = simulationService.simulate(req);
+
+        // ENG: 1070 + 2140 = 3210 basic, 5% deductions = 160.50; HR untouched
+        assertEquals(4, res.getSummary().getEmployeeCount());
+        assertEquals(0, new BigDecimal("4210.00").compareTo(res.getSummary().getTotalBasic()));
+        assertEquals(0, new BigDecimal("210.50").compareTo(res.getSummary().getTotalDeductions()));
+        assertEquals(0, new BigDecimal("3999.50").compareTo(res.getSummary().getTotalNet()));
+
+        assertEquals(List.of("ENG", "HR", "UNKNOWN", "eng "),
+            res.getDepartments().stream().map(DepartmentCostRow::getDepartment).toList());
+        Map<String, DepartmentCostRow> rows = res.getDepartments().stream()
+            .collect(Collectors.toMap(DepartmentCostRow::getDepartment, r -> r));
+        assertEquals(0, new BigDecimal("1016.50").compareTo(rows.get("ENG").getTotalNet()));
+        assertEquals(0, new BigDecimal("2033.00").compareTo(rows.get("eng ").getTotalNet()));
+        assertEquals(0, new BigDecimal("950.00").compareTo(rows.get("HR").getTotalNet()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(rows.get("UNKNOWN").getTotalNet()));
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void simulate_onlyReadsEmployees() {
+        when(calculator.forRun(any())).thenReturn(
+            new PayrollCalculator.RunCalculator(PayRuleEngine.compile(List.of(PayRuleEngine.defaultRule()))));
+        when(empRepo.streamPayBasis()).thenReturn(Stream.empty());
+
+        PayrollSimulationResponse res = simulationService.simulate(new PayrollSimulationRequest(2025, 1, null));
+        assertEquals(0, res.getSummary().getEmployeeCount());
+        assertTrue(res.getDepartments().isEmpty());
+        verify(empRepo).streamPayBasis();
+        verifyNoMoreInteractions(empRepo);
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.service;
+
+import com.example.dto.PayrollVarianceResponse;
+import com.example.dto.PayrollVarianceRow;
+import com.example.dto.VarianceItemRow;
+import com.example.entity.PayrollRun;
+import com.example.exception.BadRequestException;
+import com.example.repo.PayrollItemRepository;
+import com.example.repo.PayrollRunRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PayrollVarianceServiceTest {
+
+    @Mock private PayrollRunRepository runRepo;
+    @Mock private PayrollItemRepository itemRepo;
+
+    @InjectMocks private PayrollVarianceService varianceService;
+
+    private static PayrollRun run(long id, int year, int month) {
+        PayrollRun r = new PayrollRun(year, month);
+        r.setId(id);
+        return r;
+    }
+
+    private static VarianceItemRow item(long employeeId, String net) {
+        return new VarianceItemRow(employeeId, "E" + employeeId, null, "ENG", new BigDecimal(net));
+    }
+
+    @Test
+    void variance_mergeJoinsByEmployee() {
+        PayrollRun jan = run(1L, 2025, 1);
+        PayrollRun feb = run(2L, 2025, 2);
+        when(runRepo.findByYearAndMonth(2025, 1)).thenReturn(Optional.of(jan));
+        when(runRepo.findByYearAndMonth(2025, 2)).thenReturn(Optional.of(feb));
+        // 1 leaves, 4 joins, 2 moves +10%, 3 moves exactly +5% (not above the threshold), 5 goes from 0 to 100
+        when(itemRepo.streamNetByEmployee(1L)).thenReturn(Stream.of(
+                item(1, "1000.00"), item(2, "2000.00"), item(3, "1000.00"), item(5, "0.00")));
+        when(itemRepo.streamNetByEmployee(2L)).thenReturn(Stream.of(
+                item(2, "2200.00"), item(3, "1050.00"), item(4, "3000.00"), item(5, "100.00")));
+
+        PayrollVarianceResponse res = varianceService.variance(2025, 2, null, null, new BigDecimal("5"));
+
+        assertEquals("2025-01", res.getBasePeriod());
+        assertEquals(List.of("LEAVER", "CHANGED", "JOINER", "CHANGED"),
+                res.getRows().stream().map(PayrollVarianceRow::change).toList());
+        assertEquals(List.of(1L, 2L, 4L, 5L), res.getRows().stream().map(PayrollVarianceRow::employeeId).toList());
+
+        PayrollVarianceRow moved = res.getRows().get(1);
+        assertEquals(0, new BigDecimal("200.00").compareTo(moved.delta()));
+        assertEquals(0, new BigDecimal("10.00").compareTo(moved.deltaPercent()));
+        assertNull(res.getRows().get(3).deltaPercent());
+        assertNull(res.getRows().get(2).baseNet());
+
+        assertEquals(1, res.getLeavers());
+        assertEquals(1, res.getJoiners());
+        assertEquals(2, res.getChanged());
+        assertEquals(1, res.getWithinThreshold());
+        assertEquals(0, new BigDecimal("4000.00").compareTo(res.getBaseTotalNet()));
+        assertEquals(0, new BigDecimal("6350.00").compareTo(res.getCompareTotalNet()));
+        assertEquals(0, new BigDecimal("2350.00").compareTo(res.getTotalDelta()));
+        // the parts add up to the total
+        assertEquals(0, res.getTotalDelta().compareTo(res.getJoinersDelta().add(res.getLeaversDelta())
+                .add(res.getChangedDelta()).add(res.getWithinThresholdDelta())));
+    }
+
+    @Test
+    void variance_january_comparesWithPreviousDecember() {
+        when(runRepo.findByYearAndMonth(2024, 12)).thenReturn(Optional.of(run(1L, 2024, 12)));
+        when(runRepo.findByYearAndMonth(2025, 1)).thenReturn(Optional.of(run(2L, 2025, 1)));
+        when(itemRepo.streamNetByEmployee(anyLong())).thenAnswer(inv -> Stream.empty());
+
+        PayrollVarianceResponse res = varianceService.variance(2025, 1, null, null, BigDecimal.ZERO);
+        assertEquals("2024-12", res.getBasePeriod());
+        assertTrue(res.getRows().isEmpty());
+    }
+
+    @Test
+    void variance_negativeThreshold_badRequest() {
+        assertThrows(BadRequestException.class,
+                () -> varianceService.variance(run(1L, 2025, 1), run(2L, 2025, 2), new BigDecimal("-1")));
+        verifyNoInteractions(itemRepo);
+    }
+}
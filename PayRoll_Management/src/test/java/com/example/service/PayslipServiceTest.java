@@ -0,0 +1,137 @@
+package com.example.service;
+
+import com.example.config.PayrollProperties;
+import com.example.dto.PayrollExportRow;
+import com.example.entity.PayrollPayslip;
+import com.example.entity.PayrollRun;
+import com.example.exception.ResourceNotFoundException;
+import com.example.repo.PayrollItemRepository;
+import com.example.repo.PayrollPayslipRepository;
+import com.example.repo.PayrollRunRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PayslipServiceTest {
+
+    @Mock private PayrollRunRepository runRepo;
+    @Mock private PayrollItemRepository itemRepo;
+    @Mock private PayrollPayslipRepository payslipRepo;
+    @Mock private EntityManager em;
+
+    @TempDir Path dir;
+
+    private PayslipStore store;
+    private PayslipService payslipService;
+
+    @BeforeEach
+    void setUp() {
+        PayrollProperties props = new PayrollProperties();
+        props.setWorkers(3);
+        props.setBatchSize(7);
+        store = new PayslipStore(dir);
+        payslipService = new PayslipService(runRepo, itemRepo, payslipRepo, store, props, em);
+    }
+
+    @AfterEach
+    void tearDown() {
+        payslipService.shutdown();
+    }
+
+    private static PayrollRun run() {
+        PayrollRun run = new PayrollRun(2025, 3);
+        run.setId(5L);
+        return run;
+    }
+
+    private static PayrollExportRow row(long employeeId, String lastName) {
+        return new PayrollExportRow(employeeId * 10, employeeId, "Asha", lastName, "ENG", "Dev",
+                new BigDecimal("50000.00"), new BigDecimal("1500.00"), BigDecimal.ZERO, new BigDecimal("48500.00"), 1);
+    }
+
+    @Test
+    void generate_rendersEveryItemIntoTheStore() throws Exception {
+        PayrollRun run = run();
+        when(itemRepo.streamExportRows(5L)).thenReturn(LongStream.rangeClosed(1, 50).mapToObj(id -> row(id, "K" + id)));
+        List<PayrollPayslip> saved = new ArrayList<>();
+        AtomicInteger batches = new AtomicInteger();
+        when(payslipRepo.saveAll(anyList())).thenAnswer(inv -> {
+            batches.incrementAndGet();
+            saved.addAll(inv.getArgument(0));
+            return inv.getArgument(0);
+        });
+
+        assertEquals(50, payslipService.generate(run));
+
+        verify(payslipRepo).deleteByRunId(5L);
+        assertEquals(50, saved.size());
+        // every batch (7 or more rows) is flushed and detached as it fills, not held until commit
+        assertTrue(batches.get() >= 2 && batches.get() <= 8, "batches: " + batches.get());
+        verify(payslipRepo, times(batches.get())).flush();
+        verify(em, times(batches.get())).clear();
+        assertEquals(50, saved.stream().map(PayrollPayslip::getEmployeeId).distinct().count());
+        for (PayrollPayslip p : saved) {
+            byte[] doc = Files.readAllBytes(store.path(p.getContentHash()));
+            assertEquals(p.getSize(), doc.length);
+            assertEquals(p.getContentHash(), PayslipStore.sha256(doc));
+            assertTrue(new String(doc, StandardCharsets.UTF_8).contains("K" + p.getEmployeeId()));
+        }
+    }
+
+    @Test
+    void render_isDeterministicAndEscaped() {
+        byte[] a = PayslipService.render(2025, 3, row(1, "<script>&"));
+        byte[] b = PayslipService.render(2025, 3, row(1, "<script>&"));
+        assertArrayEquals(a, b);
+
+        String html = new String(a, StandardCharsets.UTF_8);
+        assertTrue(html.contains("Asha &lt;script&gt;&amp;"));
+        assertFalse(html.contains("<script>"));
+        assertTrue(html.contains("48500.00"));
+
+        // same content, same file
+        assertEquals(store.put(a), store.put(b));
+    }
+
+    @Test
+    void find_returnsStoredFile_andMatchesEtag() {
+        PayrollRun run = run();
+        byte[] doc = PayslipService.render(2025, 3, row(1, "K"));
+        String hash = store.put(doc);
+        when(runRepo.findByYearAndMonth(2025, 3)).thenReturn(Optional.of(run));
+        when(payslipRepo.findByRunIdAndEmployeeId(5L, 1L))
+                .thenReturn(Optional.of(new PayrollPayslip(run, 1L, hash, doc.length)));
+
+        PayslipService.PayslipFile file = payslipService.find(2025, 3, 1L);
+        assertEquals(store.path(hash), file.path());
+        assertEquals("payslip-2025-03.html", file.filename());
+        assertEquals("\"" + hash + "\"", file.etag());
+        assertTrue(file.matches("\"other\", W/\"" + hash + "\""));
+        assertTrue(file.matches("*"));
+        assertFalse(file.matches("\"other\""));
+        assertFalse(file.matches(null));
+
+        when(payslipRepo.findByRunIdAndEmployeeId(5L, 2L)).thenReturn(Optional.empty());
+        assertThrows(ResourceNotFoundException.class, () -> payslipService.find(2025, 3, 2L));
+    }
+}
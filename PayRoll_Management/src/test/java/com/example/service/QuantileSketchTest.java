@@ -0,0 +1,110 @@
+package com.example.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuantileSketchTest {
+
+    private static final double[] QUANTILES = { 0, 0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.95, 0.99, 0.999, 1 };
+
+    /** Same rank definition as the sketch: floor(q * (n - 1)) of the sorted values. */
+    private static double exact(double[] sorted, double q) {
+        return sorted[(int) Math.floor(q * (sorted.length - 1))];
+    }
+
+    private static void assertAccurate(double[] values, QuantileSketch sketch) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        double alpha = sketch.relativeAccuracy();
+        for (double q : QUANTILES) {
+            double want = exact(sorted, q);
+            double got = sketch.quantile(q);
+            assertTrue(Math.abs(got - want) <= alpha * Math.abs(want) + 1e-9,
+                    "q=" + q + " exact=" + want + " sketch=" + got);
+        }
+        assertEquals(sorted[0], sketch.min());
+        assertEquals(sorted[sorted.length - 1], sketch.max());
+    }
+
+    @Test
+    void quantiles_withinRelativeAccuracy_skewedSalaries() {
+        Random rnd = new Random(42);
+        for (int run = 0; run < 20; run++) {
+            int n = 1 + rnd.nextInt(20_000);
+            double[] values = new double[n];
+            QuantileSketch sketch = new QuantileSketch();
+            for (int i = 0; i < n; i++) {
+                // log-normal net salaries in paise, median around 50,000 rupees, long right tail
+                values[i] = Math.rint(Math.exp(Math.log(5_000_000) + 0.6 * rnd.nextGaussian()));
+                sketch.add(values[i]);
+            }
+            assertEquals(n, sketch.count());
+            assertAccurate(values, sketch);
+        }
+    }
+
+    @Test
+    void quantiles_withinRelativeAccuracy_negativeAndZeroNet() {
+        Random rnd = new Random(7);
+        double[] values = new double[5_000];
+        QuantileSketch sketch = new QuantileSketch(0.02);
+        for (int i = 0; i < values.length; i++) {
+            // deductions above pay give a negative net; some items are exactly zero
+            values[i] = i % 50 == 0 ? 0 : Math.rint(rnd.nextGaussian() * 1_000_000 + 300_000);
+            sketch.add(values[i]);
+        }
+        assertAccurate(values, sketch);
+    }
+
+    @Test
+    void merge_equalsSketchOfAllValues() {
+        Random rnd = new Random(1);
+        QuantileSketch a = new QuantileSketch();
+        QuantileSketch b = new QuantileSketch();
+        QuantileSketch all = new QuantileSketch();
+        for (int i = 0; i < 10_000; i++) {
+            double v = Math.rint(100_000 + rnd.nextDouble() * (i % 2 == 0 ? 1e6 : 1e8));
+            (i % 2 == 0 ? a : b).add(v);
+            all.add(v);
+        }
+        a.merge(b);
+        assertEquals(all.count(), a.count());
+        for (double q : QUANTILES) {
+            assertEquals(all.quantile(q), a.quantile(q), "q=" + q);
+        }
+        assertArrayEquals(all.histogram(10), a.histogram(10));
+    }
+
+    @Test
+    void toBytes_roundTripsAndIsCompact() {
+        Random rnd = new Random(3);
+        QuantileSketch s = new QuantileSketch();
+        for (int i = 0; i < 100_000; i++) {
+            s.add(Math.rint(Math.exp(Math.log(5_000_000) + 0.6 * rnd.nextGaussian())));
+        }
+        byte[] bytes = s.toBytes();
+        assertTrue(bytes.length < 2_000, "sketch takes " + bytes.length + " bytes");
+
+        QuantileSketch back = QuantileSketch.fromBytes(bytes);
+        assertEquals(s.count(), back.count());
+        assertEquals(s.min(), back.min());
+        assertEquals(s.max(), back.max());
+        for (double q : QUANTILES) {
+            assertEquals(s.quantile(q), back.quantile(q));
+        }
+    }
+
+    @Test
+    void histogram_countsEveryValue() {
+        QuantileSketch s = new QuantileSketch();
+        for (int i = 1; i <= 1_000; i++) s.add(i * 100.0);
+        long[] bins = s.histogram(4);
+        assertEquals(1_000, Arrays.stream(bins).sum());
+        // roughly uniform: every quarter within a few bucket widths of 250
+        for (long c : bins) assertTrue(Math.abs(c - 250) <= 15, Arrays.toString(bins));
+    }
+}
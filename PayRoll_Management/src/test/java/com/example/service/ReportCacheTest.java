@@ -0,0 +1,119 @@
+package com.example.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportCacheTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicLong now = new AtomicLong();
+
+    private ReportCache cache(int maxEntries) {
+        return new ReportCache(maxEntries, Duration.ofSeconds(60), registry, now::get);
+    }
+
+    private double requests(String result) {
+        Counter c = registry.find("payroll.report.cache.requests").tag("result", result).counter();
+        return c != null ? c.count() : 0;
+    }
+
+    @Test
+    void get_hitsUntilTtlExpires() {
+        ReportCache cache = cache(8);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals(1, cache.get("summary", 2025, 1, loads::incrementAndGet));
+        assertEquals(1, cache.get("summary", 2025, 1, loads::incrementAndGet));
+        assertEquals(1.0, requests("miss"));
+        assertEquals(1.0, requests("hit"));
+        assertEquals(1, registry.get("payroll.report.cache.load").timer().count());
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(61));
+        assertEquals(2, cache.get("summary", 2025, 1, loads::incrementAndGet));
+    }
+
+    @Test
+    void invalidate_dropsOnlyThatMonth() {
+        ReportCache cache = cache(8);
+        cache.get("summary", 2025, 1, () -> "jan");
+        cache.get("cost", 2025, 1, () -> "jan");
+        cache.get("summary", 2025, 2, () -> "feb");
+
+        cache.invalidate(2025, 1);
+        assertEquals(1, cache.size());
+        assertEquals("jan-2", cache.get("summary", 2025, 1, () -> "jan-2"));
+        assertEquals("feb", cache.get("summary", 2025, 2, () -> "feb-2"));
+    }
+
+    @Test
+    void get_evictsOldestBeyondMaxEntries() {
+        ReportCache cache = cache(2);
+        for (int month = 1; month <= 3; month++) {
+            now.incrementAndGet();
+            int m = month;
+            cache.get("summary", 2025, month, () -> m);
+        }
+        assertEquals(2, cache.size());
+        // month 1 was the oldest
+        assertEquals(-1, cache.get("summary", 2025, 1, () -> -1));
+    }
+
+    @Test
+    void get_failedLoadIsNotCached() {
+        ReportCache cache = cache(8);
+        assertThrows(IllegalStateException.class,
+                () -> cache.get("summary", 2025, 1, () -> { throw new IllegalStateException("db down"); }));
+        assertEquals(0, cache.size());
+        assertEquals("ok", cache.get("summary", 2025, 1, () -> "ok"));
+    }
+
+    @Test
+    void get_concurrentMissesShareOneLoad() throws Exception {
+        ReportCache cache = cache(8);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            Future<Integer> first = pool.submit(() -> cache.get("summary", 2025, 1, () -> {
+                loading.countDown();
+                await(release);
+                return loads.incrementAndGet();
+            }));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+            Future<Integer> second = pool.submit(() -> cache.get("summary", 2025, 1, loads::incrementAndGet));
+            Future<Integer> third = pool.submit(() -> cache.get("summary", 2025, 1, loads::incrementAndGet));
+            while (requests("coalesced") < 2) Thread.sleep(1); // both waiting on the first load
+            release.countDown();
+
+            assertEquals(1, first.get(5, TimeUnit.SECONDS));
+            assertEquals(1, second.get(5, TimeUnit.SECONDS));
+            assertEquals(1, third.get(5, TimeUnit.SECONDS));
+            assertEquals(1, loads.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
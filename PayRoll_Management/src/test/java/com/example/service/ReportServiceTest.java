@@ -2,9 +2,12 @@ package com.example.service;
 
 import com.example.dto.DepartmentCostRow;
 import com.example.dto.PayrollSummaryResponse;
-import com.example.entity.Employee;
-import com.example.entity.PayrollItem;
+import com.example.dto.PayrollTrendResponse;
+import com.example.dto.PeriodDepartmentRow;
 import com.example.entity.PayrollRun;
+import com.example.entity.PayrollRunStatus;
+import com.example.exception.BadRequestException;
+import com.example.exception.ResourceNotFoundException;
 import com.example.repo.PayrollItemRepository;
 import com.example.repo.PayrollRunRepository;
 import org.junit.jupiter.api.Test;
@@ -12,7 +15,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.YearMonth;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,55 +32,170 @@ class ReportServiceTest {
 
     @Mock private PayrollRunRepository runRepo;
     @Mock private PayrollItemRepository itemRepo;
+    @Mock private PayrollAggregateService aggregateService;
+    @Mock private SalaryDistributionService distributionService;
+    @Spy private ReportCache cache = new ReportCache(16, Duration.ofMinutes(5), new SimpleMeterRegistry(), System::nanoTime);
 
     @InjectMocks private ReportService reportService;
 
     @Test
     void payrollSummary_aggregatesTotals() {
         PayrollRun run = new PayrollRun(2025, 1);
-        Employee e = new Employee(); e.setDepartment("ENG");
-        PayrollItem it = new PayrollItem();
-        it.setEmployee(e);
-        it.setBasicSalary(new BigDecimal("100"));
-        it.setDeductions(new BigDecimal("10"));
-        it.setBonus(new BigDecimal("5"));
-        it.setNetSalary(new BigDecimal("95"));
+        run.setId(10L);
 
         when(runRepo.findByYearAndMonth(2025,1)).thenReturn(Optional.of(run));
-        when(itemRepo.findByRun(run)).thenReturn(List.of(it));
+        when(itemRepo.summarizeByRunId(10L)).thenReturn(new PayrollSummaryResponse(1L,
+            new BigDecimal("100"), new BigDecimal("10"), new BigDecimal("5"), new BigDecimal("95")));
 
         PayrollSummaryResponse res = reportService.payrollSummary(2025,1);
+        assertEquals(2025, res.getYear());
+        assertEquals(1, res.getMonth());
         assertEquals(1, res.getEmployeeCount());
         assertEquals(0, new BigDecimal("100").compareTo(res.getTotalBasic()));
         assertEquals(0, new BigDecimal("10").compareTo(res.getTotalDeductions()));
         assertEquals(0, new BigDecimal("5").compareTo(res.getTotalBonus()));
         assertEquals(0, new BigDecimal("95").compareTo(res.getTotalNet()));
+        // served from the aggregate query: no items are loaded
+        verify(itemRepo, never()).findByRun(any());
     }
 
     @Test
     void departmentCost_groupsByDepartment() {
         PayrollRun run = new PayrollRun(2025, 1);
-
-        Employee e1 = new Employee(); e1.setDepartment("ENG");
-        PayrollItem i1 = new PayrollItem(); i1.setEmployee(e1);
-        i1.setBasicSalary(new BigDecimal("100"));
-        i1.setDeductions(new BigDecimal("10"));
-        i1.setBonus(new BigDecimal("0"));
-        i1.setNetSalary(new BigDecimal("90"));
-
-        Employee e2 = new Employee(); e2.setDepartment("HR");
-        PayrollItem i2 = new PayrollItem(); i2.setEmployee(e2);
-        i2.setBasicSalary(new BigDecimal("200"));
-        i2.setDeductions(new BigDecimal("20"));
-        i2.setBonus(new BigDecimal("5"));
-        i2.setNetSalary(new BigDecimal("185"));
+        run.setId(10L);
 
         when(runRepo.findByYearAndMonth(2025,1)).thenReturn(Optional.of(run));
-        when(itemRepo.findByRun(run)).thenReturn(List.of(i1, i2));
+        when(itemRepo.departmentCostByRunId(10L)).thenReturn(List.of(
+            new DepartmentCostRow("ENG", 1, new BigDecimal("100"), new BigDecimal("10"), BigDecimal.ZERO, new BigDecimal("90")),
+            new DepartmentCostRow("HR", 2, new BigDecimal("200"), new BigDecimal("20"), new BigDecimal("5"), new BigDecimal("185"))));
 
         List<DepartmentCostRow> rows = reportService.departmentCost(2025,1);
         assertEquals(2, rows.size());
         assertTrue(rows.stream().anyMatch(r -> r.getDepartment().equals("ENG")));
         assertTrue(rows.stream().anyMatch(r -> r.getDepartment().equals("HR")));
+        verify(itemRepo, never()).findByRun(any());
+    }
+
+    @Test
+    void reports_preferMaterialisedAggregates() {
+        PayrollRun run = new PayrollRun(2025, 1);
+        run.setId(10L);
+        PayrollSummaryResponse stored = new PayrollSummaryResponse(3L,
+            new BigDecimal("300"), new BigDecimal("30"), new BigDecimal("5"), new BigDecimal("275"));
+        List<DepartmentCostRow> storedRows = List.of(
+            new DepartmentCostRow("ENG", 3, new BigDecimal("300"), new BigDecimal("30"), new BigDecimal("5"), new BigDecimal("275")));
+
+        when(runRepo.findByYearAndMonth(2025,1)).thenReturn(Optional.of(run));
+        when(aggregateService.summary(run)).thenReturn(Optional.of(stored));
+        when(aggregateService.departmentCost(run)).thenReturn(Optional.of(storedRows));
+
+        assertSame(stored, reportService.payrollSummary(2025,1));
+        assertSame(storedRows, reportService.departmentCost(2025,1));
+        verifyNoInteractions(itemRepo);
+    }
+
+    @Test
+    void payrollSummary_cachedUntilInvalidated() {
+        PayrollRun run = new PayrollRun(2025, 1);
+        run.setId(10L);
+        when(runRepo.findByYearAndMonth(2025,1)).thenReturn(Optional.of(run));
+        when(itemRepo.summarizeByRunId(10L)).thenReturn(new PayrollSummaryResponse(1L,
+            new BigDecimal("100"), BigDecimal.ZERO, BigDecimal.ZERO, new BigDecimal("100")));
+
+        PayrollSummaryResponse first = reportService.payrollSummary(2025,1);
+        assertSame(first, reportService.payrollSummary(2025,1));
+        verify(itemRepo, times(1)).summarizeByRunId(10L);
+
+        cache.invalidate(2025, 1);
+        reportService.payrollSummary(2025,1);
+        verify(itemRepo, times(2)).summarizeByRunId(10L);
+    }
+
+    private static PayrollRun run(long id, int month, PayrollRunStatus status) {
+        PayrollRun run = new PayrollRun(2025, month);
+        run.setId(id);
+        run.setStatus(status);
+        return run;
+    }
+
+    private static PeriodDepartmentRow deptRow(long runId, String dept, String net) {
+        return new PeriodDepartmentRow(runId, dept, 1L, new BigDecimal(net), BigDecimal.ZERO, BigDecimal.ZERO, new BigDecimal(net));
+    }
+
+    @Test
+    void trend_monthlyTotalsWithYtdFromJanuary() {
+        List<PayrollRun> runs = List.of(
+            run(1L, 1, PayrollRunStatus.LOCKED), run(2L, 2, PayrollRunStatus.LOCKED), run(3L, 3, PayrollRunStatus.PROCESSED));
+        when(runRepo.findInPeriod(eq(202501), eq(202503), any())).thenReturn(runs);
+        when(itemRepo.departmentCostByRunIds(List.of(1L, 2L, 3L))).thenReturn(List.of(
+            deptRow(1L, "ENG", "100"), deptRow(2L, "ENG", "200"), deptRow(2L, "HR", "50"), deptRow(3L, "ENG", "300")));
+
+        // January is outside the range but still counts towards the YTD sums
+        PayrollTrendResponse res = reportService.trend(YearMonth.of(2025, 2), YearMonth.of(2025, 3));
+        assertEquals(2, res.getMonths().size());
+        assertEquals(0, new BigDecimal("250").compareTo(res.getMonths().get(0).getTotalNet()));
+        assertEquals(0, new BigDecimal("350").compareTo(res.getMonths().get(0).getYtdNet()));
+        assertEquals(2, res.getMonths().get(0).getDepartments().size());
+        assertEquals(0, new BigDecimal("650").compareTo(res.getMonths().get(1).getYtdNet()));
+
+        assertEquals(2, res.getDepartments().size());
+        assertEquals("ENG", res.getDepartments().get(0).getDepartment());
+        assertEquals(0, new BigDecimal("500").compareTo(res.getDepartments().get(0).getTotalNet()));
+        assertEquals(2, res.getDepartments().get(0).getEmployeeCount());
+    }
+
+    @Test
+    void trend_lockedMonthsAreReadOnce() {
+        List<PayrollRun> runs = List.of(run(1L, 1, PayrollRunStatus.LOCKED), run(2L, 2, PayrollRunStatus.PROCESSED));
+        when(runRepo.findInPeriod(eq(202501), eq(202502), any())).thenReturn(runs);
+        when(itemRepo.departmentCostByRunIds(List.of(1L, 2L))).thenReturn(List.of(deptRow(1L, "ENG", "100"), deptRow(2L, "ENG", "200")));
+        when(itemRepo.departmentCostByRunIds(List.of(2L))).thenReturn(List.of(deptRow(2L, "ENG", "210")));
+
+        reportService.yearToDate(2025, 2);
+        PayrollTrendResponse res = reportService.yearToDate(2025, 2);
+
+        verify(itemRepo, times(1)).departmentCostByRunIds(List.of(1L, 2L));
+        verify(itemRepo, times(1)).departmentCostByRunIds(List.of(2L));
+        assertEquals(0, new BigDecimal("310").compareTo(res.getMonths().get(1).getYtdNet()));
+    }
+
+    @Test
+    void trend_invalidRange_throws() {
+        assertThrows(BadRequestException.class, () -> reportService.trend(YearMonth.of(2025, 3), YearMonth.of(2025, 1)));
+        assertThrows(BadRequestException.class, () -> reportService.trend(YearMonth.of(2020, 1), YearMonth.of(2025, 1)));
+        verifyNoInteractions(runRepo);
+    }
+
+    @Test
+    void salaryDistribution_lockedRun_usesStoredSketches() {
+        PayrollRun run = run(1L, 1, PayrollRunStatus.LOCKED);
+        List<SalaryDistributionService.GroupSketch> stored =
+            List.of(new SalaryDistributionService.GroupSketch("ENG", "Dev", new QuantileSketch()));
+        when(runRepo.findByYearAndMonth(2025,1)).thenReturn(Optional.of(run));
+        when(distributionService.load(1L)).thenReturn(stored);
+
+        reportService.salaryDistribution(2025, 1, 10);
+        verify(distributionService).toResponse(run, stored, 10, true);
+        verify(distributionService, never()).build(any());
+    }
+
+    @Test
+    void salaryDistribution_lockedRunWithoutSketches_buildsAndStores() {
+        PayrollRun run = run(1L, 1, PayrollRunStatus.LOCKED);
+        List<SalaryDistributionService.GroupSketch> built =
+            List.of(new SalaryDistributionService.GroupSketch("ENG", "Dev", new QuantileSketch()));
+        when(runRepo.findByYearAndMonth(2025,1)).thenReturn(Optional.of(run));
+        when(distributionService.load(1L)).thenReturn(List.of());
+        when(distributionService.build(1L)).thenReturn(built);
+
+        reportService.salaryDistribution(2025, 1, 10);
+        verify(distributionService).store(run, built);
+        verify(distributionService).toResponse(run, built, 10, false);
+    }
+
+    @Test
+    void payrollSummary_unknownRun_throws() {
+        when(runRepo.findByYearAndMonth(2025,1)).thenReturn(Optional.empty());
+        assertThrows(ResourceNotFoundException.class, () -> reportService.payrollSummary(2025,1));
     }
 }
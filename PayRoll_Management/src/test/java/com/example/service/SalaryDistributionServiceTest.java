@@ -0,0 +1,105 @@
+package com.example.service;
+
+import com.example.dto.NetSalaryRow;
+import com.example.dto.SalaryDistributionGroup;
+import com.example.dto.SalaryDistributionResponse;
+import com.example.entity.PayrollRun;
+import com.example.entity.PayrollSalarySketch;
+import com.example.repo.PayrollItemRepository;
+import com.example.repo.PayrollSalarySketchRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SalaryDistributionServiceTest {
+
+    @Mock private PayrollItemRepository itemRepo;
+    @Mock private PayrollSalarySketchRepository sketchRepo;
+
+    @InjectMocks private SalaryDistributionService distributionService;
+
+    private static List<NetSalaryRow> rows() {
+        List<NetSalaryRow> rows = new ArrayList<>();
+        // ENG/Dev: 1000..100000 in steps of 1000; HR/blank designation: 500 x 10
+        IntStream.rangeClosed(1, 100).forEach(i -> rows.add(new NetSalaryRow("ENG", "Dev", new BigDecimal(i * 1000))));
+        IntStream.range(0, 10).forEach(i -> rows.add(new NetSalaryRow("HR", " ", new BigDecimal("500.00"))));
+        return rows;
+    }
+
+    @Test
+    void build_groupsByDepartmentAndDesignation_andReportsPercentiles() {
+        PayrollRun run = new PayrollRun(2025, 1);
+        run.setId(7L);
+        when(itemRepo.streamNetSalaries(7L)).thenReturn(rows().stream());
+
+        List<SalaryDistributionService.GroupSketch> sketches = distributionService.build(7L);
+        assertEquals(2, sketches.size());
+        assertEquals("UNKNOWN", sketches.get(1).designation());
+
+        SalaryDistributionResponse res = distributionService.toResponse(run, sketches, 5, false);
+        SalaryDistributionGroup eng = res.getGroups().get(0);
+        assertEquals(100, eng.getCount());
+        // exact: p50 = 50000, p90 = 90000, p99 = 99000 (rank floor(q * 99)); 1% relative accuracy
+        assertEquals(50_000, eng.getP50().doubleValue(), 500);
+        assertEquals(90_000, eng.getP90().doubleValue(), 900);
+        assertEquals(99_000, eng.getP99().doubleValue(), 990);
+        assertEquals(0, new BigDecimal("100000.00").compareTo(eng.getMax()));
+        assertEquals(5, eng.getHistogram().size());
+        assertEquals(100, eng.getHistogram().stream().mapToLong(b -> b.count()).sum());
+
+        assertEquals(2, res.getDepartments().size());
+        assertEquals(110, res.getOverall().getCount());
+        assertEquals(0, new BigDecimal("500.00").compareTo(res.getOverall().getMin()));
+    }
+
+    @Test
+    void build_departmentsDifferingOnlyInCase_areOneGroup() {
+        PayrollRun run = new PayrollRun(2025, 1);
+        run.setId(7L);
+        when(itemRepo.streamNetSalaries(7L)).thenReturn(List.of(
+                new NetSalaryRow("Sales", "Rep", new BigDecimal("1000")),
+                new NetSalaryRow("sales", "rep ", new BigDecimal("2000")),
+                new NetSalaryRow("SALES", "Lead", new BigDecimal("3000"))).stream());
+
+        List<SalaryDistributionService.GroupSketch> sketches = distributionService.build(7L);
+        // (run, department, designation) is unique under MySQL's case-insensitive collation
+        assertEquals(2, sketches.size());
+        assertEquals("Sales", sketches.get(1).department());
+        assertEquals("Rep", sketches.get(1).designation());
+        assertEquals(2, sketches.get(1).sketch().count());
+
+        SalaryDistributionResponse res = distributionService.toResponse(run, sketches, 2, false);
+        assertEquals(1, res.getDepartments().size());
+        assertEquals(3, res.getDepartments().get(0).getCount());
+    }
+
+    @Test
+    void storeThenLoad_returnsSameSketches() {
+        PayrollRun run = new PayrollRun(2025, 1);
+        run.setId(7L);
+        when(itemRepo.streamNetSalaries(7L)).thenReturn(rows().stream());
+        List<SalaryDistributionService.GroupSketch> built = distributionService.build(7L);
+
+        distributionService.store(run, built);
+        verify(sketchRepo).deleteByRunId(7L);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<PayrollSalarySketch>> saved = ArgumentCaptor.forClass(List.class);
+        verify(sketchRepo).saveAll(saved.capture());
+        assertEquals(100, saved.getValue().get(0).getItemCount());
+
+        when(sketchRepo.findByRunId(7L)).thenReturn(saved.getValue());
+        List<SalaryDistributionService.GroupSketch> loaded = distributionService.load(7L);
+        assertEquals(built.size(), loaded.size());
+        assertEquals(built.get(0).sketch().quantile(0.9), loaded.get(0).sketch().quantile(0.9));
+    }
+}
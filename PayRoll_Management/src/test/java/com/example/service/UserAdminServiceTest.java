@@ -6,6 +6,7 @@ import com.example.entity.User;
 import com.example.exception.ConflictException;
 import com.example.exception.ResourceNotFoundException;
 import com.example.repo.UserRepository;
+import com.example.security.UserStatusCache;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
@@ -23,6 +24,7 @@ class UserAdminServiceTest {
 
     @Mock private UserRepository userRepo;
     @Mock private PasswordEncoder encoder;
+    @Mock private UserStatusCache statusCache;
 
     @InjectMocks private UserAdminService svc;
 
@@ -63,6 +65,7 @@ class UserAdminServiceTest {
 
         User out = svc.updateStatus(5L, req);
         assertTrue(out.isEnabled());
+        verify(statusCache).invalidate(5L);
     }
 
     @Test
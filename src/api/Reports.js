@@ -20,3 +20,16 @@ export async function getDepartmentCost(year, month) {
   const { data } = await api.get(url);
   return data;
 }
+
+// from/to as "YYYY-MM"
+export async function getPayrollTrend(from, to) {
+  const qs = new URLSearchParams({ from, to }).toString();
+  const { data } = await api.get(`/reports/trend?${qs}`);
+  return data;
+}
+
+export async function getYearToDate(year, month) {
+  const qs = new URLSearchParams({ year: String(nm(year)), month: String(nm(month)) }).toString();
+  const { data } = await api.get(`/reports/ytd?${qs}`);
+  return data;
+}
@@ -19,6 +19,8 @@ export default function EmployeeEditModal({ employee, onClose, onSaved }) {
     designation: "",
     department: "",
     baseSalary: "",
+    bankAccountNumber: "",
+    bankIfsc: "",
   });
   const [saving, setSaving] = useState(false);
   const [err, setErr] = useState("");
@@ -36,6 +38,8 @@ export default function EmployeeEditModal({ employee, onClose, onSaved }) {
       designation: employee.designation ?? "",
       department: employee.department ?? "",
       baseSalary: employee.baseSalary ?? "",
+      bankAccountNumber: employee.bankAccountNumber ?? "",
+      bankIfsc: employee.bankIfsc ?? "",
     });
   }, [employee]);
 
@@ -54,6 +58,8 @@ export default function EmployeeEditModal({ employee, onClose, onSaved }) {
       const payload = {
         ...form,
         baseSalary: form.baseSalary === "" ? null : Number(form.baseSalary),
+        bankAccountNumber: form.bankAccountNumber.trim() || null,
+        bankIfsc: form.bankIfsc.trim().toUpperCase() || null,
       };
       const updated = await updateEmployee(id, payload);
       onSaved(updated);
@@ -180,6 +186,27 @@ export default function EmployeeEditModal({ employee, onClose, onSaved }) {
                   />
                 </div>
 
+                <div className="col-md-3">
+                  <label className="form-label">Bank Account No.</label>
+                  <input
+                    name="bankAccountNumber"
+                    className="form-control"
+                    inputMode="numeric"
+                    value={form.bankAccountNumber}
+                    onChange={onChange}
+                  />
+                </div>
+                <div className="col-md-3">
+                  <label className="form-label">IFSC</label>
+                  <input
+                    name="bankIfsc"
+                    className="form-control"
+                    maxLength={11}
+                    value={form.bankIfsc}
+                    onChange={onChange}
+                  />
+                </div>
+
                 <div className="col-12 d-flex justify-content-end gap-2 mt-2">
                   <button
                     type="button"
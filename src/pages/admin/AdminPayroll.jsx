@@ -6,6 +6,7 @@ export default function AdminPayroll() {
   const [ym, setYM] = useState({ year: new Date().getFullYear(), month: new Date().getMonth() + 1 });
   const [items, setItems] = useState([]);
   const [sel, setSel] = useState(null);
+  const [job, setJob] = useState(null); // background "process run" job being watched
 
   const loadRuns = async () => {
     const { data } = await api.get("/payroll/runs");
@@ -19,10 +20,53 @@ export default function AdminPayroll() {
     loadRuns();
   };
 
-  const processRun = async (id) => { await api.post(`/payroll/runs/${id}/process`); loadRuns(); };
+  // Processing is asynchronous: the API answers 202 with a job, which we poll until it finishes
+  const isFinished = (j) => ["COMPLETED", "FAILED", "CANCELLED"].includes(j?.state);
+  const processRun = async (id) => {
+    const { data } = await api.post(`/payroll/runs/${id}/process`);
+    setJob(data);
+  };
+  const cancelJob = async () => {
+    const { data } = await api.post(`/payroll/jobs/${job.jobId}/cancel`);
+    setJob(data);
+  };
+  useEffect(() => {
+    if (!job || isFinished(job)) return;
+    const t = setTimeout(async () => {
+      const { data } = await api.get(`/payroll/jobs/${job.jobId}`);
+      setJob(data);
+      if (isFinished(data)) loadRuns();
+    }, 1000);
+    return () => clearTimeout(t);
+  }, [job]);
+  const reprocessChanged = async (id) => {
+    const { data } = await api.post(`/payroll/runs/${id}/reprocess-changed`);
+    alert(`${data.recomputed} item(s) recomputed`);
+    if (sel === id) viewItems(id);
+  };
   const lockRun = async (id) => { await api.post(`/payroll/runs/${id}/lock`); loadRuns(); };
   const deleteRun = async (id) => { if (confirm("Delete run?")) { await api.delete(`/payroll/runs/${id}`); loadRuns(); } };
 
+  const exportCsv = async (r) => {
+    const { data } = await api.get(`/payroll/runs/${r.id}/export`, { params: { gzip: true }, responseType: "blob" });
+    const url = URL.createObjectURL(data);
+    const a = document.createElement("a");
+    a.href = url;
+    a.download = `payroll-${r.year}-${String(r.month).padStart(2, "0")}.csv.gz`;
+    a.click();
+    URL.revokeObjectURL(url);
+  };
+
+  const bankFile = async (r) => {
+    const { data } = await api.get(`/payroll/runs/${r.id}/bank-file`, { responseType: "blob" });
+    const url = URL.createObjectURL(data);
+    const a = document.createElement("a");
+    a.href = url;
+    a.download = `payroll-${r.year}-${String(r.month).padStart(2, "0")}-bank.csv`;
+    a.click();
+    URL.revokeObjectURL(url);
+  };
+
   const viewItems = async (id) => {
     setSel(id);
     const { data } = await api.get(`/payroll/runs/${id}/items`);
@@ -86,6 +130,40 @@ export default function AdminPayroll() {
         </div>
       </div>
 
+      {/* Processing Job */}
+      {job && (
+        <div className="card mb-3" style={card}>
+          <div style={header} className="d-flex justify-content-between align-items-center">
+            <span>Processing Run #{job.runId}</span>
+            <span className={job.state === "FAILED" ? "badge bg-danger" : "badge bg-info"}>{job.state}</span>
+          </div>
+          <div className="card-body">
+            <div className="progress mb-2" style={{ height: 18 }}>
+              <div
+                className="progress-bar progress-bar-striped"
+                style={{ width: `${job.total ? Math.min(100, (100 * job.processed) / job.total) : 0}%` }}
+              >
+                {job.processed} / {job.total}
+              </div>
+            </div>
+            <div className="small text-muted mb-2">
+              {Math.round(job.itemsPerSecond || 0)} employees/s
+              {job.etaSeconds != null && <> · ETA {job.etaSeconds}s</>}
+              {" "}· {job.itemsWritten} items written
+              {job.resumedChunks > 0 && <> · resumed {job.resumedChunks} committed chunks</>}
+            </div>
+            {job.errors?.length > 0 && (
+              <div className="alert alert-danger py-2 small mb-2">{job.errors.join("; ")}</div>
+            )}
+            {isFinished(job) ? (
+              <button className="btn btn-outline-secondary btn-sm" onClick={() => setJob(null)}>Dismiss</button>
+            ) : (
+              <button className="btn btn-outline-danger btn-sm" onClick={cancelJob} disabled={job.cancelRequested}>Cancel</button>
+            )}
+          </div>
+        </div>
+      )}
+
       {/* Runs Table */}
       <div className="card" style={card}>
         <div style={header} className="d-flex justify-content-between align-items-center">
@@ -113,8 +191,11 @@ export default function AdminPayroll() {
                     <td><span className={badgeFor(r.status)}>{r.status}</span></td>
                     <td className="d-flex flex-wrap gap-1">
                       <button className="btn btn-outline-secondary btn-sm" onClick={() => viewItems(r.id)}>Items</button>
-                      <button className="btn btn-outline-success btn-sm" onClick={() => processRun(r.id)} disabled={r.status === "LOCKED"}>Process</button>
-                      <button className="btn btn-outline-dark btn-sm" onClick={() => lockRun(r.id)} disabled={r.status === "LOCKED"}>Lock</button>
+                      <button className="btn btn-outline-secondary btn-sm" onClick={() => exportCsv(r)}>CSV</button>
+                      <button className="btn btn-outline-secondary btn-sm" onClick={() => bankFile(r)} disabled={r.status !== "LOCKED"}>Bank file</button>
+                      <button className="btn btn-outline-success btn-sm" onClick={() => processRun(r.id)} disabled={r.status === "LOCKED" || (job && !isFinished(job))}>Process</button>
+                      <button className="btn btn-outline-info btn-sm" onClick={() => reprocessChanged(r.id)} disabled={r.status !== "PROCESSED"}>Reprocess changed</button>
+                      <button className="btn btn-outline-dark btn-sm" onClick={() => lockRun(r.id)} disabled={r.status !== "PROCESSED"}>Lock</button>
                       <button className="btn btn-outline-danger btn-sm" onClick={() => deleteRun(r.id)} disabled={r.status !== "DRAFT"}>Delete</button>
                     </td>
                   </tr>
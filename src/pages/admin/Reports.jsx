@@ -1,9 +1,11 @@
 import { useEffect, useState, useMemo } from "react";
-import { getPayrollSummary, getDepartmentCost } from "../../api/reports";
+import { getPayrollSummary, getDepartmentCost, getPayrollTrend, getYearToDate } from "../../api/reports";
 
 const now = new Date();
 const DEFAULT_YEAR = now.getFullYear();
 const DEFAULT_MONTH = now.getMonth() + 1; // 1..12
+const DEFAULT_TO = `${DEFAULT_YEAR}-${String(DEFAULT_MONTH).padStart(2, "0")}`; // "YYYY-MM"
+const DEFAULT_FROM = `${DEFAULT_YEAR}-01`;
 
 /* ---------- tiny helpers (UI only) ---------- */
 const styles = {
@@ -83,6 +85,35 @@ function YMControls({ year, month, onYear, onMonth, onClick, label, loading }) {
   );
 }
 
+function RangeControls({ from, to, onFrom, onTo, onClick, label, loading }) {
+  return (
+    <div className="row g-3 align-items-end">
+      <div className="col-sm-4">
+        <label className="form-label" style={styles.label}>From</label>
+        <input type="month" className="form-control" value={from} onChange={(e) => onFrom(e.target.value)} />
+      </div>
+      <div className="col-sm-4">
+        <label className="form-label" style={styles.label}>To</label>
+        <input type="month" className="form-control" value={to} onChange={(e) => onTo(e.target.value)} />
+      </div>
+      <div className="col-sm-4 d-flex">
+        <button className="btn btn-dark btn-lg ms-auto" onClick={onClick} disabled={loading}>
+          {loading ? "Loading..." : label}
+        </button>
+      </div>
+    </div>
+  );
+}
+
+// month rows of a trend/YTD response, without the nested per-department breakdown
+function trendRows(data) {
+  return (data?.months || []).map((m) => {
+    const row = { ...m };
+    delete row.departments;
+    return row;
+  });
+}
+
 function ObjectOrArray({ data }) {
   if (!data) return null;
 
@@ -156,6 +187,40 @@ export default function Reports() {
     } finally { setBusy2(false); }
   }
 
+  const [from, setFrom] = useState(DEFAULT_FROM);
+  const [to, setTo] = useState(DEFAULT_TO);
+  const [trend, setTrend] = useState(null);
+  const [busy3, setBusy3] = useState(false);
+  const [err3, setErr3] = useState("");
+
+  const [y4, setY4] = useState(DEFAULT_YEAR);
+  const [m4, setM4] = useState(DEFAULT_MONTH);
+  const [ytd, setYtd] = useState(null);
+  const [busy4, setBusy4] = useState(false);
+  const [err4, setErr4] = useState("");
+
+  async function loadTrend() {
+    setBusy3(true); setErr3("");
+    try {
+      const data = await getPayrollTrend(from, to);
+      setTrend(data);
+    } catch (e) {
+      setErr3(e?.response?.data?.message || e?.message || "Failed to fetch payroll trend");
+      setTrend(null);
+    } finally { setBusy3(false); }
+  }
+
+  async function loadYtd() {
+    setBusy4(true); setErr4("");
+    try {
+      const data = await getYearToDate(y4, m4);
+      setYtd(data);
+    } catch (e) {
+      setErr4(e?.response?.data?.message || e?.message || "Failed to fetch year-to-date totals");
+      setYtd(null);
+    } finally { setBusy4(false); }
+  }
+
   // auto-load current month on mount
   useEffect(() => { loadSummary(); /* eslint-disable-line */ }, []);
   useEffect(() => { loadDept(); /* eslint-disable-line */ }, []);
@@ -203,6 +268,46 @@ export default function Reports() {
           {!err2 && <ObjectOrArray data={dept} />}
         </div>
       </div>
+
+      {/* PAYROLL TREND */}
+      <div className="card mt-4" style={styles.card}>
+        <div style={styles.head}>
+          <span>📊 Payroll Trend</span>
+          <span style={styles.chip("#2b8a3e")}>Months: {trendRows(trend).length}</span>
+        </div>
+        <div className="card-body">
+          <RangeControls
+            from={from} to={to}
+            onFrom={setFrom} onTo={setTo}
+            onClick={loadTrend}
+            label="Load Trend"
+            loading={busy3}
+          />
+          {err3 && <div className="alert alert-danger mt-3 mb-0">{err3}</div>}
+          {!err3 && trend && <ObjectOrArray data={trendRows(trend)} />}
+          {!err3 && trend && <ObjectOrArray data={trend.departments} />}
+        </div>
+      </div>
+
+      {/* YEAR TO DATE */}
+      <div className="card mt-4" style={styles.card}>
+        <div style={styles.head}>
+          <span>🧮 Year to Date</span>
+          <span style={styles.chip("#862e9c")}>Months: {trendRows(ytd).length}</span>
+        </div>
+        <div className="card-body">
+          <YMControls
+            year={y4} month={m4}
+            onYear={setY4} onMonth={setM4}
+            onClick={loadYtd}
+            label="Load Year to Date"
+            loading={busy4}
+          />
+          {err4 && <div className="alert alert-danger mt-3 mb-0">{err4}</div>}
+          {!err4 && ytd && <ObjectOrArray data={trendRows(ytd)} />}
+          {!err4 && ytd && <ObjectOrArray data={ytd.departments} />}
+        </div>
+      </div>
     </div>
   );
 }
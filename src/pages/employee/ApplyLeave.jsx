@@ -98,6 +98,7 @@ export default function ApplyLeave() {
                   <option>PAID</option>
                   <option>SICK</option>
                   <option>CASUAL</option>
+                  <option>UNPAID</option>
                 </select>
               </div>
               <div style={hintStyle}>Choose the appropriate leave category.</div>
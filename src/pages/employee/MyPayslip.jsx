@@ -31,6 +31,21 @@ export default function MyPayslip() {
     }
   };
 
+  // Stored document of a locked run
+  const download = async () => {
+    try {
+      const { data } = await api.get(`/payroll/my/${ym.year}/${ym.month}/payslip`, { responseType: "blob" });
+      const url = URL.createObjectURL(data);
+      const a = document.createElement("a");
+      a.href = url;
+      a.download = `payslip-${ym.year}-${String(ym.month).padStart(2, "0")}.html`;
+      a.click();
+      URL.revokeObjectURL(url);
+    } catch {
+      setErr("Payslip document is available once the payroll run is locked");
+    }
+  };
+
   // styles (same as before)
   const cardStyle = {
     borderRadius: 12,
@@ -99,7 +114,10 @@ export default function MyPayslip() {
         <div className="card" style={cardStyle}>
           <div style={headerStyle} className="d-flex justify-content-between align-items-center">
             <span>Payslip</span>
-            <span>{ym.month}/{ym.year}</span>
+            <span>
+              {ym.month}/{ym.year}
+              <button className="btn btn-light btn-sm ms-3" onClick={download}>Download</button>
+            </span>
           </div>
 
           <div className="card-body">